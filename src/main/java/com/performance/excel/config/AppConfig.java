@@ -23,8 +23,7 @@ public class AppConfig {
     public void initRedisConfigurations() {
         log.info("Initializing Redis configurations...");
 
-        redisDownloadQueue.initConsumerGroup();         // Consumer Group 생성
-        redisDownloadQueue.initConsumerName();          // Consumer 이름 생성
+        redisDownloadQueue.initConsumerGroup();         // Consumer Group 생성 (Consumer 이름은 RedisDownloadQueue 생성 시 설정)
         redisDownloadQueue.recoverPendingMessages();    // Pending 메시지 복구
 
         log.info("Redis configurations initialized successfully");
@@ -1,5 +1,8 @@
 package com.performance.excel.config;
 
+import com.performance.excel.strategy.ChunkPipeline;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
@@ -11,15 +14,21 @@ import java.util.concurrent.ThreadPoolExecutor;
 @Configuration
 public class AsyncConfig implements AsyncConfigurer {
 
+    @Value("${excel.download.max-concurrent:0}")
+    private int maxConcurrent;
+
     /**
      * 엑셀 다운로드 작업 전용 스레드풀
+     * - 작업 스레드가 곧 인코딩(CPU) 단계 (엑셀 쓰기 + 압축). DB 조회는 downloadFetchExecutor 로 분리
+     * - 풀 크기는 노드 동시 처리 상한(excel.download.max-concurrent)에 맞춤. 미설정(0)일 때만 CPU 코어 수 기준
      */
     @Bean("downloadTaskExecutor")
     public ThreadPoolTaskExecutor downloadTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         
-        // CPU 집약적 작업 고려한 스레드 풀 설정 (서버 CPU 코어 수에 따라 동적으로 결정)
-        int corePoolSize = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        // 동시 실행 수는 AdaptiveConcurrencyController 가 런타임에 조정하므로 풀은 상한(max-concurrent)만큼 확보
+        // (미설정 시 CPU 집약적 작업 고려하여 서버 CPU 코어 수에 따라 결정)
+        int corePoolSize = maxConcurrent > 0 ? maxConcurrent : Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
         executor.setCorePoolSize(corePoolSize);         // 기본적으로 유지되는 핵심 스레드 수 (항상 살아 있음)
         executor.setMaxPoolSize(corePoolSize * 2);      // 큐가 꽉 찼을 때 추가로 늘릴 수 있는 최대 스레드 개수
         executor.setQueueCapacity(corePoolSize * 10);   // 스레드가 모두 바쁠 때, 새로운 작업 요청들이 대기하게 되는 큐의 크기
@@ -39,6 +48,82 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
     
+    /**
+     * 다운로드 조회(I/O) 단계 전용 스레드풀
+     * - 작업당 조회 스레드 1개. 대부분 DB 응답 대기이므로 CPU 코어 수보다 크게 설정
+     * - 대기 큐 없음: 조회 루프는 작업이 끝날 때까지 스레드를 점유하므로 큐에 들어간 작업은 인코딩 단계를 세워둔 채 기다리게 됨
+     *   빈 스레드가 없으면 즉시 거부하여 ChunkPipeline 이 단계 분리 없이 작업 스레드에서 처리하도록 함
+     * - CallerRunsPolicy 를 쓰면 인코딩 스레드가 조회 루프에 묶이므로 AbortPolicy 로 거부
+     */
+    @Bean("downloadFetchExecutor")
+    public ThreadPoolTaskExecutor downloadFetchExecutor(
+            @Value("${excel.download.pipeline.fetch-pool-size:0}") int fetchPoolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        int poolSize = fetchPoolSize > 0 ? fetchPoolSize : Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);   // SynchronousQueue (빈 스레드가 없으면 거부)
+
+        executor.setThreadNamePrefix("Download-Fetch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 진행률 SSE 전송 전용 스레드풀
+     * - 구독마다 대기 중인 전송 작업은 최대 1개 (밀린 진행률은 최신 값으로 합침)
+     * - 발행 스레드가 느린 클라이언트 쓰기를 기다리지 않도록 분리
+     */
+    @Bean("progressSseExecutor")
+    public ThreadPoolTaskExecutor progressSseExecutor(
+            @Value("${excel.sse.send-pool-size:2}") int sendPoolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(sendPoolSize);
+        executor.setMaxPoolSize(sendPoolSize);
+        executor.setQueueCapacity(10000);
+
+        executor.setThreadNamePrefix("Progress-Sse-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 생성 중 다운로드 전송 전용 스레드풀 (파일 다운로드 API 가 WebAsyncTask 로 직접 지정, MVC 전역 비동기 설정과 별개)
+     * - 전송 1건당 스레드 1개가 파일이 커지기를 기다리며 이어서 전송하므로 요청 처리 스레드와 분리
+     * - 풀이 가득 차면 거부 (해당 요청은 실패, 완성 후 다시 받으면 일반 전송)
+     */
+    @Bean("liveTransferExecutor")
+    public ThreadPoolTaskExecutor liveTransferExecutor(
+            @Value("${excel.download.live-transfer.pool-size:16}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+
+        executor.setThreadNamePrefix("Live-Transfer-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 조회/인코딩 단계를 연결하는 청크 파이프라인
+     */
+    @Bean
+    public ChunkPipeline chunkPipeline(@Qualifier("downloadFetchExecutor") ThreadPoolTaskExecutor downloadFetchExecutor,
+                                       @Value("${excel.download.pipeline.prefetch-chunks:2}") int prefetchChunks) {
+        return new ChunkPipeline(downloadFetchExecutor, downloadTaskExecutor(), prefetchChunks);
+    }
+
     @Override
     public Executor getAsyncExecutor() {
         return downloadTaskExecutor();
@@ -3,6 +3,7 @@ package com.performance.excel.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.performance.excel.dto.DownloadRequest;
 import com.performance.excel.websocket.ProgressWebSocketHandler;
+import com.performance.excel.websocket.SessionRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -15,13 +16,17 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @Configuration
 public class RedisConfig {
 
+    /**
+     * 진행률 수신 (이 노드 전용 채널만 구독. 다른 노드 사용자의 진행률은 받지 않음)
+     */
     @Bean
     public RedisMessageListenerContainer redisContainer(
             RedisConnectionFactory connectionFactory,
-            ProgressWebSocketHandler handler) {
+            ProgressWebSocketHandler handler,
+            SessionRegistry sessionRegistry) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
-        container.addMessageListener(handler, new ChannelTopic("excel:progress"));
+        container.addMessageListener(handler, new ChannelTopic(sessionRegistry.getNodeChannel()));
         return container;
     }
 
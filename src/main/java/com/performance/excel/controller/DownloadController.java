@@ -1,17 +1,34 @@
 package com.performance.excel.controller;
 
 import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.dto.QueueEta;
+import com.performance.excel.exception.DownloadRejectedException;
+import com.performance.excel.service.AdaptiveConcurrencyController;
+import com.performance.excel.service.DownloadAdmissionController;
 import com.performance.excel.service.ExcelDownloadServiceV2;
+import com.performance.excel.service.ExportResultCache;
+import com.performance.excel.service.FileTransferService;
 import com.performance.excel.service.RedisDownloadQueue;
+import com.performance.excel.storage.ExportFileIndex;
+import com.performance.excel.storage.ExportLocation;
+import com.performance.excel.storage.ExportStorage;
+import com.performance.excel.storage.LiveExportRegistry;
+import com.performance.excel.strategy.ChunkPipeline;
+import com.performance.excel.websocket.ProgressSseHandler;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.File;
 import java.util.Map;
@@ -25,16 +42,25 @@ public class DownloadController {
     
 //    private final ExcelDownloadService excelDownloadService;
     private final ExcelDownloadServiceV2 excelDownloadService;
+    private final ProgressSseHandler progressSseHandler;
+    private final FileTransferService fileTransferService;
+    private final ExportStorage exportStorage;
+    private final ExportFileIndex exportFileIndex;
+    private final LiveExportRegistry liveExportRegistry;
 
     @Value("${excel.download.directory:downloads/}")
     private String downloadDirectory;
 
+    // 예산 부족(503) 응답의 Retry-After (초)
+    @Value("${excel.download.admission.retry-after:10}")
+    private long retryAfterSeconds;
+
 
     /**
      * XSSF 전체 로드 Excel 다운로드 (동기 - 완성까지 대기)
      */
     @PostMapping("/excel/xssf-full-load")
-    public ResponseEntity<Resource> downloadExcelXssfFullLoad(
+    public ResponseEntity<?> downloadExcelXssfFullLoad(
             @RequestHeader(value = "X-User-Id", required = false) String userId
     ) {
         String requestId = UUID.randomUUID().toString();
@@ -59,6 +85,9 @@ public class DownloadController {
                     .contentType(MediaType.APPLICATION_OCTET_STREAM)
                     .body(resource);
             
+        } catch (DownloadRejectedException e) {
+            log.warn("다운로드 요청 거부: {} - {}", requestId, e.getMessage());
+            return rejected(e).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("XSSF 전체 로드 다운로드 실패: {}", requestId, e);
             return ResponseEntity.internalServerError().build();
@@ -69,7 +98,7 @@ public class DownloadController {
      * SXSSF OFFSET 페이징 Excel 다운로드 (동기 - 완성까지 대기)
      */
     @PostMapping("/excel/sxssf-offset-paging")
-    public ResponseEntity<Resource> downloadExcelSxssfOffsetPaging(
+    public ResponseEntity<?> downloadExcelSxssfOffsetPaging(
             @RequestHeader(value = "X-User-Id", required = false) String userId
     ) {
         String requestId = UUID.randomUUID().toString();
@@ -94,6 +123,9 @@ public class DownloadController {
                     .contentType(MediaType.APPLICATION_OCTET_STREAM)
                     .body(resource);
             
+        } catch (DownloadRejectedException e) {
+            log.warn("다운로드 요청 거부: {} - {}", requestId, e.getMessage());
+            return rejected(e).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("SXSSF OFFSET 페이징 다운로드 실패: {}", requestId, e);
             return ResponseEntity.internalServerError().build();
@@ -121,6 +153,9 @@ public class DownloadController {
                     "message", "SXSSF CURSOR 페이징 다운로드 요청이 큐에 추가되었습니다.",
                     "type", "SXSSF_CURSOR_PAGING"
             ));
+        } catch (DownloadRejectedException e) {
+            log.warn("다운로드 요청 거부: {} - {}", requestId, e.getMessage());
+            return rejected(e).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("SXSSF CURSOR 페이징 다운로드 요청 실패: {}", requestId, e);
             return ResponseEntity.internalServerError()
@@ -148,6 +183,9 @@ public class DownloadController {
                     "message", "EasyExcel 다운로드 요청이 큐에 추가되었습니다.",
                     "type", "EASYEXCEL"
             ));
+        } catch (DownloadRejectedException e) {
+            log.warn("다운로드 요청 거부: {} - {}", requestId, e.getMessage());
+            return rejected(e).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("EasyExcel 다운로드 요청 실패: {}", requestId, e);
             return ResponseEntity.internalServerError()
@@ -175,6 +213,9 @@ public class DownloadController {
                     "message", "FastExcel 다운로드 요청이 큐에 추가되었습니다.",
                     "type", "FASTEXCEL"
             ));
+        } catch (DownloadRejectedException e) {
+            log.warn("다운로드 요청 거부: {} - {}", requestId, e.getMessage());
+            return rejected(e).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("FastExcel 다운로드 요청 실패: {}", requestId, e);
             return ResponseEntity.internalServerError()
@@ -182,35 +223,244 @@ public class DownloadController {
         }
     }
     
+    /**
+     * SXSSF 증분 내보내기 (비동기 - 즉시 응답)
+     * - 직전 증분 내보내기 파일에 새로 추가된 행만 이어붙여 생성
+     */
+    @PostMapping("/excel/sxssf-incremental")
+    public ResponseEntity<Map<String, String>> downloadExcelSxssfIncremental(
+        @RequestHeader(value = "X-User-Id", required = false) String userId
+    ) {
+        String requestId = UUID.randomUUID().toString();
+
+        log.info("SXSSF 증분 다운로드 요청 - 사용자: {}, 요청: {}", userId, requestId);
+
+        try {
+            String downloadRequestId = excelDownloadService.requestDownload(
+                    DownloadRequest.DownloadType.SXSSF_INCREMENTAL, userId, requestId);
+
+            return ResponseEntity.ok(Map.of(
+                    "requestId", downloadRequestId,
+                    "message", "SXSSF 증분 다운로드 요청이 큐에 추가되었습니다.",
+                    "type", "SXSSF_INCREMENTAL"
+            ));
+        } catch (DownloadRejectedException e) {
+            log.warn("다운로드 요청 거부: {} - {}", requestId, e.getMessage());
+            return rejected(e).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("SXSSF 증분 다운로드 요청 실패: {}", requestId, e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", "다운로드 요청 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * CSV 내보내기 (비동기 - 즉시 응답)
+     * - excel.download.csv.gzip 설정 시 .csv.gz 로 생성
+     */
+    @PostMapping("/excel/csv")
+    public ResponseEntity<Map<String, String>> downloadCsv(
+        @RequestHeader(value = "X-User-Id", required = false) String userId
+    ) {
+        String requestId = UUID.randomUUID().toString();
+
+        log.info("CSV 다운로드 요청 - 사용자: {}, 요청: {}", userId, requestId);
+
+        try {
+            String downloadRequestId = excelDownloadService.requestDownload(
+                    DownloadRequest.DownloadType.CSV, userId, requestId);
+
+            return ResponseEntity.ok(Map.of(
+                    "requestId", downloadRequestId,
+                    "message", "CSV 다운로드 요청이 큐에 추가되었습니다.",
+                    "type", "CSV"
+            ));
+        } catch (DownloadRejectedException e) {
+            log.warn("다운로드 요청 거부: {} - {}", requestId, e.getMessage());
+            return rejected(e).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("CSV 다운로드 요청 실패: {}", requestId, e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", "다운로드 요청 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Parquet 내보내기 (비동기 - 즉시 응답)
+     * - 분석 시스템 적재용 컬럼 기반 파일 (.parquet)
+     */
+    @PostMapping("/excel/parquet")
+    public ResponseEntity<Map<String, String>> downloadParquet(
+        @RequestHeader(value = "X-User-Id", required = false) String userId
+    ) {
+        String requestId = UUID.randomUUID().toString();
+
+        log.info("Parquet 다운로드 요청 - 사용자: {}, 요청: {}", userId, requestId);
+
+        try {
+            String downloadRequestId = excelDownloadService.requestDownload(
+                    DownloadRequest.DownloadType.PARQUET, userId, requestId);
+
+            return ResponseEntity.ok(Map.of(
+                    "requestId", downloadRequestId,
+                    "message", "Parquet 다운로드 요청이 큐에 추가되었습니다.",
+                    "type", "PARQUET"
+            ));
+        } catch (DownloadRejectedException e) {
+            log.warn("다운로드 요청 거부: {} - {}", requestId, e.getMessage());
+            return rejected(e).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Parquet 다운로드 요청 실패: {}", requestId, e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", "다운로드 요청 실패: " + e.getMessage()));
+        }
+    }
+
     /**
      * 완성된 Excel 파일 다운로드
+     * - Range(이어받기), ETag/Last-Modified(304) 지원, sendfile 로 전송 (FileTransferService)
+     * - accel-redirect 사용 시 검증 후 nginx 가 전송
+     * - 다른 노드에서 생성된 파일도 전송 (ExportStorage 로 위치 조회)
      */
     @GetMapping("/file/{fileName}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String fileName) {
+    public WebAsyncTask<Void> downloadFile(@PathVariable String fileName,
+                                           @RequestHeader(value = FileTransferService.PROXIED_HEADER, required = false) String proxied,
+                                           HttpServletRequest request,
+                                           HttpServletResponse response) {
         try {
             // 보안: 파일명 검증
             if (!isValidFileName(fileName)) {
-                return ResponseEntity.badRequest().build();
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                return null;
             }
-            
-            File file = new File(getDownloadPath() + fileName);
-            if (!file.exists()) {
-                return ResponseEntity.notFound().build();
+
+            // 이 노드에서 생성 중인 파일: 기록된 만큼 보내고 완료될 때까지 이어서 전송 (비동기)
+            LiveExportRegistry.LiveExport live = liveExportRegistry.find(fileName);
+            if (live != null) {
+                return fileTransferService.serveLive(live, fileName, response);
             }
-            
-            Resource resource = new FileSystemResource(file);
-            
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .body(resource);
+            // 다른 노드에서 생성 중인 파일: 생성 노드로 넘김 (accel-redirect 미사용, 비동기)
+            if (proxied == null) {
+                ExportLocation liveLocation = liveExportRegistry.locatePeer(fileName);
+                if (liveLocation != null) {
+                    return fileTransferService.servePeerLive(liveLocation, fileName, request, response);
+                }
+            }
+
+            ExportLocation location = exportStorage.locate(fileName);
+            // 다른 노드가 넘긴 요청은 이 노드에 있을 때만 처리 (위치 기록이 어긋난 경우 노드 간 순환 방지)
+            if (location.type() == ExportLocation.Type.NOT_FOUND
+                    || (proxied != null && location.type() == ExportLocation.Type.PEER)) {
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+                return null;
+            }
+
+            fileTransferService.serve(location, fileName, request, response);
                     
         } catch (Exception e) {
             log.error("파일 다운로드 실패: {}", fileName, e);
-            return ResponseEntity.internalServerError().build();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
         }
+        return null;
     }
     
+    /**
+     * 완성 파일 전송 방식별 처리 현황 조회 (X-Accel-Redirect 적용 효과 확인용)
+     */
+    @GetMapping("/file-transfer/status")
+    public ResponseEntity<FileTransferService.FileTransferStatus> getFileTransferStatus() {
+        return ResponseEntity.ok(fileTransferService.getStatus());
+    }
+
+    /**
+     * 완성 파일 보관 현황 조회 (파일 수, 사용량, 용량 상한)
+     */
+    @GetMapping("/storage/status")
+    public ResponseEntity<ExportFileIndex.IndexStatus> getStorageStatus() {
+        return ResponseEntity.ok(exportFileIndex.getStatus());
+    }
+
+    /**
+     * 결과 캐시 적중/미스 현황 조회
+     */
+    @GetMapping("/cache/status")
+    public ResponseEntity<ExportResultCache.CacheStatus> getCacheStatus() {
+        return ResponseEntity.ok(excelDownloadService.getExportResultCache().getStatus());
+    }
+
+    /**
+     * 다운로드 취소
+     * - 대기 중인 작업은 즉시 제거, 실행 중인 작업은 다음 청크 경계에서 중단 후 부분 파일 삭제
+     */
+    @DeleteMapping("/{requestId}")
+    public ResponseEntity<Map<String, String>> cancelDownload(
+            @PathVariable String requestId,
+            @RequestHeader("X-User-Id") String userId       // 필수 (없으면 400): 요청자 확인 없이 취소 불가
+    ) {
+        log.info("다운로드 취소 요청 - 사용자: {}, 요청: {}", userId, requestId);
+
+        try {
+            ExcelDownloadServiceV2.CancelResult result = excelDownloadService.cancelDownload(requestId, userId);
+
+            return switch (result) {
+                case CANCELLED -> ResponseEntity.ok(Map.of(
+                        "requestId", requestId,
+                        "status", result.name(),
+                        "message", "대기 중인 다운로드가 취소되었습니다."));
+                case CANCELLING -> ResponseEntity.accepted().body(Map.of(
+                        "requestId", requestId,
+                        "status", result.name(),
+                        "message", "실행 중인 다운로드를 중단하는 중입니다."));
+                case NOT_FOUND -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", "취소할 다운로드가 없습니다: " + requestId));
+            };
+        } catch (Exception e) {
+            log.error("다운로드 취소 실패: {}", requestId, e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", "다운로드 취소 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 요청별 대기 순번 및 예상 시작/완료 시각 조회
+     */
+    @GetMapping("/{requestId}/eta")
+    public ResponseEntity<?> getQueueEta(
+            @PathVariable String requestId,
+            @RequestHeader("X-User-Id") String userId
+    ) {
+        QueueEta eta = excelDownloadService.getQueueEta(requestId, userId);
+        if (eta == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "대기 또는 처리 중인 다운로드가 없습니다: " + requestId));
+        }
+        return ResponseEntity.ok(eta);
+    }
+
+    /**
+     * 요청별 진행률 SSE 스트림 (WebSocket 대안)
+     * - EventSource 는 헤더를 지정할 수 없으므로 userId 쿼리 파라미터도 허용
+     * - 종료 상태(완료/실패/취소) 전송 후 스트림 종료
+     */
+    @GetMapping(value = "/{requestId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamProgress(
+            @PathVariable String requestId,
+            @RequestHeader(value = "X-User-Id", required = false) String userId,
+            @RequestParam(value = "userId", required = false) String userIdParam
+    ) {
+        String finalUserId = userId != null ? userId : userIdParam;
+        if (finalUserId == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")    // nginx 응답 버퍼링 해제 (설정 누락 대비)
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(progressSseHandler.subscribe(finalUserId, requestId));
+    }
+
     /**
      * 다운로드 큐 상태 조회
      */
@@ -226,12 +476,52 @@ public class DownloadController {
         }
     }
 
+    /**
+     * 노드 힙/디스크 예산 상태 조회
+     */
+    @GetMapping("/admission/status")
+    public ResponseEntity<DownloadAdmissionController.AdmissionStatus> getAdmissionStatus() {
+        return ResponseEntity.ok(excelDownloadService.getAdmissionController().getStatus());
+    }
+
+    /**
+     * 노드 동시 처리 슬롯 조정 상태 조회
+     */
+    @GetMapping("/concurrency/status")
+    public ResponseEntity<AdaptiveConcurrencyController.ConcurrencyStatus> getConcurrencyStatus() {
+        return ResponseEntity.ok(excelDownloadService.getConcurrencyController()
+                .getStatus(excelDownloadService.getRunningJobCount()));
+    }
+
+    /**
+     * 조회(I/O) / 인코딩(CPU) 단계별 스레드풀 사용률 조회
+     */
+    @GetMapping("/pipeline/status")
+    public ResponseEntity<ChunkPipeline.PipelineStatus> getPipelineStatus() {
+        return ResponseEntity.ok(excelDownloadService.getPipelineStatus());
+    }
+
+    /**
+     * 요청 거부 사유별 응답 (본문에 사유 메시지)
+     * - 재시도 가능(현재 예산 부족): 503 + Retry-After
+     * - 재시도 불가(노드 힙 예산 초과): 422
+     * - 재시도 불가(노드 디스크 여유 공간 초과): 507
+     */
+    private ResponseEntity.BodyBuilder rejected(DownloadRejectedException e) {
+        return switch (e.getReason()) {
+            case BUSY -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            case HEAP_BUDGET -> ResponseEntity.unprocessableEntity();
+            case DISK_BUDGET -> ResponseEntity.status(HttpStatus.INSUFFICIENT_STORAGE);
+        };
+    }
+
     /**
      * 파일명 보안 검증
      */
     private boolean isValidFileName(String fileName) {
         return fileName != null 
-                && fileName.matches("^[a-zA-Z0-9._-]+\\.(xlsx|xls)$")
+                && fileName.matches("^[a-zA-Z0-9._-]+\\.(xlsx|xls|csv|csv\\.gz|parquet)$")
                 && !fileName.contains("..")
                 && !fileName.contains("/")
                 && !fileName.contains("\\");
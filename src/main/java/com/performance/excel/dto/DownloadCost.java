@@ -0,0 +1,29 @@
+package com.performance.excel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 다운로드 작업 비용 추정치
+ * - 큐 등록 전 계산되어 DownloadRequest 와 함께 저장됨
+ * - 노드의 힙/디스크 예산으로 작업 시작 가능 여부를 판단하는 기준
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DownloadCost {
+    private long rowCount;        // 예상 행 수
+    private long outputBytes;     // 결과 파일 예상 크기
+    private long heapBytes;       // 작업 중 최대 힙 사용량
+    private long tempDiskBytes;   // 임시 파일(SXSSF 시트 XML 등) 예상 크기
+
+    /**
+     * 작업에 필요한 전체 디스크 용량 (결과 파일 + 임시 파일)
+     */
+    public long totalDiskBytes() {
+        return outputBytes + tempDiskBytes;
+    }
+}
@@ -18,12 +18,21 @@ public class DownloadProgress {
     private String message;
     private String downloadUrl;
     private String errorMessage;
+
+    // 대기 중 알림에만 포함 (대기 순번, 예상 시작/완료 시각 epoch ms)
+    private Integer queuePosition;
+    private Long estimatedStartAt;
+    private Long estimatedFinishAt;
+
+    // 마지막 전송 시각 (epoch ms, 재연결 시 스냅샷 재전송용)
+    private Long updatedAt;
     
     public enum DownloadStatus {
         QUEUED,       // 큐에서 대기 중
         PROCESSING,   // 처리 중
         COMPLETED,    // 완료
-        FAILED        // 실패
+        FAILED,       // 실패
+        CANCELLED     // 취소
     }
     
     // 편의 메서드들
@@ -36,6 +45,18 @@ public class DownloadProgress {
                 .build();
     }
     
+    public static DownloadProgress queued(QueueEta eta) {
+        return DownloadProgress.builder()
+                .requestId(eta.getRequestId())
+                .status(DownloadStatus.QUEUED)
+                .progressPercentage(0)
+                .queuePosition(eta.getQueuePosition())
+                .estimatedStartAt(eta.getEstimatedStartAt())
+                .estimatedFinishAt(eta.getEstimatedFinishAt())
+                .message(String.format("대기 중입니다. (대기 순번 %d)", eta.getQueuePosition()))
+                .build();
+    }
+    
     public static DownloadProgress processing(String requestId, long totalCount, long processedCount) {
         int percentage = totalCount > 0 ? (int) ((processedCount * 100) / totalCount) : 0;
         return DownloadProgress.builder()
@@ -67,4 +88,13 @@ public class DownloadProgress {
                 .message("Excel 파일 생성에 실패했습니다.")
                 .build();
     }
+
+    public static DownloadProgress cancelled(String requestId) {
+        return DownloadProgress.builder()
+                .requestId(requestId)
+                .status(DownloadStatus.CANCELLED)
+                .progressPercentage(0)
+                .message("다운로드가 취소되었습니다.")
+                .build();
+    }
 }
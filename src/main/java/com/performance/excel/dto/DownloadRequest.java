@@ -12,6 +12,7 @@ public class DownloadRequest {
     private String fileName;
     private DownloadType downloadType;
     private String userId;
+    private DownloadCost cost;      // 큐 등록 전 계산된 비용 추정치 (Admission Control 용)
 
     @RequiredArgsConstructor
     public enum DownloadType {
@@ -52,7 +53,31 @@ public class DownloadRequest {
          * - POI 의존성 없는 순수 구현
          * - 가벼운 라이브러리
          */
-        FASTEXCEL("FastExcel(비동기)");
+        FASTEXCEL("FastExcel(비동기)"),
+
+        /**
+         * SXSSF 증분 내보내기 방식 (비동기)
+         * - 직전 증분 내보내기 파일에 lastId 이후 행만 이어붙임
+         * - 기존 행은 압축된 그대로 복사 (조회/인코딩/압축 없음)
+         * - 추가 위주 데이터 전용 (기존 행 삭제 시 전체 생성)
+         */
+        SXSSF_INCREMENTAL("SXSSF 증분(비동기)"),
+
+        /**
+         * CSV 내보내기 방식 (비동기)
+         * - ID 커서 기반 페이징, RFC 4180 CSV 로 기록
+         * - XML/ZIP 처리 없이 버퍼에 바로 인코딩 (Excel 이 아닌 시스템 적재용)
+         * - 설정 시 gzip 압축 (.csv.gz)
+         */
+        CSV("CSV(비동기)"),
+
+        /**
+         * Parquet 내보내기 방식 (비동기)
+         * - ID 커서 기반 페이징, 컬럼 기반 Parquet 으로 기록
+         * - category / description dictionary 인코딩, 메모리는 row group 크기로 제한
+         * - 분석 시스템 적재용 (XLSX → Parquet 변환 불필요)
+         */
+        PARQUET("Parquet(비동기)");
 
         @Getter private final String description;
     }
@@ -0,0 +1,22 @@
+package com.performance.excel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 실행 중인 내보내기 작업의 체크포인트
+ * - 노드 장애/재배포로 회수된 작업이 처음부터가 아니라 마지막 체크포인트부터 재개하기 위한 정보
+ * - byteOffset 까지의 시트 XML 은 스풀 파일에 이미 기록되어 있음
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportCheckpoint {
+    private long lastId;        // 마지막으로 기록한 행의 ID (다음 커서 위치)
+    private long rowCount;      // 기록 완료된 데이터 행 수
+    private long byteOffset;    // 스풀 파일 중 유효한 길이 (이후 내용은 잘라냄)
+    private String spoolPath;   // 시트 XML 스풀 파일 경로
+}
@@ -0,0 +1,27 @@
+package com.performance.excel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 증분 내보내기의 기준 파일 정보
+ * - 다음 증분 작업은 lastId 까지의 행을 기준 파일에서 압축된 그대로 복사하고 그 이후 행만 조회/인코딩
+ * - 시트 엔트리의 압축 데이터 중 rawPrefixLength 바이트가 (시트 머리말 + 모든 행) 에 해당 (SYNC_FLUSH 경계)
+ * - 변경 카운터가 달라졌으면 lastId 이하 행이 수정/삭제된 것이므로 기준으로 사용하지 않음
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncrementalExportBase {
+    private String fileName;        // 기준 파일 이름
+    private String sheetEntry;      // 시트 XML 의 ZIP 엔트리 이름
+    private long lastId;            // 기준 파일에 포함된 마지막 행의 ID
+    private long rowCount;          // 기준 파일의 데이터 행 수
+    private long rawPrefixLength;   // 시트 엔트리 압축 데이터 중 재사용 가능한 길이
+    private long prefixLength;      // 위 구간의 압축 해제 길이
+    private long prefixCrc;         // 위 구간의 CRC-32
+    private long modifications;     // 기준 파일 생성 시작 시점의 데이터 변경 카운터 (DataVersionTracker)
+}
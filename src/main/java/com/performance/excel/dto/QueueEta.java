@@ -0,0 +1,27 @@
+package com.performance.excel.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 요청별 대기 순번 및 예상 시작/완료 시각
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueEta {
+    private String requestId;
+    private DownloadProgress.DownloadStatus status;   // QUEUED 또는 PROCESSING
+    private int queuePosition;          // 대기 순번 (1부터. 처리 중이면 0)
+    private int jobsAhead;              // 앞에서 대기/처리 중인 작업 수
+    private long estimatedStartAt;      // 예상 시작 시각 (epoch ms. 처리 중이면 실제 시작 시각)
+    private long estimatedFinishAt;     // 예상 완료 시각 (epoch ms)
+    private double rowsPerSecond;       // 추정에 사용한 전략별 처리 속도
+
+    @JsonIgnore
+    private String userId;              // 알림 대상 (응답에는 포함하지 않음)
+}
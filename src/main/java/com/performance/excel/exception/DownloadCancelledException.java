@@ -0,0 +1,18 @@
+package com.performance.excel.exception;
+
+import lombok.Getter;
+
+/**
+ * 사용자 요청으로 다운로드 작업이 취소됨
+ * 전략이 청크 경계에서 발생시키며, 서비스에서 부분 파일 삭제 및 슬롯 반환 처리
+ */
+@Getter
+public class DownloadCancelledException extends RuntimeException {
+
+    private final String requestId;
+
+    public DownloadCancelledException(String requestId) {
+        super("다운로드가 취소되었습니다: " + requestId);
+        this.requestId = requestId;
+    }
+}
@@ -0,0 +1,29 @@
+package com.performance.excel.exception;
+
+import lombok.Getter;
+
+/**
+ * 다운로드 요청 거부 예외
+ * - HEAP_BUDGET / DISK_BUDGET: 노드 예산으로는 절대 처리할 수 없는 요청 (즉시 거부, 재시도 불가)
+ * - BUSY: 현재 예산이 부족한 요청 (잠시 후 재시도 가능)
+ */
+@Getter
+public class DownloadRejectedException extends RuntimeException {
+
+    public enum Reason {
+        HEAP_BUDGET,    // 예상 메모리 사용량이 노드 힙 예산 초과
+        DISK_BUDGET,    // 예상 디스크 사용량이 노드 디스크 여유 공간 초과
+        BUSY            // 실행 중인 작업이 예산을 사용 중
+    }
+
+    private final Reason reason;
+
+    public DownloadRejectedException(String message, Reason reason) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public boolean isRetryable() {
+        return reason == Reason.BUSY;
+    }
+}
@@ -0,0 +1,25 @@
+package com.performance.excel.scheduler;
+
+import com.performance.excel.service.ExcelDownloadServiceV2;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 노드별 동시 처리 슬롯 수 주기적 조정 (CPU / Old Gen / DB 커넥션 대기 / 처리량 기반)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConcurrencyAdjustScheduler {
+
+    private final ExcelDownloadServiceV2 excelDownloadService;
+
+    @Scheduled(fixedDelayString = "${excel.download.adaptive.adjust-interval:2000}")
+    public void adjustConcurrency() {
+        try {
+            excelDownloadService.getConcurrencyController().adjust(excelDownloadService.getRunningJobCount());
+        } catch (Exception e) {
+            log.warn("동시 처리 슬롯 조정 실패: {}", e.getMessage());
+        }
+    }
+}
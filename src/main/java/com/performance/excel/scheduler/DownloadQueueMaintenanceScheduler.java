@@ -0,0 +1,59 @@
+package com.performance.excel.scheduler;
+
+import com.performance.excel.service.HybridDownloadQueue;
+import com.performance.excel.service.RedisDownloadQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 분산 큐 유지보수 스케줄러 (하트비트 / 죽은 노드 작업 회수 / ACK 항목 정리 / Redis 장애 복구)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DownloadQueueMaintenanceScheduler {
+
+    private final RedisDownloadQueue redisDownloadQueue;
+    private final HybridDownloadQueue hybridDownloadQueue;
+
+    /**
+     * 이 노드에서 처리 중인 작업 하트비트
+     * stale-timeout 보다 충분히 짧은 주기로 실행되어야 함
+     */
+    @Scheduled(fixedDelayString = "${excel.download.heartbeat-interval:3000}")
+    public void heartbeat() {
+        redisDownloadQueue.heartbeat();
+    }
+
+    /**
+     * 하트비트가 끊긴 작업 회수 + 고아 처리 중 항목 정리
+     * 노드 장애 후 수 초 내에 클러스터 처리량 회복
+     */
+    @Scheduled(fixedDelayString = "${excel.download.heartbeat-interval:3000}",
+            initialDelayString = "${excel.download.stale-timeout:10000}")
+    public void reclaimStaleJobs() {
+        int reclaimed = redisDownloadQueue.reclaimStaleMessages()
+                + redisDownloadQueue.reclaimOrphanedDirectJobs();
+        int swept = redisDownloadQueue.sweepOrphanedProcessing();
+
+        if (reclaimed > 0 || swept > 0) {
+            log.info("Stale job reclamation: {} reclaimed, {} orphaned entries swept", reclaimed, swept);
+        }
+    }
+
+    /**
+     * Redis 장애 복구 확인 및 로컬 대기열 / 미기록 작업 동기화
+     */
+    @Scheduled(fixedDelayString = "${excel.download.heartbeat-interval:3000}")
+    public void syncLocalQueue() {
+        hybridDownloadQueue.recover();
+    }
+
+    /**
+     * ACK 된 Stream 항목 정리 (트래픽이 늘어도 Stream 메모리가 일정하게 유지되도록)
+     */
+    @Scheduled(fixedDelayString = "${excel.download.trim-interval:60000}")
+    public void trimAcknowledged() {
+        redisDownloadQueue.trimAcknowledged();
+    }
+}
@@ -1,5 +1,7 @@
 package com.performance.excel.scheduler;
 
+import com.performance.excel.util.TempSheetBackend;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -8,13 +10,16 @@ import java.io.File;
 import java.time.LocalDateTime;
 
 // 임시 파일 디렉토리 정리 스케줄러
+// - 임시 시트 파일은 작업 종료 시(워크북 dispose / 전략의 finally) 삭제되므로, 여기서는 비정상 종료로 남은 파일만 정리
+// - 진행 중인 작업의 파일은 계속 기록되므로 수정 시각 기준으로 구분
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class ExcelTempCleanupScheduler {
 
     private static final long ONE_HOUR_MS = 3600000L;
 
-    private static final String POI_TMP_DIR = "poifiles";
+    private final TempSheetBackend tempSheetBackend;
 
     @Scheduled(fixedRate = ONE_HOUR_MS) // 1시간마다
     public void cleanupExpiredTempFiles() {
@@ -28,8 +33,9 @@ public class ExcelTempCleanupScheduler {
     public void cleanupTempFiles(long maxAgeMs) {
         log.info("=== POI 임시 파일 정리 시작 ===");
         
-        String tempDir = System.getProperty("java.io.tmpdir");  // C:\Users\[사용자]\AppData\Local\Temp\
-        File dir = new File(tempDir + POI_TMP_DIR);
+        // 기본값: java.io.tmpdir/poifiles (excel.download.temp-sheet.directory 로 변경 가능)
+        File dir = tempSheetBackend.getDirectory();
+        String tempDir = dir.getAbsolutePath();
 
         if (!dir.exists() || !dir.isDirectory()) {
             log.warn("임시 디렉토리가 존재하지 않습니다: {}", tempDir);
@@ -37,10 +43,9 @@ public class ExcelTempCleanupScheduler {
         }
 
         try {
-            // poi-sxssf-sheet*.xml 파일들만 찾아서 삭제
+            // poi-sxssf-* 파일들만 찾아서 삭제 (시트 XML, 증분 내보내기 템플릿 등)
             File[] poiFiles = dir.listFiles((file) ->
-                    file.getName().startsWith("poi-sxssf-sheet") &&
-                            file.getName().endsWith(".xml"));
+                    file.isFile() && file.getName().startsWith(TempSheetBackend.TEMP_FILE_PREFIX));
 
             if (poiFiles == null) {
                 log.debug("임시 디렉토리 읽기 권한이 없습니다: {}", tempDir);
@@ -0,0 +1,35 @@
+package com.performance.excel.scheduler;
+
+import com.performance.excel.service.ExportCheckpointStore;
+import com.performance.excel.storage.ExportFileIndex;
+import com.performance.excel.storage.ExportStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// 다운로드 디렉토리 정리 (보관 기간이 지난 완성 파일 + 만료된 체크포인트 스풀)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExportRetentionScheduler {
+
+    private final ExportFileIndex exportFileIndex;
+    private final ExportStorage exportStorage;
+    private final ExportCheckpointStore checkpointStore;
+
+    @Scheduled(fixedDelayString = "${excel.storage.retention.cleanup-interval:600000}")
+    public void cleanupExpiredExports() {
+        List<String> expired = exportFileIndex.removeExpired();
+        for (String fileName : expired) {
+            exportStorage.delete(fileName);
+        }
+
+        int spools = checkpointStore.cleanupExpiredSpools();
+        if (!expired.isEmpty() || spools > 0) {
+            log.info("다운로드 디렉토리 정리: 완성 파일 {}개, 체크포인트 스풀 {}개 삭제", expired.size(), spools);
+        }
+    }
+}
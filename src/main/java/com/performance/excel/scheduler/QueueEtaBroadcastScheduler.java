@@ -0,0 +1,48 @@
+package com.performance.excel.scheduler;
+
+import com.performance.excel.service.ExcelDownloadServiceV2;
+import com.performance.excel.service.QueueEtaEstimator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// 대기 순번 / ETA 주기적 갱신 및 대기 중 사용자에게 알림 (재요청·폴링 억제)
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueueEtaBroadcastScheduler {
+
+    private final ExcelDownloadServiceV2 excelDownloadService;
+    private final QueueEtaEstimator queueEtaEstimator;
+
+    @Value("${excel.download.eta-broadcast-interval:5000}")
+    private long broadcastIntervalMs;
+
+    /**
+     * ETA 스냅샷은 노드마다 갱신 (각 노드의 ETA 조회 응답용)
+     * 알림은 클러스터 전체에서 주기당 한 노드만 전송 (잠금 TTL 은 다음 주기에 다시 획득할 수 있도록 주기보다 짧게)
+     */
+    @Scheduled(fixedDelayString = "${excel.download.eta-broadcast-interval:5000}")
+    public void broadcastQueueEta() {
+        try {
+            queueEtaEstimator.refresh();
+        } catch (Exception e) {
+            log.warn("ETA 갱신 실패: {}", e.getMessage());
+            return;
+        }
+
+        if (!queueEtaEstimator.tryAcquireBroadcastTurn(Duration.ofMillis(broadcastIntervalMs * 4 / 5))) {
+            return;
+        }
+
+        try {
+            excelDownloadService.broadcastQueueEta();
+        } catch (Exception e) {
+            log.warn("ETA 알림 실패: {}", e.getMessage());
+        }
+    }
+}
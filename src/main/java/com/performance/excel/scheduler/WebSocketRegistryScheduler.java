@@ -0,0 +1,27 @@
+package com.performance.excel.scheduler;
+
+import com.performance.excel.websocket.ProgressSseHandler;
+import com.performance.excel.websocket.SessionRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 이 노드에 연결된 사용자 → 노드 레지스트리 갱신 (registry-ttl 보다 짧은 주기) + SSE 연결 유지
+@Component
+@RequiredArgsConstructor
+public class WebSocketRegistryScheduler {
+
+    private final SessionRegistry sessionRegistry;
+    private final ProgressSseHandler progressSseHandler;
+
+    @Scheduled(fixedDelayString = "${excel.websocket.registry-refresh-interval:10000}")
+    public void refreshRegistry() {
+        sessionRegistry.refresh();
+    }
+
+    // 프록시 유휴 타임아웃보다 짧은 주기로 heartbeat 전송 (끊긴 구독도 이때 정리됨)
+    @Scheduled(fixedDelayString = "${excel.sse.heartbeat-interval:15000}")
+    public void sseHeartbeat() {
+        progressSseHandler.heartbeat();
+    }
+}
@@ -0,0 +1,252 @@
+package com.performance.excel.service;
+
+import com.performance.excel.strategy.ChunkPipeline;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.management.NotificationEmitter;
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.List;
+
+/**
+ * 노드별 동시 처리 슬롯 수 동적 조정 (AIMD + 처리량 기반 hill climbing)
+ *
+ * 입력:
+ * - CPU 사용률: 임계치 초과 시 슬롯 감소
+ * - Old Gen 점유율: GC 후 사용량이 임계치(MemoryPoolMXBean collection usage threshold)를 넘으면 즉시 dequeue 중단 + 슬롯 절반
+ * - Hikari 커넥션 대기 스레드: 대기자가 있으면 DB 가 병목이므로 슬롯 감소
+ * - 측정 처리량(rows/sec): 슬롯을 늘렸는데 처리량이 늘지 않으면 되돌림
+ *
+ * 상한은 excel.download.max-concurrent, 하한은 excel.download.min-concurrent
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdaptiveConcurrencyController {
+
+    // 메모리 압박 해제 판단 시 임계치 대비 여유 (히스테리시스)
+    private static final double MEMORY_RESUME_RATIO = 0.9;
+    // 슬롯 증가가 효과 있었다고 판단하는 최소 처리량 증가율
+    private static final double MIN_THROUGHPUT_GAIN = 1.05;
+    // 증가가 효과 없어 되돌린 뒤 다시 늘리기까지 대기 시간 (진동 방지)
+    private static final long INCREASE_COOLDOWN_MS = 30_000L;
+
+    private final DataSource dataSource;
+    private final ChunkPipeline chunkPipeline;
+    private final RedisDownloadQueue redisDownloadQueue;
+
+    @Value("${excel.download.max-concurrent:3}")
+    private int maxConcurrent;
+
+    @Value("${excel.download.min-concurrent:1}")
+    private int minConcurrent;
+
+    @Value("${excel.download.adaptive.cpu-high-watermark:0.85}")
+    private double cpuHighWatermark;
+
+    @Value("${excel.download.adaptive.old-gen-threshold:0.8}")
+    private double oldGenThreshold;
+
+    private final OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+    private MemoryPoolMXBean oldGenPool;
+
+    private volatile int limit;
+    private volatile boolean memoryPressure;
+
+    // 직전 조정 시점의 측정값
+    private long lastWrittenRows;
+    private long lastAdjustedAt;
+    private double lastRowsPerSecond;
+    private boolean lastActionIncrease;
+    private long increaseBlockedUntil;
+    private String lastAction = "INIT";
+    private double lastCpuLoad;
+    private int lastHikariPending;
+
+    @PostConstruct
+    public void init() {
+        limit = maxConcurrent;
+        lastAdjustedAt = System.currentTimeMillis();
+        registerOldGenThreshold();
+        redisDownloadQueue.publishNodeConcurrency(limit);
+        log.info("Adaptive concurrency initialized: limit={} (min={}, max={}), old gen pool={}",
+                limit, minConcurrent, maxConcurrent, oldGenPool != null ? oldGenPool.getName() : "N/A");
+    }
+
+    /**
+     * 새 작업을 dequeue 해도 되는지 확인
+     * @param runningCount 이 노드에서 실행 중인 작업 수
+     */
+    public boolean canStartNewJob(int runningCount) {
+        return !memoryPressure && runningCount < limit;
+    }
+
+    /**
+     * 주기적 조정 (스케줄러에서 호출)
+     */
+    public synchronized void adjust(int runningCount) {
+        long now = System.currentTimeMillis();
+        long writtenRows = chunkPipeline.getWrittenRows();
+        long elapsedMs = Math.max(1, now - lastAdjustedAt);
+        double rowsPerSecond = (writtenRows - lastWrittenRows) * 1000.0 / elapsedMs;
+
+        lastCpuLoad = getCpuLoad();
+        lastHikariPending = getHikariPending();
+        updateMemoryPressure();
+
+        int previous = limit;
+        if (memoryPressure) {
+            // 메모리 압박: OOM 전에 슬롯을 절반으로 (multiplicative decrease)
+            limit = Math.max(minConcurrent, limit / 2);
+            lastAction = "MEMORY_PRESSURE";
+        } else if (lastCpuLoad >= cpuHighWatermark) {
+            limit = Math.max(minConcurrent, limit - 1);
+            lastAction = "CPU_HIGH";
+        } else if (lastHikariPending > 0) {
+            limit = Math.max(minConcurrent, limit - 1);
+            lastAction = "DB_POOL_WAIT";
+        } else if (lastActionIncrease && rowsPerSecond < lastRowsPerSecond * MIN_THROUGHPUT_GAIN) {
+            // 직전에 늘렸는데 처리량 개선이 없으면 되돌림
+            limit = Math.max(minConcurrent, limit - 1);
+            increaseBlockedUntil = now + INCREASE_COOLDOWN_MS;
+            lastAction = "NO_THROUGHPUT_GAIN";
+        } else if (runningCount >= limit && limit < maxConcurrent && now >= increaseBlockedUntil) {
+            // 슬롯이 모두 사용 중이고 여유가 있으면 하나씩 증가 (additive increase)
+            limit = limit + 1;
+            lastAction = "INCREASE";
+        } else {
+            lastAction = "HOLD";
+        }
+        lastActionIncrease = limit > previous;
+
+        if (limit != previous) {
+            log.info("Concurrency limit {} -> {} ({}, cpu={}, pending={}, rows/sec={})",
+                    previous, limit, lastAction, String.format("%.2f", lastCpuLoad), lastHikariPending,
+                    String.format("%.0f", rowsPerSecond));
+        }
+
+        lastWrittenRows = writtenRows;
+        lastAdjustedAt = now;
+        lastRowsPerSecond = rowsPerSecond;
+        redisDownloadQueue.publishNodeConcurrency(limit);
+    }
+
+    /**
+     * Old Gen 풀에 GC 후 사용량 임계치 등록
+     * - 임계치 초과 알림을 받으면 다음 조정 주기를 기다리지 않고 즉시 dequeue 중단
+     */
+    private void registerOldGenThreshold() {
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+        for (MemoryPoolMXBean pool : pools) {
+            String name = pool.getName();
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()
+                    && (name.contains("Old Gen") || name.contains("Tenured"))) {
+                oldGenPool = pool;
+                break;
+            }
+        }
+        if (oldGenPool == null || oldGenPool.getUsage().getMax() <= 0) {
+            oldGenPool = null;
+            return;
+        }
+
+        oldGenPool.setCollectionUsageThreshold((long) (oldGenPool.getUsage().getMax() * oldGenThreshold));
+
+        NotificationEmitter emitter = (NotificationEmitter) ManagementFactory.getMemoryMXBean();
+        emitter.addNotificationListener((notification, handback) -> {
+            if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+                memoryPressure = true;
+                log.warn("Old gen collection usage threshold exceeded, pausing dequeue");
+            }
+        }, null, null);
+    }
+
+    /**
+     * GC 후 Old Gen 사용량이 임계치의 90% 아래로 내려가야 압박 해제
+     */
+    private void updateMemoryPressure() {
+        if (oldGenPool == null) {
+            return;
+        }
+
+        long threshold = oldGenPool.getCollectionUsageThreshold();
+        long usedAfterGc = oldGenPool.getCollectionUsage() != null ? oldGenPool.getCollectionUsage().getUsed() : 0;
+        if (oldGenPool.isCollectionUsageThresholdExceeded() && usedAfterGc >= threshold) {
+            memoryPressure = true;
+        } else if (memoryPressure && usedAfterGc < threshold * MEMORY_RESUME_RATIO) {
+            memoryPressure = false;
+            log.info("Old gen usage recovered, resuming dequeue");
+        }
+    }
+
+    private double getCpuLoad() {
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean sunOsBean) {
+            double load = sunOsBean.getCpuLoad();
+            if (load >= 0) {
+                return load;
+            }
+        }
+        // 지원하지 않는 JVM: load average / 코어 수로 근사
+        double loadAverage = osBean.getSystemLoadAverage();
+        return loadAverage >= 0 ? loadAverage / osBean.getAvailableProcessors() : 0.0;
+    }
+
+    private int getHikariPending() {
+        try {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+            }
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+            }
+        } catch (Exception e) {
+            log.debug("Hikari pool metrics unavailable: {}", e.getMessage());
+        }
+        return 0;
+    }
+
+    public synchronized ConcurrencyStatus getStatus(int runningCount) {
+        return ConcurrencyStatus.builder()
+                .limit(limit)
+                .minConcurrent(minConcurrent)
+                .maxConcurrent(maxConcurrent)
+                .running(runningCount)
+                .memoryPressure(memoryPressure)
+                .cpuLoad(lastCpuLoad)
+                .oldGenUsageRatio(oldGenPool != null && oldGenPool.getUsage().getMax() > 0
+                        ? (double) oldGenPool.getUsage().getUsed() / oldGenPool.getUsage().getMax() : 0.0)
+                .hikariPending(lastHikariPending)
+                .rowsPerSecond(lastRowsPerSecond)
+                .lastAction(lastAction)
+                .build();
+    }
+
+    @Builder
+    @Getter
+    public static class ConcurrencyStatus {
+        private int limit;
+        private int minConcurrent;
+        private int maxConcurrent;
+        private int running;
+        private boolean memoryPressure;
+        private double cpuLoad;
+        private double oldGenUsageRatio;
+        private int hikariPending;
+        private double rowsPerSecond;
+        private String lastAction;
+    }
+}
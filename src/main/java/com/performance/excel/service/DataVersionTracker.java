@@ -0,0 +1,80 @@
+package com.performance.excel.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * test_data 데이터 버전 (결과 캐시 키)
+ * - MAX(id) : 추가 감지 (PK 인덱스 끝만 읽으므로 다운로드 요청마다 조회해도 부담 없음)
+ * - 변경 카운터 (Redis) : 수정 / 삭제 등 id 워터마크로 알 수 없는 변경 감지
+ *   데이터를 바꾸는 서비스가 커밋 후 증가시키고, 모든 노드가 같은 값을 봄
+ * - COUNT(*) 는 PostgreSQL 에서 전체 스캔이라 사용하지 않음 (모든 쓰기가 markModified 를 거치므로 불필요)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DataVersionTracker {
+
+    private static final String MODIFICATION_COUNTER_KEY = "excel:data:test_data:modifications";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 현재 데이터 버전 ({maxId}-{변경 카운터})
+     * @return 변경 카운터를 읽지 못하면 null (캐시 사용 안 함)
+     */
+    public String currentVersion() {
+        Long modifications = currentModifications();
+        if (modifications == null) {
+            return null;
+        }
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM test_data", Long.class);
+        return maxId + "-" + modifications;
+    }
+
+    /**
+     * 현재 변경 카운터 (수정 / 삭제 횟수)
+     * @return 조회 실패 시 null
+     */
+    public Long currentModifications() {
+        try {
+            String modifications = redisTemplate.opsForValue().get(MODIFICATION_COUNTER_KEY);
+            return modifications != null ? Long.parseLong(modifications) : 0L;
+        } catch (Exception e) {
+            log.warn("데이터 변경 카운터 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 데이터 변경 기록 (트랜잭션 중이면 커밋 후 증가)
+     * - 커밋 전에 증가시키면 이전 데이터로 만든 파일이 새 버전으로 캐시될 수 있음
+     */
+    public void markModified() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment();
+                }
+            });
+        } else {
+            increment();
+        }
+    }
+
+    private void increment() {
+        try {
+            redisTemplate.opsForValue().increment(MODIFICATION_COUNTER_KEY);
+        } catch (Exception e) {
+            log.error("데이터 변경 카운터 증가 실패 (결과 캐시가 이전 파일을 반환할 수 있음): {}", e.getMessage());
+        }
+    }
+}
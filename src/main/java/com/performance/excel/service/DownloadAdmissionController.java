@@ -0,0 +1,193 @@
+package com.performance.excel.service;
+
+import com.performance.excel.dto.DownloadCost;
+import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.exception.DownloadRejectedException;
+import com.performance.excel.repository.TestDataRepository;
+import com.performance.excel.util.TempSheetBackend;
+import com.performance.excel.util.TestDataExcelBuilder;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 비용 기반 Admission Control
+ *
+ * - 큐 등록 전: 노드 예산으로 절대 처리할 수 없는 요청은 즉시 거부
+ * - 작업 시작 전: 현재 남은 힙/디스크 예산으로 감당 가능한 경우에만 예약 후 시작
+ * - 작업 종료 시: 예약 해제
+ *
+ * 무거운 작업(XSSF 전체 로드 등) 여러 개가 동시에 실행되어 노드가 OOM 으로 죽는 것을 방지
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DownloadAdmissionController {
+
+    private final DownloadCostEstimator costEstimator;
+    private final TestDataRepository testDataRepository;
+    private final TestDataExcelBuilder excelBuilder;
+    private final TempSheetBackend tempSheetBackend;
+
+    @Value("${excel.download.directory:downloads/}")
+    private String downloadDirectory;
+
+    // 최대 힙 중 다운로드 작업에 배정할 비율 (나머지는 API 처리, GC 여유분)
+    @Value("${excel.download.admission.heap-budget-ratio:0.6}")
+    private double heapBudgetRatio;
+
+    // 작업 예약 후에도 항상 남겨둘 최소 디스크 여유 공간
+    @Value("${excel.download.admission.min-free-disk:512MB}")
+    private DataSize minFreeDisk;
+
+    // 요청 ID -> 예약된 비용
+    private final ConcurrentHashMap<String, DownloadCost> reservations = new ConcurrentHashMap<>();
+    private long reservedHeapBytes;
+    private long reservedDiskBytes;
+
+    /**
+     * 비용 추정 (현재 데이터 건수 기준)
+     */
+    public DownloadCost estimate(DownloadRequest.DownloadType downloadType) {
+        return costEstimator.estimate(downloadType, testDataRepository.getTotalCount());
+    }
+
+    /**
+     * 노드 예산으로 절대 처리할 수 없는 요청인지 검사 (큐 등록 전 호출)
+     * @throws DownloadRejectedException 처리 불가 시 (HEAP_BUDGET / DISK_BUDGET)
+     */
+    public void checkFeasible(DownloadRequest request) {
+        DownloadCost cost = costOf(request);
+
+        if (cost.getHeapBytes() > getHeapBudgetBytes()) {
+            throw new DownloadRejectedException(String.format(
+                    "예상 메모리 사용량(%dMB)이 노드 힙 예산(%dMB)을 초과합니다. (%s, %d건)",
+                    toMb(cost.getHeapBytes()), toMb(getHeapBudgetBytes()),
+                    request.getDownloadType(), cost.getRowCount()),
+                    DownloadRejectedException.Reason.HEAP_BUDGET);
+        }
+
+        if (cost.totalDiskBytes() > getUsableDiskBytes() - minFreeDisk.toBytes()) {
+            throw new DownloadRejectedException(String.format(
+                    "예상 디스크 사용량(%dMB)이 노드 디스크 여유 공간을 초과합니다. (%s, %d건)",
+                    toMb(cost.totalDiskBytes()), request.getDownloadType(), cost.getRowCount()),
+                    DownloadRejectedException.Reason.DISK_BUDGET);
+        }
+    }
+
+    /**
+     * 현재 예산으로 작업 시작이 가능하면 예약 (작업 시작 직전 호출)
+     * - 디스크: 실행 중인 작업이 이미 기록한 만큼은 여유 공간에서 빠져 있으므로 예약 합계는 전체 용량과 비교
+     *   (여유 공간과 비교하면 기록된 부분을 두 번 빼게 됨). 새 작업 자체는 현재 여유 공간에 들어가야 함
+     * @return 예약 성공 여부
+     */
+    public synchronized boolean tryAdmit(DownloadRequest request) {
+        DownloadCost cost = costOf(request);
+
+        long minFreeBytes = minFreeDisk.toBytes();
+        boolean heapAvailable = reservedHeapBytes + cost.getHeapBytes() <= getHeapBudgetBytes();
+        boolean diskAvailable = reservedDiskBytes + cost.totalDiskBytes() <= getTotalDiskBytes() - minFreeBytes
+                && cost.totalDiskBytes() <= getUsableDiskBytes() - minFreeBytes;
+
+        if (!heapAvailable || !diskAvailable) {
+            log.debug("Admission deferred: {} (heap {}MB + {}MB / {}MB, disk reserved {}MB + {}MB)",
+                    request.getRequestId(), toMb(reservedHeapBytes), toMb(cost.getHeapBytes()),
+                    toMb(getHeapBudgetBytes()), toMb(reservedDiskBytes), toMb(cost.totalDiskBytes()));
+            return false;
+        }
+
+        reservations.put(request.getRequestId(), cost);
+        reservedHeapBytes += cost.getHeapBytes();
+        reservedDiskBytes += cost.totalDiskBytes();
+
+        log.info("Admitted: {} (heap {}MB, disk {}MB)",
+                request.getRequestId(), toMb(cost.getHeapBytes()), toMb(cost.totalDiskBytes()));
+        return true;
+    }
+
+    /**
+     * 동기 처리 요청용: 예약 실패 시 예외 발생
+     * @throws DownloadRejectedException 예산 부족 시 (BUSY)
+     */
+    public void admitOrReject(DownloadRequest request) {
+        checkFeasible(request);
+        if (!tryAdmit(request)) {
+            throw new DownloadRejectedException("서버의 다운로드 처리 예산이 부족합니다. 잠시 후 다시 시도해주세요.",
+                    DownloadRejectedException.Reason.BUSY);
+        }
+    }
+
+    /**
+     * 예약 해제 (작업 성공/실패와 무관하게 종료 시 호출)
+     */
+    public synchronized void release(String requestId) {
+        DownloadCost cost = reservations.remove(requestId);
+        if (cost != null) {
+            reservedHeapBytes -= cost.getHeapBytes();
+            reservedDiskBytes -= cost.totalDiskBytes();
+        }
+    }
+
+    /**
+     * 요청에 저장된 비용 추정치 반환 (없으면 새로 계산. 이전 버전에서 큐에 들어온 요청 대비)
+     */
+    private DownloadCost costOf(DownloadRequest request) {
+        if (request.getCost() == null) {
+            request.setCost(estimate(request.getDownloadType()));
+        }
+        return request.getCost();
+    }
+
+    private long getHeapBudgetBytes() {
+        return (long) (Runtime.getRuntime().maxMemory() * heapBudgetRatio);
+    }
+
+    /**
+     * 결과 파일 디렉토리와 임시 시트 디렉토리(excel.download.temp-sheet.directory) 중 작은 여유 공간 기준
+     */
+    private long getUsableDiskBytes() {
+        File downloadDir = new File(excelBuilder.getDownloadPath(downloadDirectory, ""));
+        return Math.min(downloadDir.getUsableSpace(), tempSheetBackend.getUsableSpace());
+    }
+
+    private long getTotalDiskBytes() {
+        File downloadDir = new File(excelBuilder.getDownloadPath(downloadDirectory, ""));
+        return Math.min(downloadDir.getTotalSpace(), tempSheetBackend.getTotalSpace());
+    }
+
+    private static long toMb(long bytes) {
+        return bytes / (1024L * 1024L);
+    }
+
+    /**
+     * 예산 상태 조회
+     */
+    public synchronized AdmissionStatus getStatus() {
+        return AdmissionStatus.builder()
+                .runningCount(reservations.size())
+                .heapBudgetBytes(getHeapBudgetBytes())
+                .reservedHeapBytes(reservedHeapBytes)
+                .usableDiskBytes(getUsableDiskBytes())
+                .totalDiskBytes(getTotalDiskBytes())
+                .reservedDiskBytes(reservedDiskBytes)
+                .build();
+    }
+
+    @Builder
+    @Getter
+    public static class AdmissionStatus {
+        private int runningCount;
+        private long heapBudgetBytes;
+        private long reservedHeapBytes;
+        private long usableDiskBytes;
+        private long totalDiskBytes;
+        private long reservedDiskBytes;
+    }
+}
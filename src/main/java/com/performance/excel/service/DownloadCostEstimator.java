@@ -0,0 +1,59 @@
+package com.performance.excel.service;
+
+import com.performance.excel.dto.DownloadCost;
+import com.performance.excel.dto.DownloadRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * 다운로드 타입별 비용 추정기
+ *
+ * 추정 계수는 docs/performance-test-results.md 실측치 기준 (6컬럼, 1GB 힙)
+ * - XSSF 전체 로드: 10만 행 832MB → 행당 약 8.7KB, 50만 행 OOM
+ * - SXSSF OFFSET/CURSOR: 행 수와 무관하게 50MB / 18MB 수준
+ * - EasyExcel: 10만 행 20MB, 50만 행 92MB → 행당 약 180B
+ * - FastExcel: 50만 행 338MB (finish() 일괄 쓰기) → 행당 약 700B
+ */
+@Component
+public class DownloadCostEstimator {
+
+    private static final long MB = 1024L * 1024L;
+
+    // xlsx 압축 후 행당 크기 / SXSSF 임시 시트 XML(비압축) 행당 크기
+    private static final long OUTPUT_BYTES_PER_ROW = 60L;
+    private static final long TEMP_XML_BYTES_PER_ROW = 400L;
+    // 비압축 CSV 행당 크기
+    private static final long CSV_BYTES_PER_ROW = 130L;
+    // Parquet (SNAPPY) 행당 크기
+    private static final long PARQUET_BYTES_PER_ROW = 20L;
+
+    public DownloadCost estimate(DownloadRequest.DownloadType downloadType, long rowCount) {
+        long rows = Math.max(0L, rowCount);
+
+        return switch (downloadType) {
+            case XSSF_FULL_LOAD -> cost(rows, 20 * MB, 8_700L, 0L);
+            case SXSSF_OFFSET_PAGING -> cost(rows, 50 * MB, 0L, TEMP_XML_BYTES_PER_ROW);
+            case SXSSF_CURSOR_PAGING -> cost(rows, 18 * MB, 0L, TEMP_XML_BYTES_PER_ROW);
+            // 기준 파일이 없으면 CURSOR 와 같은 전체 생성 (최악의 경우 기준으로 추정)
+            case SXSSF_INCREMENTAL -> cost(rows, 18 * MB, 0L, TEMP_XML_BYTES_PER_ROW);
+            case EASYEXCEL -> cost(rows, 2 * MB, 180L, TEMP_XML_BYTES_PER_ROW);
+            case FASTEXCEL -> cost(rows, 22 * MB, 700L, 0L);
+            // 버퍼 1개만 사용, 비압축 CSV 는 xlsx 보다 커서 출력 크기를 따로 추정 (gzip 이면 실제로는 더 작음)
+            case CSV -> cost(rows, 4 * MB, 0L, 0L, CSV_BYTES_PER_ROW);
+            // row group 버퍼(기본 64MB) 만큼 고정 사용, 컬럼 인코딩 + 압축으로 xlsx 보다 작음
+            case PARQUET -> cost(rows, 80 * MB, 0L, 0L, PARQUET_BYTES_PER_ROW);
+        };
+    }
+
+    private DownloadCost cost(long rows, long fixedHeap, long heapPerRow, long tempPerRow) {
+        return cost(rows, fixedHeap, heapPerRow, tempPerRow, OUTPUT_BYTES_PER_ROW);
+    }
+
+    private DownloadCost cost(long rows, long fixedHeap, long heapPerRow, long tempPerRow, long outputPerRow) {
+        return DownloadCost.builder()
+                .rowCount(rows)
+                .outputBytes(rows * outputPerRow)
+                .heapBytes(fixedHeap + rows * heapPerRow)
+                .tempDiskBytes(rows * tempPerRow)
+                .build();
+    }
+}
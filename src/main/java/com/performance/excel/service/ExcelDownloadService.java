@@ -5,7 +5,7 @@ import com.performance.excel.dto.DownloadRequest;
 import com.performance.excel.repository.TestDataRepository;
 import com.performance.excel.strategy.ExcelContext;
 import com.performance.excel.strategy.ExcelDownloadStrategy;
-import com.performance.excel.websocket.ProgressWebSocketHandler;
+import com.performance.excel.websocket.ProgressReporter;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -30,7 +30,7 @@ public class ExcelDownloadService {
     private final TestDataRepository testDataRepository;
     @Getter
     private final DownloadQueue downloadQueue;
-    private final ProgressWebSocketHandler progressWebSocketHandler;
+    private final ProgressReporter progressReporter;
     private final JdbcTemplate jdbcTemplate;
     private final List<ExcelDownloadStrategy> strategies;
 
@@ -123,7 +123,7 @@ public class ExcelDownloadService {
         if (enqueued) {
             DownloadProgress progress = DownloadProgress.queued(requestId);
             try {
-                progressWebSocketHandler.sendProgress(userId, progress);
+                progressReporter.report(userId, progress);
             } catch (Exception e) {
                 log.warn("큐 진행률 전송 실패: {}", e.getMessage());
             }
@@ -158,7 +158,7 @@ public class ExcelDownloadService {
                     // WebSocket으로 실패 알림
                     DownloadProgress failedProgress = DownloadProgress.failed(request.getRequestId(), e.getMessage());
                     try {
-                        progressWebSocketHandler.sendProgress(request.getUserId(), failedProgress);
+                        progressReporter.report(request.getUserId(), failedProgress);
                     } catch (Exception wsException) {
                         log.warn("실패 진행률 전송 실패: {}", wsException.getMessage());
                     }
@@ -185,7 +185,7 @@ public class ExcelDownloadService {
         // Context 생성
         ExcelContext context = ExcelContext.of(
             testDataRepository,
-            progressWebSocketHandler,
+            progressReporter,
             jdbcTemplate,
             downloadDirectory
         );
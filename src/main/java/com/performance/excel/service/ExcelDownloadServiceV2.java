@@ -2,11 +2,20 @@ package com.performance.excel.service;
 
 import com.performance.excel.dto.DownloadProgress;
 import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.dto.QueueEta;
+import com.performance.excel.exception.DownloadCancelledException;
+import com.performance.excel.exception.DownloadRejectedException;
 import com.performance.excel.repository.TestDataRepository;
+import com.performance.excel.storage.ExportStorage;
+import com.performance.excel.storage.LiveExportRegistry;
+import com.performance.excel.strategy.CancellationToken;
+import com.performance.excel.strategy.ChunkPipeline;
 import com.performance.excel.strategy.ExcelContext;
 import com.performance.excel.strategy.ExcelDownloadStrategy;
-import com.performance.excel.websocket.ProgressWebSocketHandler;
+import com.performance.excel.util.TestDataExcelBuilder;
+import com.performance.excel.websocket.ProgressReporter;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,10 +25,18 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -31,9 +48,24 @@ public class ExcelDownloadServiceV2 {
     private final TestDataRepository testDataRepository;
     @Getter
     private final RedisDownloadQueue redisDownloadQueue;
-    private final ProgressWebSocketHandler progressWebSocketHandler;
+    private final HybridDownloadQueue hybridDownloadQueue;
+    private final ProgressReporter progressReporter;
     private final JdbcTemplate jdbcTemplate;
     private final List<ExcelDownloadStrategy> strategies;
+    @Getter
+    private final DownloadAdmissionController admissionController;
+    private final TestDataExcelBuilder excelBuilder;
+    private final ExportCheckpointStore checkpointStore;
+    private final ExportStorage exportStorage;
+    private final LiveExportRegistry liveExportRegistry;
+    @Getter
+    private final ExportResultCache exportResultCache;
+    private final DataVersionTracker dataVersionTracker;
+    private final ChunkPipeline chunkPipeline;
+    private final ThroughputHistory throughputHistory;
+    private final QueueEtaEstimator queueEtaEstimator;
+    @Getter
+    private final AdaptiveConcurrencyController concurrencyController;
 
     @Qualifier("downloadTaskExecutor")
     private final Executor downloadTaskExecutor;
@@ -41,10 +73,36 @@ public class ExcelDownloadServiceV2 {
     @Value("${excel.download.directory:downloads/}")
     private String downloadDirectory;
 
+    // 예산 부족으로 보류된 작업의 최대 대기 시간 (초과 시 실패 처리하여 이 노드의 디스패치를 풀어줌)
+    @Value("${excel.download.admission.max-pending-wait:600000}")
+    private long maxPendingWaitMs;
+
 
     // 전략 매핑 (초기화 시 생성)
     private Map<DownloadRequest.DownloadType, ExcelDownloadStrategy> strategyMap;
 
+    // 예산 부족으로 시작하지 못하고 보류된 작업 (Stream PEL에 남아 있으므로 장애 시 복구 가능)
+    private final AtomicReference<DownloadRequest> pendingAdmission = new AtomicReference<>();
+    // 보류 시작 시각 (dispatchLock 안에서만 변경)
+    private long pendingAdmissionSince;
+    // 스케줄러와 요청 스레드의 동시 디스패치 방지
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    // 이 노드에서 실행 중인 작업 (취소 토큰 보관)
+    private final ConcurrentHashMap<String, RunningJob> runningJobs = new ConcurrentHashMap<>();
+
+    // 종료 중 중단된 작업은 실패 처리하지 않고 PEL 에 남겨 체크포인트부터 재개
+    private volatile boolean shuttingDown = false;
+
+    private record RunningJob(DownloadRequest request, CancellationToken cancellationToken) {
+    }
+
+    public enum CancelResult {
+        CANCELLED,      // 대기 중 제거 완료
+        CANCELLING,     // 실행 중. 다음 청크 경계에서 중단 예정
+        NOT_FOUND       // 존재하지 않거나 이미 종료된 작업
+    }
+
     /**
      * 초기화 시 전략 매핑 생성
      */
@@ -58,6 +116,14 @@ public class ExcelDownloadServiceV2 {
         log.info("Excel download strategies initialized: {}", strategyMap.keySet());
     }
 
+    /**
+     * 종료 시작 표시 (Executor 종료보다 먼저 호출됨)
+     */
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+    }
+
     @Scheduled(fixedDelayString = "${excel.download.poll-interval}")
     private void scheduledProcessQueue() {
         // 1초마다 작업 처리 진행
@@ -68,7 +134,8 @@ public class ExcelDownloadServiceV2 {
      * 다운로드 요청 처리 (큐에 추가)
      */
     public String requestDownload(DownloadRequest.DownloadType downloadType, String userId, String requestId) {
-        String fileName = String.format("test_data_%s_%s.xlsx", downloadType.name().toLowerCase(), requestId);
+        String fileName = String.format("test_data_%s_%s.%s", downloadType.name().toLowerCase(), requestId,
+                fileExtension(downloadType));
 
         DownloadRequest request = DownloadRequest.builder()
                 .requestId(requestId)
@@ -77,11 +144,35 @@ public class ExcelDownloadServiceV2 {
                 .userId(userId)
                 .build();
 
-        boolean enqueued = redisDownloadQueue.enqueue(request);
+        // 데이터가 바뀌지 않았으면 이전에 만든 파일로 바로 완료 (슬롯 / 큐 / 비용 추정 미사용)
+        if (completeFromCache(request)) {
+            return requestId;
+        }
+
+        // 비용 추정은 전체 건수 조회가 필요하므로 캐시 미스일 때만
+        request.setCost(admissionController.estimate(downloadType));
+
+        // 노드 예산으로 절대 처리할 수 없는 요청은 큐에 넣기 전에 거부
+        admissionController.checkFeasible(request);
+
+        // 이 노드에서 바로 시작할 수 있으면 Stream 을 거치지 않음
+        if (tryStartDirectly(request)) {
+            return requestId;
+        }
+
+        boolean enqueued = hybridDownloadQueue.enqueue(request);
         if (enqueued) {
-            DownloadProgress progress = DownloadProgress.queued(requestId);
+            // 대기 순번과 예상 시작/완료 시각 포함 (ETA 추정 실패 시 기본 대기 메시지)
+            DownloadProgress progress;
+            try {
+                QueueEta eta = queueEtaEstimator.estimateEnqueued(request);
+                progress = eta != null ? DownloadProgress.queued(eta) : DownloadProgress.queued(requestId);
+            } catch (Exception e) {
+                log.warn("ETA 추정 실패: {}", e.getMessage());
+                progress = DownloadProgress.queued(requestId);
+            }
             try {
-                progressWebSocketHandler.sendProgress(userId, progress);
+                progressReporter.report(userId, progress);
             } catch (Exception e) {
                 log.warn("큐 진행률 전송 실패: {}", e.getMessage());
             }
@@ -95,36 +186,273 @@ public class ExcelDownloadServiceV2 {
         }
     }
 
+    /**
+     * 결과 캐시 적중 시 기존 파일로 완료 알림
+     */
+    private boolean completeFromCache(DownloadRequest request) {
+        String cachedFileName;
+        try {
+            cachedFileName = exportResultCache.find(request.getDownloadType(), dataVersionTracker.currentVersion());
+        } catch (Exception e) {
+            log.warn("결과 캐시 확인 실패: {}", e.getMessage());
+            return false;
+        }
+        if (cachedFileName == null) {
+            return false;
+        }
+
+        log.info("결과 캐시 적중: {} -> {}", request.getRequestId(), cachedFileName);
+        progressReporter.report(request.getUserId(),
+                DownloadProgress.completed(request.getRequestId(), "/api/download/file/" + cachedFileName));
+        return true;
+    }
+
+    /**
+     * 빠른 경로: 빈 슬롯이 있고 앞선 대기 작업이 없으면 접수 스레드에서 바로 제출
+     * - 대기 작업 여부는 직전 폴링 결과로 판단 (Redis 조회 없음)
+     * - 디스패치 중이거나 예산이 부족하면 일반 경로(대기열)로 처리
+     */
+    private boolean tryStartDirectly(DownloadRequest request) {
+        if (!dispatchLock.tryLock()) {
+            return false;
+        }
+
+        try {
+            if (pendingAdmission.get() != null
+                    || !concurrencyController.canStartNewJob(runningJobs.size())
+                    || !hybridDownloadQueue.canStartDirectly()
+                    || !admissionController.tryAdmit(request)) {
+                return false;
+            }
+
+            log.info("Starting directly without queueing: {}", request.getRequestId());
+            submit(request, true);
+            return true;
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
     /**
      * 동시성 제어가 적용된 큐 처리
+     * - 보류 중인 작업이 있으면 새 작업을 꺼내지 않고 보류 작업부터 재시도 (무거운 작업 기아 방지)
+     * - 힙/디스크 예산 예약에 성공한 작업만 스레드풀에 제출
      */
     public void processQueue() {
-        DownloadRequest request = redisDownloadQueue.dequeue();
-        if (request != null) {
-            // 스레드풀에 제출하여 비동기 처리
-            CompletableFuture.runAsync(() -> {
+        if (!dispatchLock.tryLock()) {
+            return;     // 다른 스레드가 디스패치 중 (다음 폴링에서 처리)
+        }
+
+        try {
+            // 노드 슬롯이 모두 사용 중이거나 메모리 압박 중이면 dequeue 하지 않음
+            if (!concurrencyController.canStartNewJob(runningJobs.size())) {
+                return;
+            }
+
+            DownloadRequest request = pendingAdmission.getAndSet(null);
+            boolean parked = request != null;
+            if (request == null) {
+                request = hybridDownloadQueue.dequeue();
+            }
+            if (request == null) {
+                return;
+            }
+
+            // 보류 작업: 보류 중 디스크 여유가 줄었거나 다른 노드(더 큰 힙)가 넣은 작업이면 영영 시작할 수 없으므로 실패 처리
+            if (parked && !stillAdmissible(request)) {
+                return;
+            }
+
+            if (!admissionController.tryAdmit(request)) {
+                if (!parked) {
+                    pendingAdmissionSince = System.currentTimeMillis();
+                }
+                pendingAdmission.set(request);
+                return;
+            }
+
+            submit(request, false);
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    /**
+     * @param direct Stream 을 거치지 않고 바로 시작한 작업 (작업 스레드에서 Redis 에 복구용 기록)
+     */
+    private void submit(DownloadRequest request, boolean direct) {
+        // 다른 노드에서 들어온 취소 요청은 Redis 취소 플래그로 반영
+        CancellationToken cancellationToken =
+                new CancellationToken(() -> redisDownloadQueue.isCancelRequested(request.getRequestId()));
+        runningJobs.put(request.getRequestId(), new RunningJob(request, cancellationToken));
+
+        // 스레드풀에 제출하여 비동기 처리
+        CompletableFuture.runAsync(() -> {
+            boolean cancelled = false;
+            try {
+                if (direct) {
+                    hybridDownloadQueue.registerDirect(request);
+                }
+                long startedAt = System.currentTimeMillis();
+                // 조회 전에 버전을 잡아야 생성 중 바뀐 데이터가 이전 버전으로 캐시되지 않음
+                String dataVersion = currentDataVersion();
+                // 생성 중에도 파일 요청을 받아 기록된 만큼 전송 (완료 전에 다운로드 시작 가능)
+                liveExportRegistry.begin(request.getFileName(),
+                        new File(excelBuilder.getDownloadPath(downloadDirectory, request.getFileName())));
+                long writtenRows = processWithStrategy(request, cancellationToken);
+                liveExportRegistry.complete(request.getFileName());
+                exportResultCache.put(request.getDownloadType(), dataVersion, request.getFileName());
+                // 전략별 처리 속도 이력 (ETA 추정용, 예상 건수가 아닌 이번 실행에서 실제로 기록한 행 수 기준)
+                throughputHistory.record(request.getDownloadType(), writtenRows,
+                        System.currentTimeMillis() - startedAt);
+                // 성공 수 카운팅
+                hybridDownloadQueue.markCompleted(request.getRequestId());
+            } catch (DownloadCancelledException e) {
+                cancelled = true;
+                log.info("다운로드 취소됨: {}", request.getRequestId());
+
+                // 전송 중인 응답을 먼저 중단한 뒤 부분 파일/체크포인트 삭제 후 슬롯 반환
+                liveExportRegistry.fail(request.getFileName());
+                deletePartialFile(request);
+                checkpointStore.discard(request.getRequestId());
+                hybridDownloadQueue.markCancelled(request.getRequestId());
+                sendCancelledProgress(request);
+            } catch (Exception e) {
+                if (shuttingDown) {
+                    // ACK 하지 않고 남겨두면 재시작 후 또는 다른 노드가 회수하여 체크포인트부터 재개
+                    log.warn("종료 중 중단된 작업 (회수 후 재개 예정): {}", request.getRequestId());
+                    return;
+                }
+                log.error("다운로드 처리 실패: {}", request.getRequestId(), e);
+                checkpointStore.discard(request.getRequestId());
+
+                // 실패 수 카운팅
+                hybridDownloadQueue.markFailed(request.getRequestId(), e.getMessage());
+
+                // WebSocket으로 실패 알림
+                DownloadProgress failedProgress = DownloadProgress.failed(request.getRequestId(), e.getMessage());
                 try {
-                    processWithStrategy(request);
-                    // 성공 수 카운팅
-                    redisDownloadQueue.markCompleted(request.getRequestId());
-                } catch (Exception e) {
-                    log.error("다운로드 처리 실패: {}", request.getRequestId(), e);
+                    progressReporter.report(request.getUserId(), failedProgress);
+                } catch (Exception wsException) {
+                    log.warn("실패 진행률 전송 실패: {}", wsException.getMessage());
+                }
+            } finally {
+                // 실패/종료로 중단된 경우 전송 중인 응답도 중단 (완료/취소 시에는 이미 처리되어 무시됨)
+                liveExportRegistry.fail(request.getFileName());
+                // 예산 예약 해제
+                runningJobs.remove(request.getRequestId());
+                progressReporter.release(request.getRequestId());
+                admissionController.release(request.getRequestId());
+            }
 
-                    // 실패 수 카운팅
-                    redisDownloadQueue.markFailed(request.getRequestId(), e.getMessage());
+            // 취소로 비워진 슬롯에 대기 작업 바로 투입 (다음 폴링까지 기다리지 않음)
+            if (cancelled) {
+                processQueue();
+            }
+        }, downloadTaskExecutor);   // 명시적 Executor 지정 (스레드 풀 제어)
+    }
 
-                    // WebSocket으로 실패 알림
-                    DownloadProgress failedProgress = DownloadProgress.failed(request.getRequestId(), e.getMessage());
-                    try {
-                        progressWebSocketHandler.sendProgress(request.getUserId(), failedProgress);
-                    } catch (Exception wsException) {
-                        log.warn("실패 진행률 전송 실패: {}", wsException.getMessage());
-                    }
-                } /*finally {   // TODO 검토 후 삭제 (스케줄러로 대신 함)
-                    // 작업 완료 후 바로 다음 요청 처리
-                    processQueue();
-                }*/
-            }, downloadTaskExecutor);   // 명시적 Executor 지정 (스레드 풀 제어)
+    /**
+     * 다운로드 취소
+     * - 대기 중: Stream 에서 즉시 제거
+     * - 이 노드에서 실행 중: 취소 토큰으로 다음 청크 경계에서 중단
+     * - 다른 노드에서 실행 중: Redis 취소 플래그로 해당 노드가 다음 청크 경계에서 중단
+     */
+    public CancelResult cancelDownload(String requestId, String userId) {
+        RunningJob runningJob = runningJobs.get(requestId);
+        DownloadRequest request = runningJob != null
+                ? runningJob.request()
+                : hybridDownloadQueue.findRequest(requestId);
+
+        // 요청자 본인의 작업만 취소 가능 (다른 사용자 작업은 존재 여부도 노출하지 않음, 사용자 ID 가 없으면 불일치)
+        if (request == null || userId == null || !Objects.equals(userId, request.getUserId())) {
+            return CancelResult.NOT_FOUND;
+        }
+
+        // dequeue 와의 경합에 대비해 취소 플래그를 먼저 설정
+        redisDownloadQueue.requestCancel(requestId);
+
+        // 1. 예산 부족으로 보류 중인 작업
+        DownloadRequest pending = pendingAdmission.get();
+        if (pending != null && requestId.equals(pending.getRequestId())
+                && pendingAdmission.compareAndSet(pending, null)) {
+            hybridDownloadQueue.markCancelled(requestId);
+            sendCancelledProgress(pending);
+            return CancelResult.CANCELLED;
+        }
+
+        // 2. 이 노드에서 실행 중인 작업
+        if (runningJob != null) {
+            runningJob.cancellationToken().cancel();
+            return CancelResult.CANCELLING;
+        }
+
+        // 3. 대기 중인 작업
+        DownloadRequest removed = hybridDownloadQueue.removeQueued(requestId);
+        if (removed != null) {
+            sendCancelledProgress(removed);
+            return CancelResult.CANCELLED;
+        }
+
+        // 4. 다른 노드에서 실행 중인 작업
+        return CancelResult.CANCELLING;
+    }
+
+    private String currentDataVersion() {
+        try {
+            return dataVersionTracker.currentVersion();
+        } catch (Exception e) {
+            log.warn("데이터 버전 조회 실패 (결과 캐시 미사용): {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 보류 작업 재시도 전 확인 (dispatchLock 안에서 호출)
+     * - 노드 예산으로 처리할 수 없게 된 작업, 최대 대기 시간을 넘긴 작업은 실패 처리
+     * @return 계속 재시도할 작업이면 true
+     */
+    private boolean stillAdmissible(DownloadRequest request) {
+        String reason;
+        try {
+            admissionController.checkFeasible(request);
+            if (System.currentTimeMillis() - pendingAdmissionSince <= maxPendingWaitMs) {
+                return true;
+            }
+            reason = "서버의 다운로드 처리 예산이 부족하여 대기 시간을 초과했습니다. 잠시 후 다시 시도해주세요.";
+        } catch (DownloadRejectedException e) {
+            reason = e.getMessage();
+        }
+
+        log.warn("보류 작업 실패 처리: {} - {}", request.getRequestId(), reason);
+        checkpointStore.discard(request.getRequestId());
+        hybridDownloadQueue.markFailed(request.getRequestId(), reason);
+        try {
+            progressReporter.report(request.getUserId(), DownloadProgress.failed(request.getRequestId(), reason));
+        } catch (Exception e) {
+            log.warn("실패 진행률 전송 실패: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    private void sendCancelledProgress(DownloadRequest request) {
+        try {
+            progressReporter.report(request.getUserId(), DownloadProgress.cancelled(request.getRequestId()));
+        } catch (Exception e) {
+            log.warn("취소 알림 전송 실패: {}", e.getMessage());
+        }
+    }
+
+    private String fileExtension(DownloadRequest.DownloadType downloadType) {
+        ExcelDownloadStrategy strategy = strategyMap.get(downloadType);
+        return strategy != null ? strategy.getFileExtension() : "xlsx";
+    }
+
+    private void deletePartialFile(DownloadRequest request) {
+        try {
+            Files.deleteIfExists(Path.of(excelBuilder.getDownloadPath(downloadDirectory, request.getFileName())));
+        } catch (IOException e) {
+            log.warn("부분 파일 삭제 실패: {} - {}", request.getFileName(), e.getMessage());
         }
     }
 
@@ -132,6 +460,13 @@ public class ExcelDownloadServiceV2 {
      * 전략 패턴을 사용한 다운로드 처리
      */
     private void processWithStrategy(DownloadRequest request) {
+        processWithStrategy(request, new CancellationToken());
+    }
+
+    /**
+     * @return 이번 실행에서 기록한 행 수 (체크포인트 재개 / 증분 시 이전 실행분 제외)
+     */
+    private long processWithStrategy(DownloadRequest request, CancellationToken cancellationToken) {
         log.info("다운로드 요청 처리 시작: {} ({})", request.getRequestId(), request.getDownloadType());
 
         // 해당 타입에 맞는 전략 선택
@@ -141,22 +476,69 @@ public class ExcelDownloadServiceV2 {
         }
 
         // Context 생성
-        ExcelContext context = ExcelContext.of(
-            testDataRepository,
-            progressWebSocketHandler,
-            jdbcTemplate,
-            downloadDirectory
-        );
+        ExcelContext context = ExcelContext.builder()
+                .testDataRepository(testDataRepository)
+                .progressReporter(progressReporter)
+                .jdbcTemplate(jdbcTemplate)
+                .downloadDirectory(downloadDirectory)
+                .cancellationToken(cancellationToken)
+                .checkpointStore(checkpointStore)
+                .exportStorage(exportStorage)
+                .chunkPipeline(chunkPipeline)
+                .build();
 
         // 전략 실행
         strategy.process(request, context);
+        return context.getWrittenRows();
+    }
+
+    /**
+     * 이 노드에서 실행 중인 작업 수
+     */
+    public int getRunningJobCount() {
+        return runningJobs.size();
+    }
+
+    /**
+     * 요청별 대기 순번 및 ETA 조회 (마지막 ETA 스냅샷 기준)
+     * @return ETA (본인 요청이 아니거나 대기/처리 중이 아니면 null, 사용자 ID 가 없으면 불일치)
+     */
+    public QueueEta getQueueEta(String requestId, String userId) {
+        QueueEta eta = queueEtaEstimator.estimate(requestId);
+        if (eta == null || userId == null || !Objects.equals(userId, eta.getUserId())) {
+            return null;
+        }
+        return eta;
+    }
+
+    /**
+     * 대기 중인 모든 사용자에게 대기 순번/ETA 알림 (마지막 ETA 스냅샷 기준)
+     */
+    public void broadcastQueueEta() {
+        for (QueueEta eta : queueEtaEstimator.getSnapshot()) {
+            if (eta.getStatus() != DownloadProgress.DownloadStatus.QUEUED) {
+                continue;
+            }
+            try {
+                progressReporter.report(eta.getUserId(), DownloadProgress.queued(eta));
+            } catch (Exception e) {
+                log.warn("ETA 알림 전송 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 조회/인코딩 단계별 사용률 조회
+     */
+    public ChunkPipeline.PipelineStatus getPipelineStatus() {
+        return chunkPipeline.getStatus();
     }
 
     /**
      * 큐 상태 조회
      */
     public RedisDownloadQueue.QueueStatus getQueueStatus() {
-        return redisDownloadQueue.getQueueStatus();
+        return hybridDownloadQueue.getQueueStatus();
     }
 
     /**
@@ -171,13 +553,24 @@ public class ExcelDownloadServiceV2 {
                     .fileName("xssf_full_load_" + requestId + ".xlsx")
                     .downloadType(DownloadRequest.DownloadType.XSSF_FULL_LOAD)
                     .userId(userId)
+                    .cost(admissionController.estimate(DownloadRequest.DownloadType.XSSF_FULL_LOAD))
                     .build();
 
-            // 전략 패턴 적용
-            processWithStrategy(request);
+            // 큐를 거치지 않으므로 시작 전 바로 예산 예약 (실패 시 거부)
+            admissionController.admitOrReject(request);
+            try {
+                // 전략 패턴 적용
+                processWithStrategy(request);
+            } finally {
+                // 실패로 종료 상태가 전송되지 않아도 진행률 상태는 정리
+                progressReporter.release(requestId);
+                admissionController.release(requestId);
+            }
 
             return request.getFileName();
 
+        } catch (DownloadRejectedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("XSSF 전체 로드 처리 실패: {}", requestId, e);
             throw new RuntimeException("XSSF 전체 로드 처리 실패: " + e.getMessage(), e);
@@ -196,13 +589,24 @@ public class ExcelDownloadServiceV2 {
                     .fileName("sxssf_offset_paging_" + requestId + ".xlsx")
                     .downloadType(DownloadRequest.DownloadType.SXSSF_OFFSET_PAGING)
                     .userId(userId)
+                    .cost(admissionController.estimate(DownloadRequest.DownloadType.SXSSF_OFFSET_PAGING))
                     .build();
 
-            // 전략 패턴 적용
-            processWithStrategy(request);
+            // 큐를 거치지 않으므로 시작 전 바로 예산 예약 (실패 시 거부)
+            admissionController.admitOrReject(request);
+            try {
+                // 전략 패턴 적용
+                processWithStrategy(request);
+            } finally {
+                // 실패로 종료 상태가 전송되지 않아도 진행률 상태는 정리
+                progressReporter.release(requestId);
+                admissionController.release(requestId);
+            }
 
             return request.getFileName();
 
+        } catch (DownloadRejectedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("SXSSF OFFSET 페이징 처리 실패: {}", requestId, e);
             throw new RuntimeException("SXSSF OFFSET 페이징 처리 실패: " + e.getMessage(), e);
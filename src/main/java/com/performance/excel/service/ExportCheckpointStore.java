@@ -0,0 +1,143 @@
+package com.performance.excel.service;
+
+import com.performance.excel.dto.ExportCheckpoint;
+import com.performance.excel.util.TestDataExcelBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 내보내기 체크포인트 저장소 (Redis Hash)
+ * - excel:checkpoint:{requestId} 에 lastId / rowCount / byteOffset / spoolPath 저장
+ * - 회수된 작업은 동일한 requestId 로 재투입되므로 다른 노드에서도 이어서 처리 가능
+ *   (단, 스풀 파일이 해당 노드에서 보이는 경우에만. 보이지 않으면 처음부터 다시 생성)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExportCheckpointStore {
+
+    private static final String CHECKPOINT_KEY_PREFIX = "excel:checkpoint:";
+    private static final Duration CHECKPOINT_TTL = Duration.ofHours(24);
+
+    private static final String SPOOL_DIRECTORY = ".checkpoint";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TestDataExcelBuilder excelBuilder;
+
+    @Value("${excel.download.directory:downloads/}")
+    private String downloadDirectory;
+
+    public void save(String requestId, ExportCheckpoint checkpoint) {
+        String key = CHECKPOINT_KEY_PREFIX + requestId;
+        try {
+            redisTemplate.opsForHash().putAll(key, Map.of(
+                    "lastId", String.valueOf(checkpoint.getLastId()),
+                    "rowCount", String.valueOf(checkpoint.getRowCount()),
+                    "byteOffset", String.valueOf(checkpoint.getByteOffset()),
+                    "spoolPath", checkpoint.getSpoolPath()
+            ));
+            redisTemplate.expire(key, CHECKPOINT_TTL);
+            log.debug("체크포인트 저장: {} (lastId={}, rows={})", requestId, checkpoint.getLastId(), checkpoint.getRowCount());
+        } catch (Exception e) {
+            // 체크포인트 실패는 작업 자체를 실패시키지 않음 (재개 시 이전 체크포인트 사용)
+            log.warn("체크포인트 저장 실패: {} - {}", requestId, e.getMessage());
+        }
+    }
+
+    /**
+     * 재개 가능한 체크포인트 조회
+     * - 스풀 파일이 없거나 기록된 길이보다 짧으면 재개 불가 (null)
+     */
+    public ExportCheckpoint load(String requestId) {
+        try {
+            Map<Object, Object> fields = redisTemplate.opsForHash().entries(CHECKPOINT_KEY_PREFIX + requestId);
+            if (fields.isEmpty()) {
+                return null;
+            }
+
+            ExportCheckpoint checkpoint = ExportCheckpoint.builder()
+                    .lastId(Long.parseLong((String) fields.get("lastId")))
+                    .rowCount(Long.parseLong((String) fields.get("rowCount")))
+                    .byteOffset(Long.parseLong((String) fields.get("byteOffset")))
+                    .spoolPath((String) fields.get("spoolPath"))
+                    .build();
+
+            Path spool = Path.of(checkpoint.getSpoolPath());
+            if (!Files.exists(spool) || Files.size(spool) < checkpoint.getByteOffset()) {
+                log.info("체크포인트 스풀 파일을 사용할 수 없어 처음부터 생성: {}", requestId);
+                return null;
+            }
+            return checkpoint;
+        } catch (Exception e) {
+            log.warn("체크포인트 조회 실패: {} - {}", requestId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 작업 완료 시 체크포인트 레코드 삭제 (스풀 파일은 워크북 dispose 로 삭제됨)
+     */
+    public void delete(String requestId) {
+        try {
+            redisTemplate.delete(CHECKPOINT_KEY_PREFIX + requestId);
+        } catch (Exception e) {
+            log.warn("체크포인트 삭제 실패: {} - {}", requestId, e.getMessage());
+        }
+    }
+
+    /**
+     * 실패/취소된 작업의 체크포인트와 스풀 파일 모두 삭제 (더 이상 재개하지 않음)
+     */
+    public void discard(String requestId) {
+        try {
+            Files.deleteIfExists(spoolFile(requestId).toPath());
+        } catch (IOException e) {
+            log.warn("스풀 파일 삭제 실패: {} - {}", requestId, e.getMessage());
+        }
+        delete(requestId);
+    }
+
+    /**
+     * 체크포인트 기록이 만료된 스풀 파일 삭제 (정리 스케줄러에서 호출)
+     * - 비정상 종료 후 회수되지 않은 작업의 스풀은 dispose / discard 로 지워지지 않음
+     * - 진행 중인 작업의 스풀은 계속 기록되므로 수정 시각 기준으로 구분
+     * @return 삭제한 파일 수
+     */
+    public int cleanupExpiredSpools() {
+        File[] spools = new File(excelBuilder.getDownloadPath(downloadDirectory, SPOOL_DIRECTORY)).listFiles(File::isFile);
+        if (spools == null) {
+            return 0;
+        }
+
+        long expiredBefore = System.currentTimeMillis() - CHECKPOINT_TTL.toMillis();
+        int deleted = 0;
+        for (File spool : spools) {
+            if (spool.lastModified() < expiredBefore && spool.delete()) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * 작업별 시트 XML 스풀 파일 경로 ({다운로드 디렉토리}/.checkpoint/{requestId}.xml)
+     * - 파일명 검증 정규식에 걸리지 않으므로 다운로드 API 로 노출되지 않음
+     */
+    public File spoolFile(String requestId) {
+        File dir = new File(excelBuilder.getDownloadPath(downloadDirectory, SPOOL_DIRECTORY));
+        if (!dir.exists() && !dir.mkdirs()) {
+            log.warn("체크포인트 디렉토리 생성 실패: {}", dir.getAbsolutePath());
+        }
+        return new File(dir, requestId + ".xml");
+    }
+}
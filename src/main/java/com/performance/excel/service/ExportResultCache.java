@@ -0,0 +1,124 @@
+package com.performance.excel.service;
+
+import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.storage.ExportLocation;
+import com.performance.excel.storage.ExportStorage;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 내보내기 결과 캐시
+ *
+ * 같은 보고서 반복 다운로드가 대부분이므로, 데이터가 바뀌지 않았으면 이미 만든 파일을 그대로 반환
+ * - 키: excel:export:cache:{타입}:{필터}:{데이터 버전} → 파일명 (모든 노드 공유, ttl 후 만료)
+ * - 적중 시 작업 슬롯 / 큐를 거치지 않고 바로 완료 처리
+ * - 파일이 보관 정책으로 삭제됐으면 미스로 처리하고 키 삭제
+ * - 적중/미스 수는 Redis 에 누적 (클러스터 전체)
+ */
+@Component
+@Slf4j
+public class ExportResultCache {
+
+    private static final String CACHE_KEY_PREFIX = "excel:export:cache:";
+    private static final String STATS_KEY = "excel:export:cache:stats";
+    private static final String HITS_FIELD = "hits";
+    private static final String MISSES_FIELD = "misses";
+
+    // 필터 조건이 없는 전체 내보내기 (필터 추가 시 정규화한 조건 문자열 사용)
+    private static final String NO_FILTER = "all";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ExportStorage exportStorage;
+    private final boolean enabled;
+    private final long ttlMs;
+
+    public ExportResultCache(RedisTemplate<String, String> redisTemplate,
+                             ExportStorage exportStorage,
+                             @Value("${excel.download.result-cache.enabled:true}") boolean enabled,
+                             @Value("${excel.download.result-cache.ttl:86400000}") long ttlMs) {
+        this.redisTemplate = redisTemplate;
+        this.exportStorage = exportStorage;
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * 캐시된 파일명 조회
+     * @param dataVersion null 이면 조회하지 않음
+     */
+    public String find(DownloadRequest.DownloadType downloadType, String dataVersion) {
+        if (!enabled || dataVersion == null) {
+            return null;
+        }
+
+        try {
+            String key = keyOf(downloadType, dataVersion);
+            String fileName = redisTemplate.opsForValue().get(key);
+            if (fileName != null && exportStorage.locate(fileName).type() == ExportLocation.Type.NOT_FOUND) {
+                redisTemplate.delete(key);
+                fileName = null;
+            }
+
+            redisTemplate.opsForHash().increment(STATS_KEY, fileName != null ? HITS_FIELD : MISSES_FIELD, 1);
+            return fileName;
+        } catch (Exception e) {
+            log.warn("결과 캐시 조회 실패: {} - {}", downloadType, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 생성 완료된 파일 캐시 (생성 시작 시점의 데이터 버전으로 기록)
+     */
+    public void put(DownloadRequest.DownloadType downloadType, String dataVersion, String fileName) {
+        if (!enabled || dataVersion == null) {
+            return;
+        }
+
+        try {
+            redisTemplate.opsForValue().set(keyOf(downloadType, dataVersion), fileName, Duration.ofMillis(ttlMs));
+        } catch (Exception e) {
+            log.warn("결과 캐시 저장 실패: {} - {}", fileName, e.getMessage());
+        }
+    }
+
+    private String keyOf(DownloadRequest.DownloadType downloadType, String dataVersion) {
+        return CACHE_KEY_PREFIX + downloadType.name() + ":" + NO_FILTER + ":" + dataVersion;
+    }
+
+    public CacheStatus getStatus() {
+        long hits = 0;
+        long misses = 0;
+        try {
+            Map<Object, Object> stats = redisTemplate.opsForHash().entries(STATS_KEY);
+            hits = Long.parseLong((String) stats.getOrDefault(HITS_FIELD, "0"));
+            misses = Long.parseLong((String) stats.getOrDefault(MISSES_FIELD, "0"));
+        } catch (Exception e) {
+            log.warn("결과 캐시 통계 조회 실패: {}", e.getMessage());
+        }
+
+        long total = hits + misses;
+        return CacheStatus.builder()
+                .enabled(enabled)
+                .hits(hits)
+                .misses(misses)
+                .hitRate(total > 0 ? (double) hits / total * 100.0 : 0.0)
+                .build();
+    }
+
+    @Builder
+    @Getter
+    public static class CacheStatus {
+        private boolean enabled;
+        private long hits;
+        private long misses;
+        private double hitRate;     // 적중률 (%)
+    }
+}
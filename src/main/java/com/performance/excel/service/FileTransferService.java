@@ -0,0 +1,453 @@
+package com.performance.excel.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Builder;
+import lombok.Getter;
+import com.performance.excel.storage.ExportLocation;
+import com.performance.excel.storage.LiveExportRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 완성된 파일 전송 (Range / 조건부 요청 / zero-copy)
+ *
+ * 이전 방식: FileSystemResource 반환 → 매번 처음부터 전체 전송, 힙 버퍼(8KB)를 거쳐 복사
+ * 현재 방식:
+ * - ETag / Last-Modified 검증 후 변경 없으면 304 (생성된 파일은 수정되지 않으므로 크기+수정시각으로 충분)
+ * - 단일 Range 요청은 206 으로 해당 구간만 전송 (끊긴 다운로드 이어받기). If-Range 가 맞지 않으면 전체 전송
+ * - Tomcat sendfile 지원 시 파일 경로/구간만 넘겨 커널에서 소켓으로 직접 전송 (힙/워커 스레드 미사용)
+ *   미지원 커넥터는 FileChannel.transferTo 로 응답 스트림에 전송
+ * - accel-redirect 사용 시 검증만 하고 X-Accel-Redirect 로 nginx 내부 location 에 전송을 넘김
+ *   (파일 바이트가 JVM / Tomcat 워커 스레드를 전혀 거치지 않음. Range/ETag 도 nginx 가 처리)
+ * - 다른 노드가 가진 파일은 peer-mode 에 따라 생성 노드에서 받아 그대로 전송(proxy)하거나 생성 노드로 리다이렉트
+ * - 생성 중인 파일은 길이를 모르므로 chunked 로 기록된 만큼 보내고 작성자가 끝날 때까지 이어서 전송 (serveLive)
+ *   다른 노드에서 생성 중인 파일도 accel-redirect 없이 전용 스레드풀에서 생성 노드 응답을 이어서 전달 (servePeerLive)
+ */
+@Service
+@Slf4j
+public class FileTransferService {
+
+    // Tomcat NIO 커넥터 sendfile 요청 속성 (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final String ACCEL_REDIRECT_HEADER = "X-Accel-Redirect";
+    private static final String ACCEL_BUFFERING_HEADER = "X-Accel-Buffering";
+
+    // 다른 노드 대신 받아온 요청 표시 (받은 노드에도 파일이 없으면 다시 넘기지 않고 404)
+    public static final String PROXIED_HEADER = "X-Export-Proxied";
+
+    // 생성 노드로 전달 / 생성 노드 응답에서 그대로 돌려줄 헤더
+    private static final List<String> PROXY_REQUEST_HEADERS = List.of(
+            HttpHeaders.RANGE, HttpHeaders.IF_RANGE, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+    private static final List<String> PROXY_RESPONSE_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_RANGE,
+            HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.ACCEPT_RANGES, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.CACHE_CONTROL, ACCEL_BUFFERING_HEADER);
+
+    public enum PeerMode {
+        PROXY,      // 생성 노드에서 받아 전송 (노드 주소가 외부에 노출되지 않음)
+        REDIRECT    // 생성 노드 주소로 307 (노드가 클라이언트에서 직접 접근 가능할 때)
+    }
+
+    private final boolean accelRedirectEnabled;
+    private final String accelRedirectLocation;
+    private final PeerMode peerMode;
+    private final HttpClient peerClient;
+    private final long livePollIntervalMs;
+    private final long liveTransferTimeoutMs;
+    private final AsyncTaskExecutor liveTransferExecutor;
+
+    // 전송 방식별 처리 수 / JVM 에서 전송 중인 요청 수 (워커 스레드 점유)
+    private final AtomicLong accelRedirectCount = new AtomicLong();
+    private final AtomicLong sendfileCount = new AtomicLong();
+    private final AtomicLong channelTransferCount = new AtomicLong();
+    private final AtomicLong peerProxyCount = new AtomicLong();
+    private final AtomicLong peerRedirectCount = new AtomicLong();
+    private final AtomicLong liveTransferCount = new AtomicLong();
+    private final AtomicInteger activeTransfers = new AtomicInteger();
+
+    public FileTransferService(@Value("${excel.download.accel-redirect.enabled:false}") boolean accelRedirectEnabled,
+                               @Value("${excel.download.accel-redirect.location:/internal/downloads/}") String accelRedirectLocation,
+                               @Value("${excel.storage.peer-mode:PROXY}") PeerMode peerMode,
+                               @Value("${excel.storage.peer-connect-timeout:3000}") long peerConnectTimeoutMs,
+                               @Value("${excel.download.live-transfer.poll-interval:200}") long livePollIntervalMs,
+                               @Value("${excel.download.live-transfer.timeout:3600000}") long liveTransferTimeoutMs,
+                               @Qualifier("liveTransferExecutor") AsyncTaskExecutor liveTransferExecutor) {
+        this.accelRedirectEnabled = accelRedirectEnabled;
+        this.accelRedirectLocation = accelRedirectLocation.endsWith("/") ? accelRedirectLocation : accelRedirectLocation + "/";
+        this.peerMode = peerMode;
+        this.peerClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(peerConnectTimeoutMs))
+                .build();
+        this.livePollIntervalMs = livePollIntervalMs;
+        this.liveTransferTimeoutMs = liveTransferTimeoutMs;
+        this.liveTransferExecutor = liveTransferExecutor;
+    }
+
+    /**
+     * 파일 전송 (호출 전에 파일명 검증과 위치 확인 완료)
+     */
+    public void serve(ExportLocation location, String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, InterruptedException {
+        if (accelRedirectEnabled) {
+            // nginx 가 파일을 가진 노드의 디렉토리에서 직접 전송 (Content-Type / Content-Disposition 은 그대로 전달됨)
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(ACCEL_REDIRECT_HEADER,
+                    accelRedirectLocation.replace("{node}", location.nodeName()) + fileName);
+            accelRedirectCount.incrementAndGet();
+            return;
+        }
+
+        if (location.type() == ExportLocation.Type.PEER) {
+            servePeer(location, fileName, request, response);
+            return;
+        }
+
+        serveLocal(location.file(), fileName, request, response);
+    }
+
+    private void serveLocal(File file, String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long length = file.length();
+        long lastModified = file.lastModified();
+        String eTag = eTagOf(length, lastModified);
+
+        // If-None-Match / If-Modified-Since → 304, If-Match / If-Unmodified-Since 불일치 → 412
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        long start = 0;
+        long end = length - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && length > 0 && isRangeApplicable(request, eTag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+
+            // 잘못된 형식 / 여러 구간 요청(multipart/byteranges)은 Range 를 무시하고 전체 전송 (RFC 9110 허용)
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if (count == 0 || "HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // 응답 커밋 후 커넥터가 파일을 직접 전송 (end 는 exclusive)
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.getCanonicalPath());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            sendfileCount.incrementAndGet();
+            return;
+        }
+
+        activeTransfers.incrementAndGet();
+        try {
+            transfer(file, start, count, response);
+            channelTransferCount.incrementAndGet();
+        } finally {
+            activeTransfers.decrementAndGet();
+        }
+    }
+
+    /**
+     * 생성 중인 파일 전송 (전용 스레드풀 liveTransferExecutor 에서 실행, MVC 전역 비동기 설정은 그대로)
+     * - 시작 즉시 헤더를 내보내 응답을 확정 (파일이 아직 없어도 프록시가 응답 대기로 끊지 않도록)
+     * - Content-Length 없이 chunked 로 전송하고, 파일이 커질 때마다 늘어난 구간만 이어서 전송
+     * - 작성자가 완료하면 남은 바이트를 보내고 종료, 중단(실패/취소)되면 예외로 연결을 끊어 잘린 파일이 정상 완료로 보이지 않게 함
+     * - 작성자는 앞쪽 바이트를 되돌아가 고치지 않는 스트림 기록만 사용 (ZIP 데이터 디스크립터 방식)
+     * - Range / 조건부 요청은 적용하지 않음 (완성 후 요청하면 일반 전송으로 처리)
+     */
+    public WebAsyncTask<Void> serveLive(LiveExportRegistry.LiveExport export, String fileName, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        // nginx 가 응답을 모아두지 않고 바로 흘려보내도록
+        response.setHeader(ACCEL_BUFFERING_HEADER, "no");
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        liveTransferCount.incrementAndGet();
+
+        return new WebAsyncTask<>(liveTransferTimeoutMs, liveTransferExecutor, () -> {
+            activeTransfers.incrementAndGet();
+            try {
+                response.flushBuffer();
+                tail(export, fileName, response.getOutputStream());
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("생성 중 전송 중단: " + fileName, e);
+            } finally {
+                activeTransfers.decrementAndGet();
+            }
+        });
+    }
+
+    private void tail(LiveExportRegistry.LiveExport export, String fileName, OutputStream out)
+            throws IOException, InterruptedException {
+        File file = export.getFile();
+        WritableByteChannel target = Channels.newChannel(out);
+        FileChannel channel = null;
+        long position = 0;
+        try {
+            while (true) {
+                // 상태를 먼저 읽어야 COMPLETED 일 때 아래에서 읽은 길이가 최종 길이
+                LiveExportRegistry.State state = export.getState();
+
+                // SXSSF 등은 저장 단계에서야 파일을 만들므로 생길 때까지 대기
+                if (channel == null && file.isFile()) {
+                    channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+                }
+                if (channel != null) {
+                    long size = channel.size();
+                    if (size > position) {
+                        position += channel.transferTo(position, size - position, target);
+                        out.flush();
+                        continue;
+                    }
+                }
+
+                if (state == LiveExportRegistry.State.COMPLETED) {
+                    if (channel == null) {
+                        throw new IOException("완료된 파일이 없음: " + fileName);
+                    }
+                    log.debug("생성 중 전송 완료: {} ({} bytes)", fileName, position);
+                    return;
+                }
+                if (state == LiveExportRegistry.State.FAILED) {
+                    throw new IOException("파일 생성이 중단되어 전송 중단: " + fileName);
+                }
+                export.await(livePollIntervalMs);
+            }
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * 다른 노드에서 생성 중인 파일 전송 (accel-redirect 설정과 무관)
+     * - accel-redirect 를 쓰면 nginx 가 그 시점까지 기록된 부분만 완성 파일처럼 보내므로 사용하지 않음
+     * - REDIRECT: 생성 노드 주소로 307 (생성 노드가 serveLive 로 전송)
+     * - PROXY: 생성 노드의 serveLive 응답을 liveTransferExecutor 에서 받은 만큼 이어서 전달
+     *   (워커 스레드를 점유하지 않고, 생성 노드 응답 대기와 전체 전송 모두 live-transfer.timeout 적용)
+     * @return 비동기 전송 작업 (REDIRECT 는 null)
+     */
+    public WebAsyncTask<Void> servePeerLive(ExportLocation location, String fileName,
+                                            HttpServletRequest request, HttpServletResponse response) {
+        String peerUrl = location.nodeUrl() + request.getRequestURI();
+
+        if (peerMode == PeerMode.REDIRECT) {
+            redirectToPeer(peerUrl, response);
+            return null;
+        }
+
+        // 생성 중 전송은 Range / 조건부 요청을 적용하지 않으므로 해당 헤더는 넘기지 않음
+        HttpRequest peerRequest = HttpRequest.newBuilder(URI.create(peerUrl))
+                .header(PROXIED_HEADER, "true")
+                .timeout(Duration.ofMillis(liveTransferTimeoutMs))
+                .method(request.getMethod(), HttpRequest.BodyPublishers.noBody())
+                .build();
+        liveTransferCount.incrementAndGet();
+
+        return new WebAsyncTask<>(liveTransferTimeoutMs, liveTransferExecutor, () -> {
+            activeTransfers.incrementAndGet();
+            try {
+                relay(peerRequest, location, fileName, response, true);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("생성 중 전송 중단: " + fileName, e);
+            } finally {
+                activeTransfers.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * 다른 노드가 가진 파일 전송
+     * - REDIRECT: 생성 노드 주소로 307
+     * - PROXY: 조건부/Range 헤더를 그대로 넘겨 받은 응답(상태/헤더/본문)을 그대로 전달
+     */
+    private void servePeer(ExportLocation location, String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException, InterruptedException {
+        String peerUrl = location.nodeUrl() + request.getRequestURI();
+
+        if (peerMode == PeerMode.REDIRECT) {
+            redirectToPeer(peerUrl, response);
+            return;
+        }
+
+        HttpRequest.Builder peerRequest = HttpRequest.newBuilder(URI.create(peerUrl))
+                .header(PROXIED_HEADER, "true")
+                .method(request.getMethod(), HttpRequest.BodyPublishers.noBody());
+        for (String header : PROXY_REQUEST_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                peerRequest.header(header, value);
+            }
+        }
+
+        activeTransfers.incrementAndGet();
+        try {
+            relay(peerRequest.build(), location, fileName, response, false);
+        } finally {
+            activeTransfers.decrementAndGet();
+        }
+    }
+
+    private void redirectToPeer(String peerUrl, HttpServletResponse response) {
+        response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+        response.setHeader(HttpHeaders.LOCATION, peerUrl);
+        peerRedirectCount.incrementAndGet();
+    }
+
+    /**
+     * 생성 노드 응답(상태/헤더/본문)을 그대로 전달
+     * @param flushEachRead 생성 중인 파일: 받은 만큼 바로 내보냄 (응답 버퍼가 찰 때까지 기다리지 않음)
+     */
+    private void relay(HttpRequest peerRequest, ExportLocation location, String fileName,
+                       HttpServletResponse response, boolean flushEachRead) throws IOException, InterruptedException {
+        HttpResponse<InputStream> peerResponse = peerClient.send(peerRequest, HttpResponse.BodyHandlers.ofInputStream());
+        response.setStatus(peerResponse.statusCode());
+        for (String header : PROXY_RESPONSE_HEADERS) {
+            peerResponse.headers().firstValue(header).ifPresent(value -> response.setHeader(header, value));
+        }
+        try (InputStream body = peerResponse.body()) {
+            OutputStream out = response.getOutputStream();
+            if (!flushEachRead) {
+                body.transferTo(out);
+            } else {
+                response.flushBuffer();
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            }
+        }
+        peerProxyCount.incrementAndGet();
+        log.debug("다른 노드 파일 전달: {} <- {}", fileName, location.nodeName());
+    }
+
+    /**
+     * sendfile 미지원 시 FileChannel.transferTo 로 전송
+     */
+    private void transfer(File file, long start, long count, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    /**
+     * If-Range 가 없거나 현재 파일과 일치할 때만 Range 적용 (파일이 바뀌었으면 전체 전송)
+     */
+    private boolean isRangeApplicable(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+        return ifRangeDate != -1 && lastModified / 1000 <= ifRangeDate / 1000;
+    }
+
+    private String eTagOf(long length, long lastModified) {
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * 전송 방식별 처리 현황 조회
+     */
+    public FileTransferStatus getStatus() {
+        return FileTransferStatus.builder()
+                .accelRedirectEnabled(accelRedirectEnabled)
+                .accelRedirectCount(accelRedirectCount.get())
+                .sendfileCount(sendfileCount.get())
+                .channelTransferCount(channelTransferCount.get())
+                .peerProxyCount(peerProxyCount.get())
+                .peerRedirectCount(peerRedirectCount.get())
+                .liveTransferCount(liveTransferCount.get())
+                .activeTransfers(activeTransfers.get())
+                .build();
+    }
+
+    @Builder
+    @Getter
+    public static class FileTransferStatus {
+        private boolean accelRedirectEnabled;
+        private long accelRedirectCount;      // nginx 로 넘긴 요청 수
+        private long sendfileCount;           // Tomcat sendfile 로 넘긴 요청 수
+        private long channelTransferCount;    // 워커 스레드에서 직접 전송한 요청 수
+        private long peerProxyCount;          // 다른 노드에서 받아 전달한 요청 수
+        private long peerRedirectCount;       // 다른 노드로 리다이렉트한 요청 수
+        private long liveTransferCount;       // 생성 중인 파일을 이어서 전송한 요청 수
+        private int activeTransfers;          // 지금 워커 스레드를 점유하고 전송 중인 요청 수
+    }
+}
@@ -0,0 +1,290 @@
+package com.performance.excel.service;
+
+import com.performance.excel.dto.DownloadRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 로컬 + Redis 하이브리드 큐
+ *
+ * - 빠른 경로: 접수 노드에 빈 슬롯이 있고 대기 작업이 없으면 Stream 을 거치지 않고 바로 시작
+ *   (Redis 에는 장애 복구용으로만 기록. 기록은 작업 스레드에서 수행하므로 요청 응답 지연에 포함되지 않음)
+ * - 넘치는 작업: 기존처럼 Redis Stream 에 추가하여 클러스터 전체에 분배
+ * - Redis 장애: 노드 로컬 대기열(용량 제한)로 계속 접수/처리하고, 완료 처리 등 Redis 기록은 복구 후 재시도
+ *   복구되면 로컬 대기열을 Stream 으로 이관하여 다른 노드와 다시 나눠 처리
+ */
+@Service
+@Slf4j
+public class HybridDownloadQueue {
+
+    private final RedisDownloadQueue redisDownloadQueue;
+
+    // Redis 장애 중 접수된 작업 (프로세스 재시작 시 유실되므로 복구 즉시 Stream 으로 이관)
+    private final BlockingQueue<DownloadRequest> localQueue;
+
+    // Redis 에 기록하지 못한 직접 시작 작업 / 완료 처리 (복구 후 재시도)
+    private final Map<String, DownloadRequest> unregisteredDirectJobs = new ConcurrentHashMap<>();
+    private final Map<String, Runnable> pendingFinalizations = new ConcurrentHashMap<>();
+
+    private volatile boolean redisAvailable = true;
+    // 마지막으로 Stream 이 비어 있음을 확인한 시각 (0 이면 대기 작업이 있을 수 있음)
+    // 빠른 경로가 대기 작업을 앞지르지 않도록 최근 확인 결과만 사용
+    private volatile long streamDrainedAt = 0;
+    // 빈 Stream 확인 결과를 믿을 수 있는 시간 (다른 노드가 그 사이 추가한 작업은 이 시간 안에서만 앞지를 수 있음)
+    private final long drainedMaxAgeMs;
+
+    public HybridDownloadQueue(RedisDownloadQueue redisDownloadQueue,
+                               @Value("${excel.download.local-queue-capacity:1000}") int localQueueCapacity,
+                               @Value("${excel.download.poll-interval:1000}") long pollIntervalMs) {
+        this.redisDownloadQueue = redisDownloadQueue;
+        this.localQueue = new LinkedBlockingQueue<>(localQueueCapacity);
+        this.drainedMaxAgeMs = pollIntervalMs * 2;
+    }
+
+    /**
+     * 빠른 경로 사용 가능 여부 (Redis 조회 없음)
+     * - 최근 폴링(poll-interval x 2 이내)에서 Stream 이 비어 있었고 로컬 대기열도 비어 있어야 함
+     *   슬롯이 차서 한동안 폴링하지 않은 노드는 그 사이 다른 노드가 추가한 작업을 모르므로 대기열로 보냄
+     * - Redis 장애 중에는 로컬 대기열만 확인
+     */
+    public boolean canStartDirectly() {
+        if (!localQueue.isEmpty()) {
+            return false;
+        }
+        if (!redisAvailable) {
+            return true;
+        }
+        long drainedAt = streamDrainedAt;
+        return drainedAt > 0 && System.currentTimeMillis() - drainedAt <= drainedMaxAgeMs;
+    }
+
+    /**
+     * 바로 시작하는 작업을 Redis 에 기록 (작업 스레드에서 호출)
+     * - 실패해도 작업은 계속 진행하고 Redis 복구 후 다시 기록
+     */
+    public void registerDirect(DownloadRequest request) {
+        if (redisAvailable) {
+            try {
+                redisDownloadQueue.registerDirect(request);
+                return;
+            } catch (Exception e) {
+                markRedisUnavailable(e);
+            }
+        }
+        unregisteredDirectJobs.put(request.getRequestId(), request);
+    }
+
+    /**
+     * 대기열에 추가 (Redis 우선, 장애 시 로컬)
+     */
+    public boolean enqueue(DownloadRequest request) {
+        if (redisAvailable) {
+            try {
+                if (redisDownloadQueue.enqueue(request)) {
+                    streamDrainedAt = 0;
+                    return true;
+                }
+                return false;
+            } catch (Exception e) {
+                markRedisUnavailable(e);
+            }
+        }
+        return enqueueLocally(request);
+    }
+
+    private boolean enqueueLocally(DownloadRequest request) {
+        boolean offered = localQueue.offer(request);
+        if (offered) {
+            log.info("Enqueued locally (Redis unavailable): {}", request.getRequestId());
+        } else {
+            log.warn("Local queue full, rejecting: {}", request.getRequestId());
+        }
+        return offered;
+    }
+
+    /**
+     * 다음 작업 꺼내기
+     * - 로컬 대기열(Redis 장애 중 접수분)을 먼저 처리. 꺼낸 작업은 직접 시작 작업으로 기록
+     * - Redis 장애 중에는 Stream 을 조회하지 않음 (매 폴링마다 연결 타임아웃을 기다리지 않도록)
+     */
+    public DownloadRequest dequeue() {
+        DownloadRequest local = localQueue.poll();
+        if (local != null) {
+            registerDirect(local);
+            return local;
+        }
+        if (!redisAvailable) {
+            return null;
+        }
+
+        try {
+            DownloadRequest request = redisDownloadQueue.dequeue();
+            streamDrainedAt = request == null ? System.currentTimeMillis() : 0;
+            return request;
+        } catch (Exception e) {
+            markRedisUnavailable(e);
+            return null;
+        }
+    }
+
+    public void markCompleted(String requestId) {
+        recordOutcome(requestId, () -> redisDownloadQueue.markCompleted(requestId));
+    }
+
+    public void markFailed(String requestId, String errorMessage) {
+        recordOutcome(requestId, () -> redisDownloadQueue.markFailed(requestId, errorMessage));
+    }
+
+    public void markCancelled(String requestId) {
+        recordOutcome(requestId, () -> redisDownloadQueue.markCancelled(requestId));
+    }
+
+    /**
+     * 완료/실패/취소 기록 (실패 시 복구 후 재시도)
+     * - 재시도 전까지 하트비트 대상에 남아 있으므로 다른 노드가 완료된 작업을 회수하지 않음
+     */
+    private void recordOutcome(String requestId, Runnable finalization) {
+        // Redis 에 기록되기 전에 끝난 작업은 기록할 필요 없음
+        if (unregisteredDirectJobs.remove(requestId) != null) {
+            return;
+        }
+        if (redisAvailable) {
+            try {
+                finalization.run();
+                return;
+            } catch (Exception e) {
+                markRedisUnavailable(e);
+            }
+        }
+        pendingFinalizations.put(requestId, finalization);
+    }
+
+    /**
+     * 대기 중인 요청 조회 (로컬 대기열 포함)
+     */
+    public DownloadRequest findRequest(String requestId) {
+        for (DownloadRequest request : localQueue) {
+            if (request.getRequestId().equals(requestId)) {
+                return request;
+            }
+        }
+        return redisAvailable ? redisDownloadQueue.findRequest(requestId) : null;
+    }
+
+    /**
+     * 대기 중인 작업 제거 (취소)
+     */
+    public DownloadRequest removeQueued(String requestId) {
+        for (DownloadRequest request : localQueue) {
+            if (request.getRequestId().equals(requestId) && localQueue.remove(request)) {
+                return request;
+            }
+        }
+        return redisAvailable ? redisDownloadQueue.removeQueued(requestId) : null;
+    }
+
+    /**
+     * Redis 상태 확인 및 복구 처리 (스케줄러에서 주기적으로 호출)
+     * 1. 장애 중이면 PING 으로 복구 확인
+     * 2. 기록하지 못한 직접 시작 작업 / 완료 처리 재시도
+     * 3. 로컬 대기열을 Stream 으로 이관
+     */
+    public void recover() {
+        if (!redisAvailable) {
+            if (!redisDownloadQueue.isAvailable()) {
+                return;
+            }
+            redisAvailable = true;
+            log.info("Redis available again, syncing local state (local queue: {}, unregistered: {}, pending finalizations: {})",
+                    localQueue.size(), unregisteredDirectJobs.size(), pendingFinalizations.size());
+        }
+
+        try {
+            // 기록 도중 작업이 끝나 완료 처리와 엇갈리지 않도록 키 단위로 원자적으로 기록 후 제거
+            for (String requestId : new ArrayList<>(unregisteredDirectJobs.keySet())) {
+                unregisteredDirectJobs.computeIfPresent(requestId, (id, request) -> {
+                    redisDownloadQueue.registerDirect(request);
+                    return null;
+                });
+            }
+
+            for (Map.Entry<String, Runnable> entry : new ArrayList<>(pendingFinalizations.entrySet())) {
+                entry.getValue().run();
+                pendingFinalizations.remove(entry.getKey());
+            }
+
+            drainLocalQueue();
+        } catch (Exception e) {
+            markRedisUnavailable(e);
+        }
+    }
+
+    private void drainLocalQueue() {
+        List<DownloadRequest> drained = new ArrayList<>();
+        localQueue.drainTo(drained);
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        int moved = 0;
+        try {
+            for (DownloadRequest request : drained) {
+                // 추가 실패(연결 외 오류) 시 중단: 실패한 요청부터 로컬 대기열에 남겨 이 노드에서 처리
+                if (!redisDownloadQueue.enqueue(request)) {
+                    log.warn("Failed to move locally queued request to Redis, keeping it local: {}", request.getRequestId());
+                    break;
+                }
+                moved++;
+            }
+            if (moved > 0) {
+                streamDrainedAt = 0;
+            }
+            log.info("Moved {} of {} locally queued requests to Redis", moved, drained.size());
+        } finally {
+            // 이관하지 못한 나머지는 순서를 유지하여 로컬 대기열로 복원
+            for (DownloadRequest request : drained.subList(moved, drained.size())) {
+                if (!localQueue.offer(request)) {
+                    log.error("Local queue full while restoring, dropping: {}", request.getRequestId());
+                }
+            }
+        }
+    }
+
+    private void markRedisUnavailable(Exception e) {
+        if (redisAvailable) {
+            log.error("Redis unavailable, switching to local queue: {}", e.getMessage());
+        }
+        redisAvailable = false;
+    }
+
+    public boolean isRedisAvailable() {
+        return redisAvailable;
+    }
+
+    /**
+     * 큐 상태 조회 (Redis 장애 중에는 로컬 상태만)
+     */
+    public RedisDownloadQueue.QueueStatus getQueueStatus() {
+        if (redisAvailable) {
+            try {
+                return redisDownloadQueue.getQueueStatus().toBuilder()
+                        .localQueueSize(localQueue.size())
+                        .build();
+            } catch (Exception e) {
+                markRedisUnavailable(e);
+            }
+        }
+        return RedisDownloadQueue.QueueStatus.builder()
+                .localQueueSize(localQueue.size())
+                .redisAvailable(false)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.performance.excel.service;
+
+import com.performance.excel.dto.IncrementalExportBase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 증분 내보내기 기준 파일 저장소 (Redis Hash)
+ * - excel:export:incremental:base 에 마지막으로 완성된 증분 내보내기 파일 정보 1건만 유지
+ * - 기준 파일이 보존 정책으로 삭제됐거나 다른 노드에만 있으면 전체 생성으로 대체 (호출자가 판단)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IncrementalExportBaseStore {
+
+    private static final String BASE_KEY = "excel:export:incremental:base";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public void save(IncrementalExportBase base) {
+        try {
+            redisTemplate.opsForHash().putAll(BASE_KEY, Map.of(
+                    "fileName", base.getFileName(),
+                    "sheetEntry", base.getSheetEntry(),
+                    "lastId", String.valueOf(base.getLastId()),
+                    "rowCount", String.valueOf(base.getRowCount()),
+                    "rawPrefixLength", String.valueOf(base.getRawPrefixLength()),
+                    "prefixLength", String.valueOf(base.getPrefixLength()),
+                    "prefixCrc", String.valueOf(base.getPrefixCrc()),
+                    "modifications", String.valueOf(base.getModifications())
+            ));
+            log.debug("증분 기준 파일 갱신: {} (lastId={}, rows={})", base.getFileName(), base.getLastId(), base.getRowCount());
+        } catch (Exception e) {
+            // 기준 갱신 실패는 작업을 실패시키지 않음 (다음 작업은 이전 기준 또는 전체 생성)
+            log.warn("증분 기준 파일 저장 실패: {} - {}", base.getFileName(), e.getMessage());
+        }
+    }
+
+    public IncrementalExportBase load() {
+        try {
+            Map<Object, Object> fields = redisTemplate.opsForHash().entries(BASE_KEY);
+            if (fields.isEmpty()) {
+                return null;
+            }
+            return IncrementalExportBase.builder()
+                    .fileName((String) fields.get("fileName"))
+                    .sheetEntry((String) fields.get("sheetEntry"))
+                    .lastId(Long.parseLong((String) fields.get("lastId")))
+                    .rowCount(Long.parseLong((String) fields.get("rowCount")))
+                    .rawPrefixLength(Long.parseLong((String) fields.get("rawPrefixLength")))
+                    .prefixLength(Long.parseLong((String) fields.get("prefixLength")))
+                    .prefixCrc(Long.parseLong((String) fields.get("prefixCrc")))
+                    .modifications(Long.parseLong((String) fields.get("modifications")))
+                    .build();
+        } catch (Exception e) {
+            log.warn("증분 기준 파일 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.performance.excel.service;
+
+import com.performance.excel.dto.DownloadProgress;
+import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.dto.QueueEta;
+import com.performance.excel.repository.TestDataRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 대기 순번 및 ETA 추정
+ * - 클러스터 동시 처리 슬롯 수만큼의 슬롯에 처리 중 작업의 남은 시간을 먼저 배치
+ * - 대기 중 작업을 Stream 순서대로 가장 먼저 비는 슬롯에 배정하여 시작/완료 시각 계산
+ * - 작업 소요 시간 = 예상 행 수 / 전략별 최근 처리 속도 (ThroughputHistory)
+ *
+ * 이전 방식: ETA 조회 / 대기 등록마다 큐 전체를 Redis 에서 읽어 다시 계산 (대기 n건이면 요청당 O(n) 조회)
+ * 현재 방식: 알림 주기마다 노드별로 한 번 계산한 스냅샷에서 조회
+ * - 이 노드에서 새로 대기 등록된 요청은 스냅샷 끝(마지막 슬롯 상태)에 이어 붙여 바로 ETA 제공
+ * - 비용 추정이 없는 요청용 전체 행 수는 일정 시간 캐시
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QueueEtaEstimator {
+
+    private static final String BROADCAST_LOCK_KEY = "excel:eta:broadcast";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisDownloadQueue redisDownloadQueue;
+    private final ThroughputHistory throughputHistory;
+    private final TestDataRepository testDataRepository;
+
+    @Value("${excel.download.eta-row-count-cache-ttl:60000}")
+    private long rowCountCacheTtlMs;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile long cachedRowCount = -1;
+    private volatile long rowCountCachedAt;
+
+    /**
+     * 단일 요청의 ETA (마지막 스냅샷 기준, 대기/처리 중이 아니면 null)
+     */
+    public QueueEta estimate(String requestId) {
+        return snapshot.etas.get(requestId);
+    }
+
+    /**
+     * 마지막 스냅샷의 모든 요청 ETA
+     */
+    public Collection<QueueEta> getSnapshot() {
+        return snapshot.etas.values();
+    }
+
+    /**
+     * 이 노드에서 방금 대기 등록한 요청의 ETA
+     * - 큐를 다시 읽지 않고 스냅샷의 마지막 대기 요청 뒤에 배정
+     * @return ETA (아직 스냅샷이 없으면 null)
+     */
+    public QueueEta estimateEnqueued(DownloadRequest request) {
+        Snapshot current = snapshot;
+        if (current == Snapshot.EMPTY) {
+            return null;    // 첫 갱신 전 (다음 알림 주기에 전송)
+        }
+        synchronized (current) {
+            QueueEta existing = current.etas.get(request.getRequestId());
+            if (existing != null) {
+                return existing;    // 등록 후 스냅샷이 이미 갱신됨
+            }
+
+            double rowsPerSecond = throughputHistory.getRowsPerSecond(request.getDownloadType());
+            long startAt = Math.max(System.currentTimeMillis(), current.slots.poll());
+            long finishAt = startAt + durationMs(request, rowsPerSecond);
+            current.slots.add(finishAt);
+
+            current.waitingCount++;
+            QueueEta eta = queued(request, current.waitingCount, current.processingCount + current.waitingCount - 1,
+                    startAt, finishAt, rowsPerSecond);
+            current.etas.put(request.getRequestId(), eta);
+            return eta;
+        }
+    }
+
+    /**
+     * 처리 중 + 대기 중인 모든 요청의 ETA 를 다시 계산하여 스냅샷 교체 (알림 주기마다 호출)
+     */
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        Map<String, QueueEta> etas = new ConcurrentHashMap<>();
+
+        // 슬롯별로 다음 작업을 시작할 수 있는 시각
+        PriorityQueue<Long> slots = new PriorityQueue<>();
+
+        // 1. 처리 중인 작업: 경과 시간을 뺀 남은 시간만큼 슬롯 점유
+        Map<String, Long> startTimes = redisDownloadQueue.getProcessingStartTimes();
+        int processingCount = 0;
+        for (Map.Entry<String, Long> entry : startTimes.entrySet()) {
+            DownloadRequest request = redisDownloadQueue.findRequest(entry.getKey());
+            if (request == null) {
+                continue;   // 방금 종료된 작업
+            }
+
+            double rowsPerSecond = throughputHistory.getRowsPerSecond(request.getDownloadType());
+            long startedAt = entry.getValue();
+            long finishAt = Math.max(now, startedAt + durationMs(request, rowsPerSecond));
+            slots.add(finishAt);
+            processingCount++;
+
+            etas.put(request.getRequestId(), QueueEta.builder()
+                    .requestId(request.getRequestId())
+                    .status(DownloadProgress.DownloadStatus.PROCESSING)
+                    .queuePosition(0)
+                    .jobsAhead(0)
+                    .estimatedStartAt(startedAt)
+                    .estimatedFinishAt(finishAt)
+                    .rowsPerSecond(rowsPerSecond)
+                    .userId(request.getUserId())
+                    .build());
+        }
+
+        while (slots.size() < redisDownloadQueue.getMaxConcurrentDownloads()) {
+            slots.add(now);
+        }
+
+        // 2. 대기 중인 작업: 가장 먼저 비는 슬롯에 순서대로 배정
+        List<DownloadRequest> waiting = redisDownloadQueue.getWaitingRequests();
+        int position = 0;
+        for (DownloadRequest request : waiting) {
+            double rowsPerSecond = throughputHistory.getRowsPerSecond(request.getDownloadType());
+            long startAt = slots.poll();
+            long finishAt = startAt + durationMs(request, rowsPerSecond);
+            slots.add(finishAt);
+
+            position++;
+            etas.put(request.getRequestId(), queued(request, position, processingCount + position - 1,
+                    startAt, finishAt, rowsPerSecond));
+        }
+
+        snapshot = new Snapshot(etas, slots, processingCount, position);
+    }
+
+    /**
+     * ETA 알림 전송 차례 획득 (클러스터에서 주기당 한 노드만 전송)
+     */
+    public boolean tryAcquireBroadcastTurn(Duration interval) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(BROADCAST_LOCK_KEY, "1", interval));
+        } catch (Exception e) {
+            log.warn("ETA 알림 잠금 획득 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static QueueEta queued(DownloadRequest request, int position, int jobsAhead,
+                                   long startAt, long finishAt, double rowsPerSecond) {
+        return QueueEta.builder()
+                .requestId(request.getRequestId())
+                .status(DownloadProgress.DownloadStatus.QUEUED)
+                .queuePosition(position)
+                .jobsAhead(jobsAhead)
+                .estimatedStartAt(startAt)
+                .estimatedFinishAt(finishAt)
+                .rowsPerSecond(rowsPerSecond)
+                .userId(request.getUserId())
+                .build();
+    }
+
+    private long durationMs(DownloadRequest request, double rowsPerSecond) {
+        long rowCount = request.getCost() != null ? request.getCost().getRowCount() : defaultRowCount();
+        return (long) (rowCount * 1000.0 / rowsPerSecond);
+    }
+
+    /**
+     * 비용 추정이 없는 요청용 전체 행 수 (COUNT 쿼리는 캐시 만료 시에만)
+     */
+    private long defaultRowCount() {
+        long now = System.currentTimeMillis();
+        if (cachedRowCount < 0 || now - rowCountCachedAt >= rowCountCacheTtlMs) {
+            cachedRowCount = testDataRepository.getTotalCount();
+            rowCountCachedAt = now;
+        }
+        return cachedRowCount;
+    }
+
+    /**
+     * 알림 주기마다 계산한 ETA 와 마지막 대기 요청 배정 후의 슬롯 상태
+     * - 이 노드에서 새로 등록된 요청은 slots 에 이어서 배정 (this 로 동기화)
+     */
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new ConcurrentHashMap<>(), null, 0, 0);
+
+        private final Map<String, QueueEta> etas;
+        private final PriorityQueue<Long> slots;
+        private final int processingCount;
+        private int waitingCount;
+
+        private Snapshot(Map<String, QueueEta> etas, PriorityQueue<Long> slots,
+                         int processingCount, int waitingCount) {
+            this.etas = etas;
+            this.slots = slots;
+            this.processingCount = processingCount;
+            this.waitingCount = waitingCount;
+        }
+    }
+}
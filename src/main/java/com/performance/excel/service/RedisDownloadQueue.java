@@ -1,20 +1,36 @@
 package com.performance.excel.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.util.DownloadRequestCodec;
+import io.lettuce.core.LettuceFutures;
+import jakarta.annotation.PostConstruct;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAutoClaimArgs;
+import io.lettuce.core.api.async.RedisStreamAsyncCommands;
+import io.lettuce.core.models.stream.ClaimedMessages;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
 import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 
 /*Producer-Consumer 패턴
@@ -28,26 +44,42 @@ import java.util.Map;
 public class RedisDownloadQueue {
 
     private final RedisTemplate<String, String> redisTemplate;
-    @Qualifier("redisObjectMapper") // Spring 4.3+ 부터 필드 레벨 @Qualifier 지원
-    private final ObjectMapper objectMapper;
+    private final DownloadRequestCodec requestCodec;
 
-    // 전용 스레드풀 corePoolSize 와 동일하게 설정
-    private static final int MAX_CONCURRENT_DOWNLOADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
     private static final String STREAM_KEY = "excel:download:queue";
     private static final String CONSUMER_GROUP = "excel-workers";
+    private static final int RECLAIM_BATCH_SIZE = 10;
     private String CONSUMER_NAME;
 
     // 통계 키
     /*
-        대기 중 (Waiting) = Stream 전체 - Pending
-        처리 중 (Processing) = Pending
+        대기 중 (Waiting) = Stream 전체 - Stream 에서 꺼낸 처리 중 (직접 시작 작업은 Stream 에 없으므로 제외)
+        처리 중 (Processing) = 처리 중 목록 (Stream 작업 + 직접 시작 작업)
         완료 (Completed) = excel:stats:success
         실패 (Failed) = excel:stats:failed
      */
     private static final String SUCCESS_COUNTER_KEY = "excel:stats:success";
     private static final String FAILED_COUNTER_KEY = "excel:stats:failed";
+    private static final String CANCELLED_COUNTER_KEY = "excel:stats:cancelled";
     private static final String PROCESSING_SET_KEY = "excel:processing";
+    private static final String PROCESSING_STARTED_KEY = "excel:processing:started";
+    private static final String NODE_CONCURRENCY_KEY = "excel:node:concurrency";
     private static final String RECORD_ID_MAP_KEY = "excel:record:map";
+    private static final String HEARTBEAT_KEY_PREFIX = "excel:heartbeat:";
+    private static final String CANCEL_KEY_PREFIX = "excel:cancel:";
+    // Stream 을 거치지 않고 접수 노드에서 바로 시작한 작업 (장애 복구용 기록)
+    private static final String DIRECT_JOBS_KEY = "excel:direct:jobs";
+    private static final String DIRECT_JOB_KEY_PREFIX = "excel:direct:";
+    private static final Duration CANCEL_FLAG_TTL = Duration.ofHours(1);
+
+    // 하트비트가 이 시간 이상 끊긴 작업은 다른 노드가 회수 (XAUTOCLAIM min-idle-time)
+    @Value("${excel.download.stale-timeout:10000}")
+    private long staleTimeoutMs;
+
+    // 이 노드가 꺼내서 처리 중인 작업 (하트비트 대상)
+    private final Set<String> localRunningRequests = ConcurrentHashMap.newKeySet();
+    // 그 중 Stream 을 거치지 않고 바로 시작한 작업
+    private final Set<String> directRequests = ConcurrentHashMap.newKeySet();
 
 
     /**
@@ -75,6 +107,12 @@ public class RedisDownloadQueue {
         }
     }
 
+    /**
+     * Consumer 이름 생성
+     * - 빈 생성 직후 설정하여, 이 빈을 주입받는 다른 빈의 @PostConstruct 에서도 사용 가능
+     *   (AppConfig 에서 설정하면 AdaptiveConcurrencyController 초기화 시점에는 아직 null)
+     */
+    @PostConstruct
     public void initConsumerName() {
         String hostname = System.getenv("HOSTNAME");
 
@@ -91,22 +129,23 @@ public class RedisDownloadQueue {
      */
     public boolean enqueue(DownloadRequest downloadRequest) {
         try {
-            // JSON으로 변환
-            String requestJson = objectMapper.writeValueAsString(downloadRequest);
-
-            // Redis Streams에 추가
-            redisTemplate.opsForStream().add(
+            // Redis Streams에 추가 (평면 필드로 저장. JSON 직렬화 없음)
+            RecordId recordId = redisTemplate.opsForStream().add(
                     StreamRecords.newRecord()
-                            .ofStrings(Map.of(
-                                    "requestId", downloadRequest.getRequestId(),
-                                    "data", requestJson // JSON 형태로 저장
-                            ))
+                            .ofStrings(requestCodec.encode(downloadRequest))
                             .withStreamKey(STREAM_KEY)  // "excel:download:queue" 키에 저장
             );
 
+            // RecordId 매핑 저장 (대기 중 취소 시 Stream 에서 바로 제거하기 위함)
+            if (recordId != null) {
+                redisTemplate.opsForHash().put(RECORD_ID_MAP_KEY, downloadRequest.getRequestId(), recordId.getValue());
+            }
+
             log.info("Enqueued to Redis: {}", downloadRequest.getRequestId());
             return true;
 
+        } catch (RedisConnectionFailureException | QueryTimeoutException e) {
+            throw e;    // Redis 장애는 호출 측(HybridDownloadQueue)에서 로컬 대기열로 전환
         } catch (Exception e) {
             log.error("Failed to enqueue: {}", downloadRequest.getRequestId(), e);
             return false;
@@ -115,20 +154,17 @@ public class RedisDownloadQueue {
 
     /**
      * 큐에서 작업 꺼내기
+     * - dispatchLock 을 잡은 채 대기하지 않도록 BLOCK 없이 읽음 (폴링 주기는 excel.download.poll-interval)
      */
     public DownloadRequest dequeue() {
         try {
-            // 1. 동시 처리 제한 확인
-            Long processingCnt = redisTemplate.opsForSet().size(PROCESSING_SET_KEY);
-            if (processingCnt != null && processingCnt >= MAX_CONCURRENT_DOWNLOADS) {
-                return null;     // 이미 3개 처리 중이면 대기
-            }
+            // 1. 동시 처리 제한은 노드별로 호출 측(AdaptiveConcurrencyController)에서 확인
 
             /* 2. Consumer Group으로 메시지 읽기
                 Stream: excel:download:queue
-                ├─ 1234567890-0: {requestId: "req-1", data: "{...JSON...}"}
-                ├─ 1234567891-0: {requestId: "req-2", data: "{...JSON...}"}
-                └─ 1234567892-0: {requestId: "req-3", data: "{...JSON...}"}
+                ├─ 1234567890-0: {id: "req-1", type: "SXSSF_CURSOR_PAGING", user: "...", file: "...", cost: "..."}
+                ├─ 1234567891-0: {id: "req-2", ...}
+                └─ 1234567892-0: {id: "req-3", ...}
                 ---
                 1234567890-0 -> Redis가 자동으로 생성한 ID
                 ├─ 1234567890: 타임스탬프 (밀리초)
@@ -136,7 +172,7 @@ public class RedisDownloadQueue {
              */
             List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
                     Consumer.from(CONSUMER_GROUP, CONSUMER_NAME),     // 서버 ID 동적 생성. Redis가 자동으로 작업 분배
-                    StreamReadOptions.empty().count(1).block(Duration.ofSeconds(1)),  // 큐가 비어있으면 1초 대기 (폴링)
+                    StreamReadOptions.empty().count(1),               // 큐가 비어있으면 바로 반환
                     StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed())
             );
 
@@ -144,14 +180,30 @@ public class RedisDownloadQueue {
                 return null;
             }
 
-            // 3. JSON을 다시 DownloadRequest 객체로 변환
+            // 3. 메시지 필드를 다시 DownloadRequest 객체로 변환
             MapRecord<String, Object, Object> record = records.get(0);
             String recordId = record.getId().getValue();    // Redis가 생성한 ID
-            String requestJson = (String) record.getValue().get("data");
-            DownloadRequest request = objectMapper.readValue(requestJson, DownloadRequest.class);
+            DownloadRequest request = requestCodec.decode(record.getValue());
+            if (request == null) {
+                // 요청 형식이 아닌 메시지는 버림
+                redisTemplate.opsForStream().acknowledge(STREAM_KEY, CONSUMER_GROUP, recordId);
+                redisTemplate.opsForStream().delete(STREAM_KEY, recordId);
+                return null;
+            }
 
-            // 4. 처리 중 목록에 추가
+            // 대기 중 취소 요청과 경합한 경우 처리하지 않고 버림 (취소 처리/알림은 취소 요청 측에서 완료)
+            if (isCancelRequested(request.getRequestId())) {
+                acknowledgeAndDelete(request.getRequestId(), recordId);
+                log.info("Discarded cancelled request: {}", request.getRequestId());
+                return null;
+            }
+
+            // 4. 하트비트 등록 후 처리 중 목록에 추가 (하트비트 없는 처리 중 항목은 고아로 간주되므로 순서 중요)
+            touchHeartbeat(request.getRequestId());
             redisTemplate.opsForSet().add(PROCESSING_SET_KEY, request.getRequestId());
+            redisTemplate.opsForHash().put(PROCESSING_STARTED_KEY, request.getRequestId(),
+                    String.valueOf(System.currentTimeMillis()));
+            localRunningRequests.add(request.getRequestId());
 
             // 5. RecordId 매핑 저장 (requestId → recordId)
             redisTemplate.opsForHash().put(
@@ -164,6 +216,8 @@ public class RedisDownloadQueue {
                     request.getRequestId(), recordId);
 
             return request;
+        } catch (RedisConnectionFailureException | QueryTimeoutException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to dequeue: {}", e.getMessage());
             return null;
@@ -171,28 +225,88 @@ public class RedisDownloadQueue {
     }
 
     /**
-     * 완료 처리
+     * Stream 을 거치지 않고 이 노드에서 바로 시작한 작업 기록 (장애 복구용)
+     * - 요청 본문은 별도 Hash 에 보관하고, 하트비트/처리 중 목록은 Stream 작업과 동일하게 관리
+     * - 이 노드가 죽어 하트비트가 끊기면 reclaimOrphanedDirectJobs 가 Stream 에 다시 넣음
      */
-    public void markCompleted(String requestId) {
-        String recordId = (String) redisTemplate.opsForHash().get(RECORD_ID_MAP_KEY, requestId);
+    public void registerDirect(DownloadRequest request) {
+        String requestId = request.getRequestId();
+        redisTemplate.opsForHash().putAll(DIRECT_JOB_KEY_PREFIX + requestId, requestCodec.encode(request));
+        touchHeartbeat(requestId);
+        redisTemplate.opsForSet().add(DIRECT_JOBS_KEY, requestId);
+        redisTemplate.opsForSet().add(PROCESSING_SET_KEY, requestId);
+        redisTemplate.opsForHash().putIfAbsent(PROCESSING_STARTED_KEY, requestId,
+                String.valueOf(System.currentTimeMillis()));
+        localRunningRequests.add(requestId);
+        directRequests.add(requestId);
+
+        log.info("Registered direct job: {}", requestId);
+    }
 
-        if (recordId != null) {
-            // ACK (Pending 에서 제거)
-            redisTemplate.opsForStream().acknowledge(
-                    STREAM_KEY,
-                    CONSUMER_GROUP,
-                    recordId
-            );
+    /**
+     * 하트비트가 끊긴 직접 시작 작업을 Stream 에 다시 추가 (죽은 노드의 작업 회수)
+     * @return 회수한 작업 수
+     */
+    public int reclaimOrphanedDirectJobs() {
+        int reclaimedCount = 0;
 
-            // 1. Stream에서 완전 삭제
-            redisTemplate.opsForStream().delete(STREAM_KEY, recordId);
-            // 2. RecordId 매핑 삭제
-            redisTemplate.opsForHash().delete(RECORD_ID_MAP_KEY, requestId);
+        try {
+            Set<String> directJobs = redisTemplate.opsForSet().members(DIRECT_JOBS_KEY);
+            if (directJobs == null) {
+                return 0;
+            }
+
+            for (String requestId : directJobs) {
+                if (Boolean.TRUE.equals(redisTemplate.hasKey(HEARTBEAT_KEY_PREFIX + requestId))) {
+                    continue;
+                }
+
+                // SREM 에 성공한 노드만 회수 (여러 노드가 동시에 회수하지 않도록)
+                Long removed = redisTemplate.opsForSet().remove(DIRECT_JOBS_KEY, requestId);
+                if (removed == null || removed == 0) {
+                    continue;
+                }
+
+                String key = DIRECT_JOB_KEY_PREFIX + requestId;
+                DownloadRequest request = requestCodec.decode(redisTemplate.opsForHash().entries(key));
+                redisTemplate.delete(key);
+                releaseProcessing(requestId);
+                if (request == null) {
+                    continue;
+                }
+
+                enqueue(request);
+                reclaimedCount++;
+                log.warn("Reclaimed orphaned direct job: {}", requestId);
+            }
+        } catch (Exception e) {
+            log.error("Failed to reclaim orphaned direct jobs", e);
         }
 
-        // 3. 처리 중 목록에서 제거
-        redisTemplate.opsForSet().remove(PROCESSING_SET_KEY, requestId);
-        // 4. 성공 카운터 증가
+        return reclaimedCount;
+    }
+
+    /**
+     * Redis 연결 확인 (장애 복구 감지용)
+     */
+    public boolean isAvailable() {
+        try {
+            String pong = redisTemplate.execute((RedisCallback<String>) connection -> connection.ping());
+            return "PONG".equalsIgnoreCase(pong);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * 완료 처리
+     */
+    public void markCompleted(String requestId) {
+        // 1. ACK 및 Stream에서 완전 삭제
+        acknowledgeAndDelete(requestId);
+        // 2. 처리 중 목록 및 하트비트 제거
+        releaseProcessing(requestId);
+        // 3. 성공 카운터 증가
         redisTemplate.opsForValue().increment(SUCCESS_COUNTER_KEY);
 
         log.info("Completed and deleted: {}", requestId);
@@ -202,40 +316,215 @@ public class RedisDownloadQueue {
      * 실패 처리
      */
     public void markFailed(String requestId, String errorMessage) {
-        String recordId = (String) redisTemplate.opsForHash().get(RECORD_ID_MAP_KEY, requestId);
+        // 1. ACK 및 Stream에서 완전 삭제
+        acknowledgeAndDelete(requestId);
+        // 2. 처리 중 목록 및 하트비트 제거
+        releaseProcessing(requestId);
+        // 3. 실패 카운터 증가
+        redisTemplate.opsForValue().increment(FAILED_COUNTER_KEY);
+        log.warn("Failed and deleted: {} - {}", requestId, errorMessage);
+    }
 
-        if (recordId != null) {
-            // ACK
-            redisTemplate.opsForStream().acknowledge(
-                    STREAM_KEY,
-                    CONSUMER_GROUP,
-                    recordId
-            );
+    /**
+     * 취소 처리 (실행 중 취소된 작업)
+     */
+    public void markCancelled(String requestId) {
+        // 1. ACK 및 Stream에서 완전 삭제
+        acknowledgeAndDelete(requestId);
+        // 2. 처리 중 목록 및 하트비트 제거 → 슬롯 즉시 반환
+        releaseProcessing(requestId);
+        // 3. 취소 카운터 증가 및 취소 플래그 삭제
+        redisTemplate.opsForValue().increment(CANCELLED_COUNTER_KEY);
+        redisTemplate.delete(CANCEL_KEY_PREFIX + requestId);
+        log.info("Cancelled and deleted: {}", requestId);
+    }
+
+    /**
+     * 취소 요청 플래그 설정 (클러스터 공유)
+     * 다른 노드에서 실행 중인 작업도 청크 경계에서 이 플래그를 확인하고 중단
+     */
+    public void requestCancel(String requestId) {
+        redisTemplate.opsForValue().set(CANCEL_KEY_PREFIX + requestId, "1", CANCEL_FLAG_TTL);
+    }
+
+    public boolean isCancelRequested(String requestId) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(CANCEL_KEY_PREFIX + requestId));
+        } catch (Exception e) {
+            // Redis 장애 중에도 실행 중인 작업은 계속 진행 (같은 노드 취소는 토큰으로 반영됨)
+            log.debug("Cancel flag check failed: {} - {}", requestId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 요청 ID로 진행 중인 요청 조회 (대기 중 또는 처리 중)
+     * - Stream 에 남아있는 요청 → 없으면 Stream 을 거치지 않고 바로 시작한 작업 (registerDirect)
+     * @return 요청 (이미 종료되었거나 존재하지 않으면 null)
+     */
+    public DownloadRequest findRequest(String requestId) {
+        try {
+            String recordId = (String) redisTemplate.opsForHash().get(RECORD_ID_MAP_KEY, requestId);
+            if (recordId != null) {
+                List<MapRecord<String, Object, Object>> records =
+                        redisTemplate.opsForStream().range(STREAM_KEY, Range.closed(recordId, recordId));
+                if (records != null && !records.isEmpty()) {
+                    return requestCodec.decode(records.get(0).getValue());
+                }
+            }
+
+            Map<Object, Object> directJob = redisTemplate.opsForHash().entries(DIRECT_JOB_KEY_PREFIX + requestId);
+            return directJob.isEmpty() ? null : requestCodec.decode(directJob);
+        } catch (Exception e) {
+            log.error("Failed to find request: {}", requestId, e);
+            return null;
+        }
+    }
+
+    /**
+     * 대기 중인 요청 목록 (Stream 순서 = 처리 순서)
+     * - 처리 중 목록에 있는 항목은 제외
+     */
+    public List<DownloadRequest> getWaitingRequests() {
+        List<DownloadRequest> waiting = new ArrayList<>();
+        try {
+            Set<String> processing = redisTemplate.opsForSet().members(PROCESSING_SET_KEY);
+            List<MapRecord<String, Object, Object>> records =
+                    redisTemplate.opsForStream().range(STREAM_KEY, Range.unbounded());
+            if (records == null) {
+                return waiting;
+            }
+
+            for (MapRecord<String, Object, Object> record : records) {
+                DownloadRequest request = requestCodec.decode(record.getValue());
+                if (request == null) {
+                    continue;
+                }
+                if (processing == null || !processing.contains(request.getRequestId())) {
+                    waiting.add(request);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to read waiting requests", e);
+        }
+        return waiting;
+    }
+
+    /**
+     * 처리 중인 작업의 시작 시각 (requestId → epoch ms)
+     */
+    public Map<String, Long> getProcessingStartTimes() {
+        Map<String, Long> startTimes = new LinkedHashMap<>();
+        try {
+            Set<String> processing = redisTemplate.opsForSet().members(PROCESSING_SET_KEY);
+            if (processing == null) {
+                return startTimes;
+            }
+
+            Map<Object, Object> started = redisTemplate.opsForHash().entries(PROCESSING_STARTED_KEY);
+            long now = System.currentTimeMillis();
+            for (String requestId : processing) {
+                Object startedAt = started.get(requestId);
+                startTimes.put(requestId, startedAt != null ? Long.parseLong((String) startedAt) : now);
+            }
+        } catch (Exception e) {
+            log.error("Failed to read processing start times", e);
+        }
+        return startTimes;
+    }
+
+    /**
+     * 이 노드의 현재 동시 처리 슬롯 수 공유 (ETA 계산 및 큐 상태 표시용)
+     */
+    public void publishNodeConcurrency(int limit) {
+        try {
+            redisTemplate.opsForHash().put(NODE_CONCURRENCY_KEY, CONSUMER_NAME,
+                    limit + ":" + System.currentTimeMillis());
+        } catch (Exception e) {
+            log.warn("Failed to publish node concurrency: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 클러스터 전체 동시 처리 슬롯 수 (stale-timeout 이내에 갱신된 노드만 합산)
+     */
+    public int getMaxConcurrentDownloads() {
+        int total = 0;
+        try {
+            long now = System.currentTimeMillis();
+            for (Map.Entry<Object, Object> entry : redisTemplate.opsForHash().entries(NODE_CONCURRENCY_KEY).entrySet()) {
+                String[] parts = ((String) entry.getValue()).split(":");
+                if (now - Long.parseLong(parts[1]) <= staleTimeoutMs) {
+                    total += Integer.parseInt(parts[0]);
+                } else {
+                    redisTemplate.opsForHash().delete(NODE_CONCURRENCY_KEY, entry.getKey());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read node concurrency: {}", e.getMessage());
+        }
+        return Math.max(1, total);
+    }
+
+    /**
+     * 대기 중인 작업을 Stream 에서 제거
+     * @return 제거된 요청 (이미 처리 중이거나 존재하지 않으면 null)
+     */
+    public DownloadRequest removeQueued(String requestId) {
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(PROCESSING_SET_KEY, requestId))) {
+                return null;
+            }
+
+            String recordId = (String) redisTemplate.opsForHash().get(RECORD_ID_MAP_KEY, requestId);
+            DownloadRequest request = findRequest(requestId);
+            if (recordId == null || request == null) {
+                return null;
+            }
+
+            Long deleted = redisTemplate.opsForStream().delete(STREAM_KEY, recordId);
+            if (deleted == null || deleted == 0) {
+                return null;
+            }
 
-            // 1. Stream에서 완전 삭제
-            redisTemplate.opsForStream().delete(STREAM_KEY, recordId);
-            // 2. RecordId 매핑 삭제
             redisTemplate.opsForHash().delete(RECORD_ID_MAP_KEY, requestId);
+            redisTemplate.opsForValue().increment(CANCELLED_COUNTER_KEY);
+
+            log.info("Removed queued request: {} (RecordId: {})", requestId, recordId);
+            return request;
+        } catch (Exception e) {
+            log.error("Failed to remove queued request: {}", requestId, e);
+            return null;
         }
+    }
 
-        // 3. 처리 중 목록에서 제거
-        redisTemplate.opsForSet().remove(PROCESSING_SET_KEY, requestId);
-        // 4. 실패 카운터 증가
-        redisTemplate.opsForValue().increment(FAILED_COUNTER_KEY);
-        log.warn("Failed and deleted: {} - {}", requestId, errorMessage);
+    /**
+     * ACK (Pending 에서 제거) + Stream 에서 삭제 + RecordId 매핑 삭제
+     */
+    private void acknowledgeAndDelete(String requestId) {
+        String recordId = (String) redisTemplate.opsForHash().get(RECORD_ID_MAP_KEY, requestId);
+        if (recordId != null) {
+            acknowledgeAndDelete(requestId, recordId);
+        }
+    }
+
+    private void acknowledgeAndDelete(String requestId, String recordId) {
+        redisTemplate.opsForStream().acknowledge(STREAM_KEY, CONSUMER_GROUP, recordId);
+        redisTemplate.opsForStream().delete(STREAM_KEY, recordId);
+        redisTemplate.opsForHash().delete(RECORD_ID_MAP_KEY, requestId);
     }
 
     /**
      * 서버 재시작 시 Pending 메시지 복구
-     * Consumer Group에 남아있는 미완료 작업을 다시 큐에 추가
+     * 재시작한 이 Consumer에 남아있는 미완료 작업을 다시 큐에 추가
+     * (다른 노드의 작업은 살아있을 수 있으므로 건드리지 않음. 죽은 노드의 작업은 reclaimStaleMessages 가 회수)
      */
     public void recoverPendingMessages() {
         try {
             // 1. 현재 Consumer의 Pending 메시지 조회
             PendingMessages pending = redisTemplate.opsForStream().pending(
                     STREAM_KEY,
-                    CONSUMER_GROUP, // Redis가 알아서 다시 분배하도록 Group만 지정
-//                    Consumer.from(CONSUMER_GROUP, CONSUMER_NAME),
+                    Consumer.from(CONSUMER_GROUP, CONSUMER_NAME),
                     Range.unbounded(),
                     Long.MAX_VALUE
             );
@@ -258,39 +547,241 @@ public class RedisDownloadQueue {
                                 Range.closed(recordId, recordId)
                         );
 
-                if (!records.isEmpty()) {
-                    MapRecord<String, Object, Object> record = records.get(0);
-                    String requestJson = (String) record.getValue().get("data");
-                    DownloadRequest request = objectMapper.readValue(
-                            requestJson, DownloadRequest.class);
+                DownloadRequest request = records.isEmpty() ? null : requestCodec.decode(records.get(0).getValue());
+                if (request != null) {
+
+                    // 4. 다시 큐에 추가
+                    requeue(recordId, request);
 
-                    // 4. 처리 중 목록에서 제거
-                    redisTemplate.opsForSet().remove(
-                            PROCESSING_SET_KEY, request.getRequestId());
+                    log.info("Recovered pending message: {}", request.getRequestId());
+                }
+            }
 
-                    // 5. RecordId 매핑 삭제
-                    redisTemplate.opsForHash().delete(
-                            RECORD_ID_MAP_KEY, request.getRequestId());
+            log.info("Pending message recovery completed");
 
-                    // 6. 원본 ACK (Pending에서 제거)
-                    redisTemplate.opsForStream().acknowledge(
-                            STREAM_KEY, CONSUMER_GROUP, recordId);
+        } catch (Exception e) {
+            log.error("Failed to recover pending messages", e);
+        }
+    }
 
-                    // 7. 원본 삭제
-                    redisTemplate.opsForStream().delete(STREAM_KEY, recordId);
+    /**
+     * 처리 중인 작업 하트비트
+     * - 하트비트 키 TTL 갱신 (처리 중 목록의 고아 판별용)
+     * - 자기 자신에게 XCLAIM 하여 PEL idle 시간 초기화 (살아있는 작업이 XAUTOCLAIM 대상이 되지 않도록)
+     */
+    public void heartbeat() {
+        if (localRunningRequests.isEmpty()) {
+            return;
+        }
 
-                    // 8. 다시 큐에 추가
-                    enqueue(request);
+        try {
+            List<String> recordIds = new ArrayList<>();
+            for (String requestId : localRunningRequests) {
+                touchHeartbeat(requestId);
 
-                    log.info("Recovered pending message: {}", request.getRequestId());
+                String recordId = (String) redisTemplate.opsForHash().get(RECORD_ID_MAP_KEY, requestId);
+                if (recordId != null) {
+                    recordIds.add(recordId);
                 }
             }
 
-            log.info("Pending message recovery completed");
+            if (!recordIds.isEmpty()) {
+                // JUSTID: 메시지 본문 전송 및 delivery count 증가 없이 idle 시간만 초기화
+                redisTemplate.execute((RedisCallback<List<RecordId>>) connection ->
+                        connection.streamCommands().xClaimJustId(
+                                STREAM_KEY.getBytes(StandardCharsets.UTF_8),
+                                CONSUMER_GROUP,
+                                CONSUMER_NAME,
+                                XClaimOptions.minIdle(Duration.ZERO).ids(recordIds.toArray(String[]::new))));
+            }
 
+            log.debug("Heartbeat sent: {} running jobs", localRunningRequests.size());
         } catch (Exception e) {
-            log.error("Failed to recover pending messages", e);
+            log.warn("Failed to send heartbeat: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 하트비트가 끊긴 작업 회수 (XAUTOCLAIM)
+     * 다른 노드가 처리 중 죽어서 PEL에 남은 작업을 이 노드로 가져와 다시 큐에 추가
+     * @return 회수한 작업 수
+     */
+    public int reclaimStaleMessages() {
+        int reclaimedCount = 0;
+
+        try {
+            String cursor = "0-0";
+            do {
+                ClaimedMessages<byte[], byte[]> claimed = autoClaim(cursor);
+                if (claimed == null) {
+                    break;
+                }
+
+                for (StreamMessage<byte[], byte[]> message : claimed.getMessages()) {
+                    if (message.getBody() == null || message.getBody().isEmpty()) {
+                        continue;   // 이미 삭제된 메시지 (Redis가 PEL에서 정리)
+                    }
+
+                    DownloadRequest request = requestCodec.decode(message.getBody());
+                    if (request == null) {
+                        continue;
+                    }
+
+                    // 하트비트가 살아있으면 소유 노드가 다음 하트비트에서 다시 가져감
+                    if (Boolean.TRUE.equals(redisTemplate.hasKey(HEARTBEAT_KEY_PREFIX + request.getRequestId()))) {
+                        log.debug("Skip reclaim, heartbeat alive: {}", request.getRequestId());
+                        continue;
+                    }
+
+                    requeue(message.getId(), request);
+                    reclaimedCount++;
+                    log.warn("Reclaimed stale job: {} (RecordId: {})", request.getRequestId(), message.getId());
+                }
+
+                cursor = claimed.getId();
+            } while (!"0-0".equals(cursor));
+
+        } catch (Exception e) {
+            log.error("Failed to reclaim stale messages", e);
         }
+
+        return reclaimedCount;
+    }
+
+    /**
+     * 하트비트 없는 처리 중 목록 항목 정리
+     * 죽은 노드가 남긴 항목이 클러스터 동시 처리 슬롯을 계속 차지하는 것을 방지
+     * @return 정리한 항목 수
+     */
+    public int sweepOrphanedProcessing() {
+        int sweptCount = 0;
+
+        try {
+            Set<String> processing = redisTemplate.opsForSet().members(PROCESSING_SET_KEY);
+            if (processing == null) {
+                return 0;
+            }
+
+            for (String requestId : processing) {
+                if (Boolean.TRUE.equals(redisTemplate.hasKey(HEARTBEAT_KEY_PREFIX + requestId))) {
+                    continue;
+                }
+
+                redisTemplate.opsForSet().remove(PROCESSING_SET_KEY, requestId);
+                redisTemplate.opsForHash().delete(PROCESSING_STARTED_KEY, requestId);
+                sweptCount++;
+                log.warn("Swept orphaned processing entry: {}", requestId);
+            }
+        } catch (Exception e) {
+            log.error("Failed to sweep orphaned processing entries", e);
+        }
+
+        return sweptCount;
+    }
+
+    /**
+     * ACK 된 항목 정리 (XTRIM MINID ~)
+     * - 완료 시 XDEL 하지만, XDEL 은 macro node 가 모두 비어야 메모리가 반환되고
+     *   ACK 후 XDEL 이 실패한 항목은 계속 남으므로 주기적으로 잘라냄
+     * - 기준 ID = min(PEL 의 가장 오래된 ID, 아직 전달되지 않은 첫 ID). 이보다 앞선 항목은 모두 ACK 완료
+     * - MAXLEN 은 대기 중인 작업까지 잘라낼 수 있으므로 사용하지 않음
+     * @return 잘라낸 항목 수
+     */
+    public long trimAcknowledged() {
+        try {
+            String lastDeliveredId = null;
+            for (StreamInfo.XInfoGroup group : redisTemplate.opsForStream().groups(STREAM_KEY)) {
+                if (CONSUMER_GROUP.equals(group.groupName())) {
+                    lastDeliveredId = group.lastDeliveredId();
+                }
+            }
+            if (lastDeliveredId == null) {
+                return 0;
+            }
+
+            // 아직 전달되지 않은 첫 항목은 last-delivered-id 바로 다음 ID 이상
+            String[] parts = lastDeliveredId.split("-");
+            String minId = parts[0] + "-" + (Long.parseLong(parts[1]) + 1);
+
+            PendingMessagesSummary pending = redisTemplate.opsForStream().pending(STREAM_KEY, CONSUMER_GROUP);
+            if (pending != null && pending.getTotalPendingMessages() > 0
+                    && isBefore(pending.minRecordId(), RecordId.of(minId))) {
+                minId = pending.minMessageId();
+            }
+
+            String trimMinId = minId;
+            Long trimmed = redisTemplate.execute((RedisCallback<Long>) connection ->
+                    (Long) connection.execute("XTRIM",
+                            STREAM_KEY.getBytes(StandardCharsets.UTF_8),
+                            "MINID".getBytes(StandardCharsets.UTF_8),
+                            "~".getBytes(StandardCharsets.UTF_8),
+                            trimMinId.getBytes(StandardCharsets.UTF_8)));
+
+            if (trimmed != null && trimmed > 0) {
+                log.info("Trimmed {} acknowledged stream entries (MINID {})", trimmed, trimMinId);
+            }
+            return trimmed != null ? trimmed : 0;
+        } catch (Exception e) {
+            log.error("Failed to trim acknowledged stream entries", e);
+            return 0;
+        }
+    }
+
+    private boolean isBefore(RecordId a, RecordId b) {
+        return a.getTimestamp() < b.getTimestamp()
+                || (a.getTimestamp().equals(b.getTimestamp()) && a.getSequence() < b.getSequence());
+    }
+
+    /**
+     * XAUTOCLAIM 실행 (Spring Data Redis 미지원 명령어로 Lettuce 네이티브 커넥션 사용)
+     */
+    @SuppressWarnings("unchecked")
+    private ClaimedMessages<byte[], byte[]> autoClaim(String cursor) {
+        return redisTemplate.execute((RedisCallback<ClaimedMessages<byte[], byte[]>>) connection -> {
+            RedisStreamAsyncCommands<byte[], byte[]> commands =
+                    (RedisStreamAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+
+            XAutoClaimArgs<byte[]> args = new XAutoClaimArgs<byte[]>()
+                    .consumer(io.lettuce.core.Consumer.from(
+                            CONSUMER_GROUP.getBytes(StandardCharsets.UTF_8),
+                            CONSUMER_NAME.getBytes(StandardCharsets.UTF_8)))
+                    .minIdleTime(Duration.ofMillis(staleTimeoutMs))
+                    .startId(cursor)
+                    .count(RECLAIM_BATCH_SIZE);
+
+            return LettuceFutures.awaitOrCancel(
+                    commands.xautoclaim(STREAM_KEY.getBytes(StandardCharsets.UTF_8), args),
+                    5, TimeUnit.SECONDS);
+        });
+    }
+
+    /**
+     * 처리 중 상태를 정리하고 원본 메시지를 다시 큐 끝에 추가
+     */
+    private void requeue(String recordId, DownloadRequest request) {
+        // 1. 처리 중 목록 및 하트비트 제거
+        releaseProcessing(request.getRequestId());
+        // 2. 원본 ACK (Pending에서 제거) + 삭제 + RecordId 매핑 삭제
+        acknowledgeAndDelete(request.getRequestId(), recordId);
+        // 3. 다시 큐에 추가
+        enqueue(request);
+    }
+
+    private void touchHeartbeat(String requestId) {
+        redisTemplate.opsForValue().set(
+                HEARTBEAT_KEY_PREFIX + requestId, CONSUMER_NAME, Duration.ofMillis(staleTimeoutMs));
+    }
+
+    private void releaseProcessing(String requestId) {
+        if (directRequests.contains(requestId)) {
+            redisTemplate.opsForSet().remove(DIRECT_JOBS_KEY, requestId);
+            redisTemplate.delete(DIRECT_JOB_KEY_PREFIX + requestId);
+        }
+        redisTemplate.opsForSet().remove(PROCESSING_SET_KEY, requestId);
+        redisTemplate.opsForHash().delete(PROCESSING_STARTED_KEY, requestId);
+        redisTemplate.delete(HEARTBEAT_KEY_PREFIX + requestId);
+        localRunningRequests.remove(requestId);
+        directRequests.remove(requestId);
     }
 
     /**
@@ -306,6 +797,11 @@ public class RedisDownloadQueue {
         return count != null ? Integer.parseInt(count) : 0;
     }
 
+    public int getCancelledTaskCount() {
+        String count = redisTemplate.opsForValue().get(CANCELLED_COUNTER_KEY);
+        return count != null ? Integer.parseInt(count) : 0;
+    }
+
     public int getTotalCompletedTaskCount() {
         return getSuccessTaskCount() + getFailedTaskCount();
     }
@@ -318,6 +814,7 @@ public class RedisDownloadQueue {
     public void resetCounters() {
         redisTemplate.delete(SUCCESS_COUNTER_KEY);
         redisTemplate.delete(FAILED_COUNTER_KEY);
+        redisTemplate.delete(CANCELLED_COUNTER_KEY);
         log.info("Redis counters reset");
     }
 
@@ -328,23 +825,27 @@ public class RedisDownloadQueue {
     public QueueStatus getQueueStatus() {
         Long totalQueueSize = redisTemplate.opsForStream().size(STREAM_KEY);
         Long processingCount = redisTemplate.opsForSet().size(PROCESSING_SET_KEY);
+        // 처리 중 목록에 있지만 Stream 에는 없는 직접 시작 작업
+        Set<String> directProcessing = redisTemplate.opsForSet().intersect(PROCESSING_SET_KEY, DIRECT_JOBS_KEY);
 
-        // 대기 중 = 전체 - 처리 중
-        long waitingCount = (totalQueueSize != null ? totalQueueSize : 0)
-                - (processingCount != null ? processingCount : 0);
+        // 대기 중 = 전체 - Stream 에서 꺼낸 처리 중
+        long streamProcessingCount = (processingCount != null ? processingCount : 0)
+                - (directProcessing != null ? directProcessing.size() : 0);
+        long waitingCount = (totalQueueSize != null ? totalQueueSize : 0) - streamProcessingCount;
 
         return QueueStatus.builder()
                 .queueSize((int) Math.max(0, waitingCount))
                 .processingCount(processingCount != null ? processingCount.intValue() : 0)
-                .maxConcurrentDownloads(MAX_CONCURRENT_DOWNLOADS)
+                .maxConcurrentDownloads(getMaxConcurrentDownloads())
                 .successCount(getSuccessTaskCount())
                 .failedCount(getFailedTaskCount())
+                .cancelledCount(getCancelledTaskCount())
                 .totalCompletedCount(getTotalCompletedTaskCount())
                 .successRate(getSuccessRate())
                 .build();
     }
 
-    @Builder
+    @Builder(toBuilder = true)
     @Getter
     public static class QueueStatus {
         private int queueSize;
@@ -352,7 +853,11 @@ public class RedisDownloadQueue {
         private int maxConcurrentDownloads;
         private int successCount;
         private int failedCount;
+        private int cancelledCount;
         private int totalCompletedCount;
         private double successRate;
+        private int localQueueSize;         // Redis 장애 중 노드 로컬 대기열에 보관된 작업 수
+        @Builder.Default
+        private boolean redisAvailable = true;
     }
 }
@@ -18,6 +18,7 @@ import java.util.Random;
 public class TestDataService {
     
     private final TestDataRepository testDataRepository;
+    private final DataVersionTracker dataVersionTracker;
     private final Random random = new Random();
     
     // 테스트 데이터 생성용 샘플 데이터
@@ -44,6 +45,9 @@ public class TestDataService {
         long startTime = System.currentTimeMillis();
         int batchSize = 1000; // 배치 크기
         long totalGenerated = 0;
+
+        // 결과 캐시 무효화 (커밋 후 데이터 버전 증가)
+        dataVersionTracker.markModified();
         
         try {
             for (int i = 0; i < count; i += batchSize) {
@@ -153,6 +157,7 @@ public class TestDataService {
         
         long totalCount = testDataRepository.getTotalCount();
         testDataRepository.deleteAll();
+        dataVersionTracker.markModified();
         
         log.info("Cleared {} test data records", totalCount);
         return totalCount;
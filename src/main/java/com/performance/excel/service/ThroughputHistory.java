@@ -0,0 +1,74 @@
+package com.performance.excel.service;
+
+import com.performance.excel.dto.DownloadRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 전략별 처리 속도(rows/sec) 이력
+ * - 완료된 작업마다 excel:throughput:{type} 리스트에 기록 (최근 HISTORY_SIZE 건 유지)
+ * - 클러스터 전체가 공유하므로 어느 노드에서 조회해도 같은 ETA 계산
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ThroughputHistory {
+
+    private static final String THROUGHPUT_KEY_PREFIX = "excel:throughput:";
+    private static final int HISTORY_SIZE = 20;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 완료된 작업의 처리 속도 기록
+     */
+    public void record(DownloadRequest.DownloadType type, long rowCount, long elapsedMs) {
+        if (rowCount <= 0 || elapsedMs <= 0) {
+            return;
+        }
+
+        String key = THROUGHPUT_KEY_PREFIX + type.name();
+        double rowsPerSecond = rowCount * 1000.0 / elapsedMs;
+        try {
+            redisTemplate.opsForList().leftPush(key, String.valueOf(rowsPerSecond));
+            redisTemplate.opsForList().trim(key, 0, HISTORY_SIZE - 1);
+        } catch (Exception e) {
+            log.warn("처리 속도 기록 실패: {} - {}", type, e.getMessage());
+        }
+    }
+
+    /**
+     * 최근 이력 평균 처리 속도 (이력이 없으면 성능 테스트 실측치 사용)
+     */
+    public double getRowsPerSecond(DownloadRequest.DownloadType type) {
+        try {
+            List<String> samples = redisTemplate.opsForList().range(THROUGHPUT_KEY_PREFIX + type.name(), 0, -1);
+            if (samples != null && !samples.isEmpty()) {
+                return samples.stream().mapToDouble(Double::parseDouble).average().orElse(defaultRowsPerSecond(type));
+            }
+        } catch (Exception e) {
+            log.warn("처리 속도 조회 실패: {} - {}", type, e.getMessage());
+        }
+        return defaultRowsPerSecond(type);
+    }
+
+    /**
+     * 이력이 없을 때 사용하는 기본값 (docs/performance-test-results.md 50만 행 기준)
+     */
+    private double defaultRowsPerSecond(DownloadRequest.DownloadType type) {
+        return switch (type) {
+            case XSSF_FULL_LOAD -> 5_200;
+            case SXSSF_OFFSET_PAGING -> 1_350;      // 500,000건 / 6.2분
+            case SXSSF_CURSOR_PAGING -> 5_150;      // 500,000건 / 97초
+            case SXSSF_INCREMENTAL -> 5_150;        // 전체 생성 시 CURSOR 와 동일 (이력이 쌓이면 실측치 사용)
+            case EASYEXCEL -> 5_100;                // 500,000건 / 98초
+            case FASTEXCEL -> 4_900;                // 500,000건 / 102초
+            case CSV -> 15_000;                     // 추정치 (조회가 병목, 이력이 쌓이면 실측치 사용)
+            case PARQUET -> 15_000;                 // 추정치 (조회가 병목, 이력이 쌓이면 실측치 사용)
+        };
+    }
+}
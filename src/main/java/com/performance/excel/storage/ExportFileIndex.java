@@ -0,0 +1,169 @@
+package com.performance.excel.storage;
+
+import com.performance.excel.util.TestDataExcelBuilder;
+import jakarta.annotation.PostConstruct;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 완성 파일 인덱스 (보관 기간 / 용량 상한 관리)
+ *
+ * 이전 방식: 다운로드 디렉토리의 파일은 삭제되지 않아 디스크 사용량이 계속 증가
+ * 현재 방식: 이 노드가 생성한 파일을 크기 / 생성 시각 / 마지막 접근 시각과 함께 메모리 인덱스로 관리
+ * - 접근 순서 LinkedHashMap → 등록 / 접근 / 삭제 모두 O(1), 가장 오래 사용되지 않은 파일이 맨 앞
+ * - 등록 시 max-size 를 넘으면 LRU 순으로 삭제 대상 반환
+ * - ttl 이 지난 파일은 정리 스케줄러가 삭제 (디렉토리 스캔 없이 인덱스만 순회)
+ * - 재시작 시 한 번만 디렉토리를 읽어 인덱스 복원
+ * 실제 파일 삭제는 ExportStorage 가 수행 (위치 기록도 함께 삭제)
+ */
+@Component
+@Slf4j
+public class ExportFileIndex {
+
+    private final TestDataExcelBuilder excelBuilder;
+    private final String downloadDirectory;
+    private final long ttlMs;
+    private final long maxSizeBytes;
+
+    // 파일명 -> 항목 (접근 순서)
+    private final LinkedHashMap<String, ExportEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+
+    private static final class ExportEntry {
+        private final long size;
+        private final long createdAt;
+        private long lastAccessedAt;
+
+        private ExportEntry(long size, long createdAt) {
+            this.size = size;
+            this.createdAt = createdAt;
+            this.lastAccessedAt = createdAt;
+        }
+    }
+
+    public ExportFileIndex(TestDataExcelBuilder excelBuilder,
+                           @Value("${excel.download.directory:downloads/}") String downloadDirectory,
+                           @Value("${excel.storage.retention.ttl:86400000}") long ttlMs,
+                           @Value("${excel.storage.retention.max-size:10GB}") DataSize maxSize) {
+        this.excelBuilder = excelBuilder;
+        this.downloadDirectory = downloadDirectory;
+        this.ttlMs = ttlMs;
+        this.maxSizeBytes = maxSize.toBytes();
+    }
+
+    /**
+     * 재시작 전에 생성된 파일 복원 (수정 시각 순으로 넣어 LRU 순서 유지, 하위 디렉토리 제외)
+     */
+    @PostConstruct
+    public void rebuild() {
+        File[] files = new File(excelBuilder.getDownloadPath(downloadDirectory, "")).listFiles(File::isFile);
+        if (files == null) {
+            return;
+        }
+
+        List<File> sorted = new ArrayList<>(List.of(files));
+        sorted.sort((a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        synchronized (this) {
+            for (File file : sorted) {
+                put(file.getName(), new ExportEntry(file.length(), file.lastModified()));
+            }
+        }
+        log.info("Export index rebuilt: {} files, {} bytes", sorted.size(), totalBytes);
+    }
+
+    /**
+     * 완성 파일 등록
+     * @return 용량 상한을 넘어 삭제해야 할 파일 (가장 오래 사용되지 않은 순, 방금 등록한 파일 제외)
+     */
+    public synchronized List<String> add(String fileName, long size) {
+        put(fileName, new ExportEntry(size, System.currentTimeMillis()));
+
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, ExportEntry>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxSizeBytes && iterator.hasNext()) {
+            Map.Entry<String, ExportEntry> eldest = iterator.next();
+            if (eldest.getKey().equals(fileName)) {
+                break;
+            }
+            iterator.remove();
+            totalBytes -= eldest.getValue().size;
+            evicted.add(eldest.getKey());
+        }
+        return evicted;
+    }
+
+    /**
+     * 파일 접근 기록 (LRU 순서 갱신)
+     */
+    public synchronized void touch(String fileName) {
+        ExportEntry entry = entries.get(fileName);
+        if (entry != null) {
+            entry.lastAccessedAt = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized void remove(String fileName) {
+        ExportEntry removed = entries.remove(fileName);
+        if (removed != null) {
+            totalBytes -= removed.size;
+        }
+    }
+
+    /**
+     * 보관 기간(생성 후 ttl)이 지난 파일 (인덱스에서도 제거)
+     */
+    public synchronized List<String> removeExpired() {
+        long expiredBefore = System.currentTimeMillis() - ttlMs;
+        List<String> expired = new ArrayList<>();
+        Iterator<Map.Entry<String, ExportEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, ExportEntry> entry = iterator.next();
+            if (entry.getValue().createdAt < expiredBefore) {
+                iterator.remove();
+                totalBytes -= entry.getValue().size;
+                expired.add(entry.getKey());
+            }
+        }
+        return expired;
+    }
+
+    private void put(String fileName, ExportEntry entry) {
+        ExportEntry previous = entries.put(fileName, entry);
+        if (previous != null) {
+            totalBytes -= previous.size;
+        }
+        totalBytes += entry.size;
+    }
+
+    public synchronized IndexStatus getStatus() {
+        Map.Entry<String, ExportEntry> eldest = entries.isEmpty() ? null : entries.entrySet().iterator().next();
+        return IndexStatus.builder()
+                .fileCount(entries.size())
+                .totalBytes(totalBytes)
+                .maxSizeBytes(maxSizeBytes)
+                .ttlMs(ttlMs)
+                .leastRecentlyUsedAt(eldest != null ? eldest.getValue().lastAccessedAt : null)
+                .build();
+    }
+
+    @Builder
+    @Getter
+    public static class IndexStatus {
+        private int fileCount;
+        private long totalBytes;
+        private long maxSizeBytes;
+        private long ttlMs;
+        private Long leastRecentlyUsedAt;   // 다음 용량 초과 시 삭제될 파일의 마지막 접근 시각
+    }
+}
@@ -0,0 +1,29 @@
+package com.performance.excel.storage;
+
+import java.io.File;
+
+/**
+ * 파일 위치 조회 결과
+ * @param nodeName 파일을 가진 노드 이름 (X-Accel-Redirect internal location 선택용)
+ * @param nodeUrl  파일을 가진 노드 주소 (PEER 인 경우에만)
+ */
+public record ExportLocation(Type type, File file, String nodeName, String nodeUrl) {
+
+    public enum Type {
+        LOCAL,      // 이 노드에서 바로 읽을 수 있음
+        PEER,       // 다른 노드에 있음
+        NOT_FOUND
+    }
+
+    public static ExportLocation local(File file, String nodeName) {
+        return new ExportLocation(Type.LOCAL, file, nodeName, null);
+    }
+
+    public static ExportLocation peer(String nodeName, String nodeUrl) {
+        return new ExportLocation(Type.PEER, null, nodeName, nodeUrl);
+    }
+
+    public static ExportLocation notFound() {
+        return new ExportLocation(Type.NOT_FOUND, null, null, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.performance.excel.storage;
+
+/**
+ * 완성된 다운로드 파일 저장소
+ *
+ * 다운로드 요청을 받은 노드와 파일 요청을 받는 노드가 다를 수 있으므로(nginx 라운드로빈)
+ * 어느 노드에서든 파일 위치를 찾을 수 있어야 함
+ * - local: 노드별 디스크에 저장하고 생성 노드를 Redis 에 기록 → 다른 노드는 생성 노드에서 받아 전송하거나 리다이렉트
+ * - shared: 모든 노드가 같은 디렉토리(NFS, 공유 볼륨 등)에 저장 → 어느 노드든 직접 전송
+ */
+public interface ExportStorage {
+
+    /**
+     * 생성 완료된 파일 등록 (완료 알림보다 먼저 호출)
+     */
+    void register(String fileName);
+
+    /**
+     * 파일 위치 조회
+     */
+    ExportLocation locate(String fileName);
+
+    /**
+     * 파일 및 위치 기록 삭제
+     */
+    void delete(String fileName);
+}
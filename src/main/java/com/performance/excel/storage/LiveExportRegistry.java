@@ -0,0 +1,168 @@
+package com.performance.excel.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 생성 중인 파일 레지스트리 (생성 중 다운로드용)
+ *
+ * 이전 방식: COMPLETED 알림 후에야 전송 시작 → 총 소요 시간 = 생성 + 전송
+ * 현재 방식: 생성 중인 파일도 파일 요청을 받아, 기록된 만큼 보내고 작성자가 끝날 때까지 이어서 전송
+ * - 이 노드에서 생성 중인 파일은 로컬 맵으로 관리 (완료/실패 시 대기 중인 전송 스레드를 깨움)
+ * - 다른 노드로 온 요청은 excel:export:live:{fileName} (생성 노드 이름/주소) 로 생성 노드에 넘김
+ *   (완성 전 파일은 ExportStorage 에 등록되지 않으며, 공유 디렉토리에서도 부분 파일을 완성 파일로 보내지 않도록)
+ */
+@Component
+@Slf4j
+public class LiveExportRegistry {
+
+    private static final String LIVE_KEY_PREFIX = "excel:export:live:";
+    private static final String SEPARATOR = "|";
+
+    public enum State {
+        WRITING,
+        COMPLETED,
+        FAILED      // 실패/취소/종료로 중단 (전송 중인 응답도 중단하여 잘린 파일이 정상 완료로 보이지 않도록)
+    }
+
+    /**
+     * 생성 중인 파일 1건의 상태 (완료/실패 시 대기 중인 전송 스레드를 깨움)
+     */
+    public static final class LiveExport {
+        private final File file;
+        private volatile State state = State.WRITING;
+
+        private LiveExport(File file) {
+            this.file = file;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        /**
+         * 상태가 바뀌거나 timeoutMs 가 지날 때까지 대기 (파일이 커졌는지는 호출자가 확인)
+         */
+        public synchronized State await(long timeoutMs) throws InterruptedException {
+            if (state == State.WRITING) {
+                wait(timeoutMs);
+            }
+            return state;
+        }
+
+        private synchronized void finish(State finalState) {
+            state = finalState;
+            notifyAll();
+        }
+    }
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final boolean enabled;
+    private final String nodeName;
+    private final String advertisedUrl;
+    private final long markerTtlMs;
+
+    private final ConcurrentHashMap<String, LiveExport> exports = new ConcurrentHashMap<>();
+
+    public LiveExportRegistry(RedisTemplate<String, String> redisTemplate,
+                              @Value("${excel.download.live-transfer.enabled:true}") boolean enabled,
+                              @Value("${excel.storage.advertised-url:http://localhost:${server.port:8080}}") String advertisedUrl,
+                              @Value("${excel.download.live-transfer.timeout:3600000}") long markerTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.advertisedUrl = advertisedUrl;
+        this.markerTtlMs = markerTtlMs;
+
+        String hostname = System.getenv("HOSTNAME");
+        this.nodeName = hostname != null ? hostname : "local";
+    }
+
+    /**
+     * 파일 생성 시작 (전략 실행 전에 호출). 비활성화 시 기록하지 않음 (완성 후에만 전송)
+     */
+    public void begin(String fileName, File file) {
+        if (!enabled) {
+            return;
+        }
+        exports.put(fileName, new LiveExport(file));
+        try {
+            redisTemplate.opsForValue().set(LIVE_KEY_PREFIX + fileName, nodeName + SEPARATOR + advertisedUrl,
+                    Duration.ofMillis(markerTtlMs));
+        } catch (Exception e) {
+            // 기록 실패 시 이 노드로 온 요청만 생성 중 전송 가능
+            log.warn("생성 중 파일 기록 실패: {} - {}", fileName, e.getMessage());
+        }
+    }
+
+    /**
+     * 파일 생성 완료 (파일이 닫힌 뒤 호출). 전송 중인 응답은 남은 바이트를 보내고 종료
+     */
+    public void complete(String fileName) {
+        finish(fileName, State.COMPLETED);
+    }
+
+    /**
+     * 파일 생성 중단. 전송 중인 응답은 즉시 중단
+     */
+    public void fail(String fileName) {
+        finish(fileName, State.FAILED);
+    }
+
+    private void finish(String fileName, State state) {
+        LiveExport export = exports.remove(fileName);
+        if (export == null) {
+            return;
+        }
+        export.finish(state);
+        try {
+            redisTemplate.delete(LIVE_KEY_PREFIX + fileName);
+        } catch (Exception e) {
+            log.warn("생성 중 파일 기록 삭제 실패: {} - {}", fileName, e.getMessage());
+        }
+    }
+
+    /**
+     * 이 노드에서 생성 중인 파일 (없으면 null)
+     */
+    public LiveExport find(String fileName) {
+        return exports.get(fileName);
+    }
+
+    /**
+     * 다른 노드에서 생성 중인 파일의 위치 (없거나 이 노드면 null)
+     */
+    public ExportLocation locatePeer(String fileName) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            String owner = redisTemplate.opsForValue().get(LIVE_KEY_PREFIX + fileName);
+            if (owner == null) {
+                return null;
+            }
+            int separator = owner.indexOf(SEPARATOR);
+            String ownerNode = owner.substring(0, separator);
+            if (ownerNode.equals(nodeName)) {
+                return null;
+            }
+            return ExportLocation.peer(ownerNode, owner.substring(separator + 1));
+        } catch (Exception e) {
+            log.warn("생성 중 파일 위치 조회 실패: {} - {}", fileName, e.getMessage());
+            return null;
+        }
+    }
+
+    public int getActiveCount() {
+        return exports.size();
+    }
+}
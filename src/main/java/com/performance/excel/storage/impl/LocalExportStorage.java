@@ -0,0 +1,124 @@
+package com.performance.excel.storage.impl;
+
+import com.performance.excel.storage.ExportFileIndex;
+import com.performance.excel.storage.ExportLocation;
+import com.performance.excel.storage.ExportStorage;
+import com.performance.excel.util.TestDataExcelBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 노드별 로컬 디스크 저장소
+ * - 파일은 생성 노드의 다운로드 디렉토리에만 존재
+ * - excel:export:file:{fileName} Hash 에 생성 노드 이름/주소 기록 (record-ttl 후 만료)
+ * - 이 노드에 없으면 Redis 기록으로 생성 노드를 찾아 PEER 로 반환
+ * - 보관 기간 / 용량 상한은 ExportFileIndex 로 관리
+ */
+@Component
+@ConditionalOnProperty(name = "excel.storage.type", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalExportStorage implements ExportStorage {
+
+    private static final String FILE_KEY_PREFIX = "excel:export:file:";
+    private static final String NODE_FIELD = "node";
+    private static final String URL_FIELD = "url";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TestDataExcelBuilder excelBuilder;
+    private final ExportFileIndex exportFileIndex;
+    private final String downloadDirectory;
+    private final String advertisedUrl;
+    private final long recordTtlMs;
+
+    // 노드 이름 (nginx internal location / 볼륨 경로와 맞추기 위해 컨테이너 호스트명 사용)
+    private final String nodeName;
+
+    public LocalExportStorage(RedisTemplate<String, String> redisTemplate,
+                              TestDataExcelBuilder excelBuilder,
+                              ExportFileIndex exportFileIndex,
+                              @Value("${excel.download.directory:downloads/}") String downloadDirectory,
+                              @Value("${excel.storage.advertised-url:http://localhost:${server.port:8080}}") String advertisedUrl,
+                              @Value("${excel.storage.record-ttl:86400000}") long recordTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.excelBuilder = excelBuilder;
+        this.exportFileIndex = exportFileIndex;
+        this.downloadDirectory = downloadDirectory;
+        this.advertisedUrl = advertisedUrl;
+        this.recordTtlMs = recordTtlMs;
+
+        String hostname = System.getenv("HOSTNAME");
+        this.nodeName = hostname != null ? hostname : "local";
+    }
+
+    @Override
+    public void register(String fileName) {
+        File file = new File(excelBuilder.getDownloadPath(downloadDirectory, fileName));
+        for (String evicted : exportFileIndex.add(fileName, file.length())) {
+            log.info("용량 상한 초과로 파일 삭제 (LRU): {}", evicted);
+            delete(evicted);
+        }
+
+        String key = FILE_KEY_PREFIX + fileName;
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    operations.opsForHash().putAll(key, Map.of(NODE_FIELD, nodeName, URL_FIELD, advertisedUrl));
+                    operations.expire(key, Duration.ofMillis(recordTtlMs));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            // 기록 실패 시 이 노드로 온 요청만 처리 가능 (다운로드 자체는 성공)
+            log.warn("파일 위치 기록 실패: {} - {}", fileName, e.getMessage());
+        }
+    }
+
+    @Override
+    public ExportLocation locate(String fileName) {
+        File file = new File(excelBuilder.getDownloadPath(downloadDirectory, fileName));
+        if (file.isFile()) {
+            exportFileIndex.touch(fileName);
+            return ExportLocation.local(file, nodeName);
+        }
+
+        try {
+            Map<Object, Object> record = redisTemplate.opsForHash().entries(FILE_KEY_PREFIX + fileName);
+            String ownerNode = (String) record.get(NODE_FIELD);
+            String ownerUrl = (String) record.get(URL_FIELD);
+            if (ownerNode != null && ownerUrl != null && !ownerNode.equals(nodeName)) {
+                return ExportLocation.peer(ownerNode, ownerUrl);
+            }
+        } catch (Exception e) {
+            log.warn("파일 위치 조회 실패: {} - {}", fileName, e.getMessage());
+        }
+        return ExportLocation.notFound();
+    }
+
+    @Override
+    public void delete(String fileName) {
+        exportFileIndex.remove(fileName);
+        try {
+            Files.deleteIfExists(new File(excelBuilder.getDownloadPath(downloadDirectory, fileName)).toPath());
+        } catch (IOException e) {
+            log.warn("파일 삭제 실패: {} - {}", fileName, e.getMessage());
+        }
+        try {
+            redisTemplate.delete(FILE_KEY_PREFIX + fileName);
+        } catch (Exception e) {
+            log.warn("파일 위치 기록 삭제 실패: {} - {}", fileName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.performance.excel.storage.impl;
+
+import com.performance.excel.storage.ExportFileIndex;
+import com.performance.excel.storage.ExportLocation;
+import com.performance.excel.storage.ExportStorage;
+import com.performance.excel.util.TestDataExcelBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * 공유 디렉토리 저장소
+ * - 모든 노드의 excel.download.directory 를 같은 공유 볼륨(NFS 등)으로 마운트
+ * - 어느 노드든 파일을 직접 읽을 수 있으므로 위치 기록이 필요 없음
+ * - 보관 기간 / 용량 상한은 노드별 ExportFileIndex 로 관리 (재시작 시 공유 디렉토리 전체를 인덱스로 복원)
+ */
+@Component
+@ConditionalOnProperty(name = "excel.storage.type", havingValue = "shared")
+@Slf4j
+public class SharedDirectoryExportStorage implements ExportStorage {
+
+    private final TestDataExcelBuilder excelBuilder;
+    private final ExportFileIndex exportFileIndex;
+    private final String downloadDirectory;
+    private final String nodeName;
+
+    public SharedDirectoryExportStorage(TestDataExcelBuilder excelBuilder,
+                                        ExportFileIndex exportFileIndex,
+                                        @Value("${excel.download.directory:downloads/}") String downloadDirectory) {
+        this.excelBuilder = excelBuilder;
+        this.exportFileIndex = exportFileIndex;
+        this.downloadDirectory = downloadDirectory;
+
+        String hostname = System.getenv("HOSTNAME");
+        this.nodeName = hostname != null ? hostname : "local";
+    }
+
+    @Override
+    public void register(String fileName) {
+        // 공유 디렉토리에 쓰는 것으로 위치 등록은 완료, 보관 관리만 등록
+        File file = new File(excelBuilder.getDownloadPath(downloadDirectory, fileName));
+        for (String evicted : exportFileIndex.add(fileName, file.length())) {
+            log.info("용량 상한 초과로 파일 삭제 (LRU): {}", evicted);
+            delete(evicted);
+        }
+    }
+
+    @Override
+    public ExportLocation locate(String fileName) {
+        File file = new File(excelBuilder.getDownloadPath(downloadDirectory, fileName));
+        if (!file.isFile()) {
+            return ExportLocation.notFound();
+        }
+        exportFileIndex.touch(fileName);
+        return ExportLocation.local(file, nodeName);
+    }
+
+    @Override
+    public void delete(String fileName) {
+        exportFileIndex.remove(fileName);
+        try {
+            Files.deleteIfExists(new File(excelBuilder.getDownloadPath(downloadDirectory, fileName)).toPath());
+        } catch (IOException e) {
+            log.warn("파일 삭제 실패: {} - {}", fileName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.performance.excel.strategy;
+
+import com.performance.excel.exception.DownloadCancelledException;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 다운로드 작업 취소 토큰
+ * - 같은 노드에서 취소 요청 시 cancel() 로 즉시 반영
+ * - 다른 노드에서 취소 요청 시 remoteCheck(Redis 취소 플래그)로 반영. 청크마다 Redis 를 조회하지 않도록 주기 제한
+ * - 전략은 청크 경계마다 throwIfCancelled() 호출
+ */
+public class CancellationToken {
+
+    private static final long REMOTE_CHECK_INTERVAL_MS = 1000L;
+
+    private final BooleanSupplier remoteCheck;
+    private volatile boolean cancelled;
+    private volatile long lastRemoteCheckAt;
+
+    public CancellationToken() {
+        this(() -> false);
+    }
+
+    public CancellationToken(BooleanSupplier remoteCheck) {
+        this.remoteCheck = remoteCheck;
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        if (cancelled) {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastRemoteCheckAt >= REMOTE_CHECK_INTERVAL_MS) {
+            lastRemoteCheckAt = now;
+            if (remoteCheck.getAsBoolean()) {
+                cancelled = true;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * 취소 요청 시 DownloadCancelledException 발생 (청크 경계에서 호출)
+     */
+    public void throwIfCancelled(String requestId) {
+        if (isCancelled()) {
+            throw new DownloadCancelledException(requestId);
+        }
+    }
+}
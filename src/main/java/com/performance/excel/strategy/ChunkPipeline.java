@@ -0,0 +1,287 @@
+package com.performance.excel.strategy;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조회(I/O) / 인코딩(CPU) 단계 분리 파이프라인
+ * - 조회 단계: I/O 크기 스레드풀(downloadFetchExecutor)에서 다음 청크를 미리 조회
+ * - 인코딩 단계: 작업 스레드(downloadTaskExecutor, CPU 크기)에서 엑셀 쓰기/압축
+ * - 두 단계는 bounded 큐로 연결 (조회가 앞서가도 prefetchChunks 개 이상 메모리에 쌓이지 않음)
+ * - 단계별 busy/wait 시간을 누적해 각 스레드풀을 독립적으로 튜닝할 수 있도록 노출
+ */
+@Slf4j
+public class ChunkPipeline {
+
+    private static final long HANDOFF_POLL_MS = 100L;
+
+    private final ThreadPoolTaskExecutor fetchExecutor;     // null 이면 인코딩 스레드에서 직접 조회
+    private final ThreadPoolTaskExecutor encodeExecutor;
+    private final int prefetchChunks;
+
+    private final StageMetrics fetchMetrics = new StageMetrics();
+    private final StageMetrics encodeMetrics = new StageMetrics();
+
+    /**
+     * 청크 조회 (빈 리스트 반환 시 종료). 단일 스레드에서 순차 호출되므로 커서 상태를 내부에 보관해도 됨
+     */
+    @FunctionalInterface
+    public interface ChunkFetcher<T> {
+        List<T> fetchNext() throws Exception;
+    }
+
+    /**
+     * 청크 쓰기 (인코딩 스레드에서 순차 호출)
+     */
+    @FunctionalInterface
+    public interface ChunkWriter<T> {
+        void write(List<T> chunk) throws Exception;
+    }
+
+    // 단계 간 전달 항목 (청크 / 종료 / 조회 실패)
+    private record Handoff<T>(List<T> chunk, Throwable error) {
+        static <T> Handoff<T> end() {
+            return new Handoff<>(null, null);
+        }
+
+        boolean isEnd() {
+            return chunk == null && error == null;
+        }
+    }
+
+    public ChunkPipeline(ThreadPoolTaskExecutor fetchExecutor, ThreadPoolTaskExecutor encodeExecutor, int prefetchChunks) {
+        this.fetchExecutor = fetchExecutor;
+        this.encodeExecutor = encodeExecutor;
+        this.prefetchChunks = Math.max(1, prefetchChunks);
+    }
+
+    /**
+     * 단계 분리 없이 호출 스레드에서 조회/쓰기를 번갈아 수행 (V1 서비스, 테스트용)
+     */
+    public static ChunkPipeline inline() {
+        return new ChunkPipeline(null, null, 1);
+    }
+
+    /**
+     * 파이프라인 실행
+     * - 조회 단계는 fetchExecutor 에서, 쓰기 단계는 호출 스레드에서 실행
+     * - 청크 경계마다 취소 여부 확인
+     * - 조회 실패는 쓰기 스레드에서 그대로 다시 던짐
+     */
+    public <T> void run(String requestId, CancellationToken cancellationToken,
+                        ChunkFetcher<T> fetcher, ChunkWriter<T> writer) throws Exception {
+        if (fetchExecutor == null) {
+            runInline(requestId, cancellationToken, fetcher, writer);
+            return;
+        }
+
+        BlockingQueue<Handoff<T>> handoff = new ArrayBlockingQueue<>(prefetchChunks);
+        AtomicBoolean stopped = new AtomicBoolean(false);
+
+        try {
+            fetchExecutor.execute(() -> fetchLoop(cancellationToken, fetcher, handoff, stopped));
+        } catch (RejectedExecutionException e) {
+            // 조회 풀 포화 시 단계 분리 없이 처리 (작업 자체를 실패시키지 않음)
+            log.warn("조회 스레드풀 포화로 단일 스레드 처리: {}", requestId);
+            runInline(requestId, cancellationToken, fetcher, writer);
+            return;
+        }
+
+        encodeMetrics.active.incrementAndGet();
+        try {
+            while (true) {
+                cancellationToken.throwIfCancelled(requestId);
+
+                Handoff<T> item = take(handoff);
+                if (item == null) {
+                    continue;   // 조회 대기 중 (취소 확인 후 다시 대기)
+                }
+                if (item.error() != null) {
+                    throw asException(item.error());
+                }
+                if (item.isEnd()) {
+                    break;
+                }
+
+                long start = System.nanoTime();
+                writer.write(item.chunk());
+                encodeMetrics.recordBusy(System.nanoTime() - start);
+                encodeMetrics.rows.addAndGet(item.chunk().size());
+            }
+        } finally {
+            encodeMetrics.active.decrementAndGet();
+            // 조회 스레드가 큐 대기 중이면 빠져나오도록 중단 표시 후 큐 비움
+            stopped.set(true);
+            handoff.clear();
+        }
+    }
+
+    private <T> void runInline(String requestId, CancellationToken cancellationToken,
+                               ChunkFetcher<T> fetcher, ChunkWriter<T> writer) throws Exception {
+        while (true) {
+            cancellationToken.throwIfCancelled(requestId);
+
+            long fetchStart = System.nanoTime();
+            List<T> chunk = fetcher.fetchNext();
+            fetchMetrics.recordBusy(System.nanoTime() - fetchStart);
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            long encodeStart = System.nanoTime();
+            writer.write(chunk);
+            encodeMetrics.recordBusy(System.nanoTime() - encodeStart);
+            encodeMetrics.rows.addAndGet(chunk.size());
+        }
+    }
+
+    private <T> void fetchLoop(CancellationToken cancellationToken, ChunkFetcher<T> fetcher,
+                               BlockingQueue<Handoff<T>> handoff, AtomicBoolean stopped) {
+        fetchMetrics.active.incrementAndGet();
+        try {
+            while (!stopped.get() && !cancellationToken.isCancelled()) {
+                long start = System.nanoTime();
+                List<T> chunk = fetcher.fetchNext();
+                fetchMetrics.recordBusy(System.nanoTime() - start);
+
+                if (chunk.isEmpty()) {
+                    put(handoff, Handoff.end(), stopped);
+                    return;
+                }
+                put(handoff, new Handoff<>(chunk, null), stopped);
+            }
+        } catch (Throwable e) {
+            put(handoff, new Handoff<>(null, e), stopped);
+        } finally {
+            fetchMetrics.active.decrementAndGet();
+        }
+    }
+
+    /**
+     * 큐에 여유가 생길 때까지 대기 (대기 시간 = 조회 단계가 인코딩을 기다린 시간)
+     */
+    private <T> void put(BlockingQueue<Handoff<T>> handoff, Handoff<T> item, AtomicBoolean stopped) {
+        long start = System.nanoTime();
+        try {
+            while (!stopped.get()) {
+                if (handoff.offer(item, HANDOFF_POLL_MS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            fetchMetrics.recordWait(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 다음 청크 대기 (대기 시간 = 인코딩 단계가 조회를 기다린 시간)
+     */
+    private <T> Handoff<T> take(BlockingQueue<Handoff<T>> handoff) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            return handoff.poll(HANDOFF_POLL_MS, TimeUnit.MILLISECONDS);
+        } finally {
+            encodeMetrics.recordWait(System.nanoTime() - start);
+        }
+    }
+
+    private static Exception asException(Throwable error) {
+        if (error instanceof Exception exception) {
+            return exception;
+        }
+        throw (Error) error;
+    }
+
+    /**
+     * 쓰기 완료된 누적 행 수 (노드 처리 속도 측정용)
+     */
+    public long getWrittenRows() {
+        return encodeMetrics.rows.get();
+    }
+
+    /**
+     * 단계별 사용률 조회
+     */
+    public PipelineStatus getStatus() {
+        return PipelineStatus.builder()
+                .prefetchChunks(prefetchChunks)
+                .fetch(fetchMetrics.toStatus(fetchExecutor))
+                .encode(encodeMetrics.toStatus(encodeExecutor))
+                .build();
+    }
+
+    /**
+     * 단계별 누적 지표
+     * - busy: 실제 조회/쓰기에 소요된 시간
+     * - wait: 상대 단계를 기다린 시간 (조회 wait 가 크면 인코딩이 병목, 인코딩 wait 가 크면 조회가 병목)
+     */
+    private static class StageMetrics {
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicLong chunks = new AtomicLong();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicLong waitNanos = new AtomicLong();
+
+        void recordBusy(long nanos) {
+            chunks.incrementAndGet();
+            busyNanos.addAndGet(nanos);
+        }
+
+        void recordWait(long nanos) {
+            waitNanos.addAndGet(nanos);
+        }
+
+        StageStatus toStatus(ThreadPoolTaskExecutor executor) {
+            long busy = busyNanos.get();
+            long wait = waitNanos.get();
+            return StageStatus.builder()
+                    .activeJobs(active.get())
+                    .poolSize(executor != null ? executor.getPoolSize() : 0)
+                    .maxPoolSize(executor != null ? executor.getMaxPoolSize() : 0)
+                    .activeThreads(executor != null ? executor.getActiveCount() : 0)
+                    .queuedTasks(executor != null ? executor.getThreadPoolExecutor().getQueue().size() : 0)
+                    .chunks(chunks.get())
+                    .rows(rows.get())
+                    .busyMs(TimeUnit.NANOSECONDS.toMillis(busy))
+                    .waitMs(TimeUnit.NANOSECONDS.toMillis(wait))
+                    .utilization(busy + wait == 0 ? 0.0 : (double) busy / (busy + wait))
+                    .build();
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class PipelineStatus {
+        private int prefetchChunks;
+        private StageStatus fetch;
+        private StageStatus encode;
+    }
+
+    @Builder
+    @Getter
+    public static class StageStatus {
+        private int activeJobs;         // 이 단계를 실행 중인 작업 수
+        private int poolSize;
+        private int maxPoolSize;
+        private int activeThreads;
+        private int queuedTasks;
+        private long chunks;            // 처리한 청크 수
+        private long rows;              // 쓰기 완료된 행 수 (인코딩 단계만 집계)
+        private long busyMs;
+        private long waitMs;
+        private double utilization;     // busy / (busy + wait)
+    }
+}
@@ -1,27 +1,70 @@
 package com.performance.excel.strategy;
 
 import com.performance.excel.repository.TestDataRepository;
-import com.performance.excel.websocket.ProgressWebSocketHandler;
+import com.performance.excel.service.ExportCheckpointStore;
+import com.performance.excel.storage.ExportStorage;
+import com.performance.excel.websocket.ProgressReporter;
 import lombok.Builder;
 import lombok.Getter;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 @Getter
 @Builder
 public class ExcelContext {
     
     private final TestDataRepository testDataRepository;
-    private final ProgressWebSocketHandler progressWebSocketHandler;
+    // 진행률 전송 (작업별 전송 주기/중복 제어)
+    private final ProgressReporter progressReporter;
     private final JdbcTemplate jdbcTemplate;
     private final String downloadDirectory;
+
+    // 체크포인트 저장소 (미지정 시 체크포인트 없이 처리)
+    private final ExportCheckpointStore checkpointStore;
+
+    // 완성 파일 저장소 (미지정 시 이 노드에서만 파일 제공)
+    private final ExportStorage exportStorage;
+
+    // 작업 취소 토큰 (미지정 시 취소되지 않는 토큰)
+    @Builder.Default
+    private final CancellationToken cancellationToken = new CancellationToken();
+
+    // 조회/인코딩 단계 파이프라인 (미지정 시 호출 스레드에서 순차 처리)
+    @Builder.Default
+    private final ChunkPipeline chunkPipeline = ChunkPipeline.inline();
+
+    // 이번 실행에서 기록한 행 수 (체크포인트 재개 / 증분 시 이전 실행분 제외)
+    @Builder.Default
+    private final AtomicLong writtenRows = new AtomicLong();
     
+    /**
+     * 완성 파일 등록 (완료 알림 전에 호출해야 다른 노드로 온 파일 요청도 처리 가능)
+     */
+    public void registerExport(String fileName) {
+        if (exportStorage != null) {
+            exportStorage.register(fileName);
+        }
+    }
+
+    /**
+     * 이번 실행에서 기록한 행 수 추가 (처리 속도 이력은 예상 건수가 아닌 이 값으로 계산)
+     */
+    public void recordWrittenRows(long rows) {
+        writtenRows.addAndGet(rows);
+    }
+
+    public long getWrittenRows() {
+        return writtenRows.get();
+    }
+
     public static ExcelContext of(TestDataRepository testDataRepository,
-                                  ProgressWebSocketHandler progressWebSocketHandler,
+                                  ProgressReporter progressReporter,
                                   JdbcTemplate jdbcTemplate,
                                   String downloadDirectory) {
         return ExcelContext.builder()
                 .testDataRepository(testDataRepository)
-                .progressWebSocketHandler(progressWebSocketHandler)
+                .progressReporter(progressReporter)
                 .jdbcTemplate(jdbcTemplate)
                 .downloadDirectory(downloadDirectory)
                 .build();
@@ -14,4 +14,11 @@ public interface ExcelDownloadStrategy {
      * 지원하는 다운로드 타입 반환
      */
     DownloadRequest.DownloadType getSupportedType();
+
+    /**
+     * 생성 파일 확장자 (파일명 결정에 사용)
+     */
+    default String getFileExtension() {
+        return "xlsx";
+    }
 }
@@ -0,0 +1,137 @@
+package com.performance.excel.strategy.impl;
+
+import com.performance.excel.dto.DownloadProgress;
+import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.entity.TestData;
+import com.performance.excel.exception.DownloadCancelledException;
+import com.performance.excel.strategy.ExcelContext;
+import com.performance.excel.strategy.ExcelDownloadStrategy;
+import com.performance.excel.util.CsvWriter;
+import com.performance.excel.util.TestDataExcelBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CSV 내보내기 전략 (비동기)
+ *
+ * 특징:
+ * - XLSX 가 아닌 RFC 4180 CSV (다른 시스템에 적재하는 용도, 스타일/시트 없음)
+ * - ID 커서 기반 페이징 (조회 경로는 CURSOR 전략과 동일)
+ * - XML 생성 / 임시 시트 파일 / ZIP 압축 없이 큰 버퍼에 바로 인코딩 (CsvWriter)
+ * - gzip 설정 시 기록하면서 압축 (.csv.gz)
+ */
+@Component
+@Slf4j
+public class CsvStrategy implements ExcelDownloadStrategy {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final String[] HEADERS = {"ID", "이름", "설명", "값", "카테고리", "생성일시"};
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final TestDataExcelBuilder excelBuilder;
+    private final boolean gzip;
+    private final int bufferSize;
+
+    public CsvStrategy(TestDataExcelBuilder excelBuilder,
+                       @Value("${excel.download.csv.gzip:false}") boolean gzip,
+                       @Value("${excel.download.csv.buffer-size:1MB}") DataSize bufferSize) {
+        this.excelBuilder = excelBuilder;
+        this.gzip = gzip;
+        this.bufferSize = (int) bufferSize.toBytes();
+    }
+
+    @Override
+    public void process(DownloadRequest request, ExcelContext context) {
+        log.info("CSV 방식 처리 시작: {} (gzip: {})", request.getRequestId(), gzip);
+
+        long totalCount = context.getTestDataRepository().getTotalCount();
+        String filePath = excelBuilder.getDownloadPath(context.getDownloadDirectory(), request.getFileName());
+
+        try (CsvWriter writer = CsvWriter.open(new File(filePath), bufferSize, gzip)) {
+            for (String header : HEADERS) {
+                writer.field(header);
+            }
+            writer.endRow();
+
+            // ID 커서 기반 쿼리
+            String cursorSql = """
+                SELECT id, name, description, value, category, created_at
+                FROM test_data
+                WHERE id > ?
+                ORDER BY id
+                LIMIT ?
+            """;
+
+            AtomicLong processedCount = new AtomicLong();
+            AtomicLong fetchCursor = new AtomicLong();  // 조회 단계 커서 (조회 스레드에서만 변경)
+
+            // 조회(I/O 스레드) 와 쓰기(작업 스레드) 분리
+            context.getChunkPipeline().<TestData>run(request.getRequestId(), context.getCancellationToken(),
+                () -> {
+                    List<TestData> chunk = context.getJdbcTemplate().query(cursorSql,
+                        (resultSet, rowNum) -> TestData.builder()
+                                .id(resultSet.getLong("id"))
+                                .name(resultSet.getString("name"))
+                                .description(resultSet.getString("description"))
+                                .value(resultSet.getBigDecimal("value"))
+                                .category(resultSet.getString("category"))
+                                .createdAt(resultSet.getTimestamp("created_at").toLocalDateTime())
+                                .build(),
+                        fetchCursor.get(), CHUNK_SIZE);
+                    if (!chunk.isEmpty()) {
+                        fetchCursor.set(chunk.get(chunk.size() - 1).getId());
+                    }
+                    return chunk;
+                },
+                chunk -> {
+                    for (TestData rowData : chunk) {
+                        writer.field(rowData.getId())
+                                .field(rowData.getName())
+                                .field(rowData.getDescription())
+                                .field(rowData.getValue())
+                                .field(rowData.getCategory())
+                                .field(rowData.getCreatedAt().format(DATE_TIME_FORMAT));
+                        writer.endRow();
+
+                        long processed = processedCount.incrementAndGet();
+                        // 전송 빈도는 ProgressReporter 에서 시간 기준으로 제어
+                        context.getProgressReporter().reportProcessing(request, totalCount, processed);
+                    }
+                });
+
+            writer.close();     // 남은 버퍼 기록 (gzip 이면 트레일러까지) 후 완료 처리
+
+            // 완료 알림
+            context.registerExport(request.getFileName());
+            String downloadUrl = "/api/download/file/" + request.getFileName();
+            DownloadProgress completedProgress = DownloadProgress.completed(request.getRequestId(), downloadUrl);
+            context.getProgressReporter().report(request.getUserId(), completedProgress);
+
+            context.recordWrittenRows(processedCount.get());
+            log.info("CSV 파일 생성 완료: {} ({}건)", filePath, processedCount.get());
+
+        } catch (DownloadCancelledException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("CSV 다운로드 실패: {}", request.getRequestId(), e);
+            throw new RuntimeException("CSV 다운로드 실패: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public DownloadRequest.DownloadType getSupportedType() {
+        return DownloadRequest.DownloadType.CSV;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return gzip ? "csv.gz" : "csv";
+    }
+}
@@ -5,6 +5,7 @@ import com.alibaba.excel.ExcelWriter;
 import com.alibaba.excel.write.metadata.WriteSheet;
 import com.performance.excel.dto.DownloadProgress;
 import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.exception.DownloadCancelledException;
 import com.performance.excel.entity.TestData;
 import com.performance.excel.strategy.ExcelContext;
 import com.performance.excel.strategy.ExcelDownloadStrategy;
@@ -14,6 +15,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * EasyExcel 라이브러리 전략 (비동기)
@@ -36,7 +38,6 @@ public class EasyexcelStrategy implements ExcelDownloadStrategy {
 
     private final TestDataExcelBuilder excelBuilder;
     private static final int CHUNK_SIZE = 1000;
-    private static final int PROGRESS_UPDATE_INTERVAL = 5000;
     
     @Override
     public void process(DownloadRequest request, ExcelContext context) {
@@ -49,62 +50,67 @@ public class EasyexcelStrategy implements ExcelDownloadStrategy {
         try (ExcelWriter excelWriter = EasyExcel.write(filePath, TestData.class).build()) {
             WriteSheet writeSheet = EasyExcel.writerSheet("Test Data").build();
 
-            long processedCount = 0;
-            Long lastId = 0L;
-            
-            while (true) {
-                // ID 커서 기반 쿼리
-                String cursorSql = """
-                    SELECT id, name, description, value, category, created_at 
-                    FROM test_data
-                    WHERE id > ? 
-                    ORDER BY id 
-                    LIMIT ?
-                    """;
+            // ID 커서 기반 쿼리
+            String cursorSql = """
+                SELECT id, name, description, value, category, created_at 
+                FROM test_data
+                WHERE id > ? 
+                ORDER BY id 
+                LIMIT ?
+                """;
 
-                // 엔티티로 직접 매핑 (1단계 변환)
-                List<TestData> excelDatas = context.getJdbcTemplate().query(cursorSql,
-                        (rs, rowNum) -> TestData.builder()
-                                .id(rs.getLong("id"))
-                                .name(rs.getString("name"))
-                                .description(rs.getString("description"))
-                                .value(rs.getBigDecimal("value"))
-                                .category(rs.getString("category"))
-                                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
-                                .build(),
-                        lastId, CHUNK_SIZE);
+            AtomicLong processedCount = new AtomicLong();
+            AtomicLong fetchCursor = new AtomicLong();  // 조회 단계 커서 (조회 스레드에서만 변경)
 
-                if (excelDatas.isEmpty()) break;
-
-                // EasyExcel로 쓰기 (어노테이션 기반 자동 처리)
-                excelWriter.write(excelDatas, writeSheet);
+            // 조회(I/O 스레드) 와 쓰기(작업 스레드) 분리
+            context.getChunkPipeline().<TestData>run(request.getRequestId(), context.getCancellationToken(),
+                () -> {
+                    // 엔티티로 직접 매핑 (1단계 변환)
+                    List<TestData> excelDatas = context.getJdbcTemplate().query(cursorSql,
+                            (rs, rowNum) -> TestData.builder()
+                                    .id(rs.getLong("id"))
+                                    .name(rs.getString("name"))
+                                    .description(rs.getString("description"))
+                                    .value(rs.getBigDecimal("value"))
+                                    .category(rs.getString("category"))
+                                    .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                                    .build(),
+                            fetchCursor.get(), CHUNK_SIZE);
+                    if (!excelDatas.isEmpty()) {
+                        fetchCursor.set(excelDatas.get(excelDatas.size() - 1).getId());
+                    }
+                    return excelDatas;
+                },
+                excelDatas -> {
+                    // EasyExcel로 쓰기 (어노테이션 기반 자동 처리)
+                    excelWriter.write(excelDatas, writeSheet);
 
-                // 진행률 업데이트
-                processedCount += excelDatas.size();
-                lastId = excelDatas.get(excelDatas.size() - 1).getId();
+                    // 진행률 업데이트
+                    long processed = processedCount.addAndGet(excelDatas.size());
+                    Long lastId = excelDatas.get(excelDatas.size() - 1).getId();
 
-                // 진행률 업데이트 빈도 조절 (5000건마다)
-                if (processedCount % PROGRESS_UPDATE_INTERVAL == 0) {
-                    DownloadProgress progress = DownloadProgress.processing(
-                            request.getRequestId(), totalCount, processedCount);
-                    try {
-                        context.getProgressWebSocketHandler().sendProgress(request.getUserId(), progress);
-                    } catch (Exception e) {
-                        log.warn("진행률 전송 실패: {}", e.getMessage());
-                    }
-                }
+                    // 전송 빈도는 ProgressReporter 에서 시간 기준으로 제어
+                    context.getProgressReporter().reportProcessing(request, totalCount, processed);
 
-                log.debug("EasyExcel 청크 처리 완료: ID {}-{} (총 {}건)", lastId - CHUNK_SIZE, lastId, processedCount);
-            }
+                    log.debug("EasyExcel 청크 처리 완료: ID {}-{} (총 {}건)", lastId - CHUNK_SIZE, lastId, processed);
+                });
 
-            log.info("EasyExcel 파일 생성 완료: {} ({}건)", filePath, processedCount);
-            
+            context.recordWrittenRows(processedCount.get());
+            log.info("EasyExcel 파일 생성 완료: {} ({}건)", filePath, processedCount.get());
+        } catch (DownloadCancelledException e) {
+            throw e;
         } catch (Exception e) {
             log.error("EasyExcel 파일 생성 실패: {}", request.getRequestId(), e);
             throw new RuntimeException("EasyExcel 파일 생성 실패: " + e.getMessage(), e);
         }
+
+        // 완료 알림 (ExcelWriter close 로 파일이 완성된 뒤 전송)
+        context.registerExport(request.getFileName());
+        String downloadUrl = "/api/download/file/" + request.getFileName();
+        context.getProgressReporter().report(request.getUserId(),
+                DownloadProgress.completed(request.getRequestId(), downloadUrl));
     }
-    
+
     @Override
     public DownloadRequest.DownloadType getSupportedType() {
         return DownloadRequest.DownloadType.EASYEXCEL;
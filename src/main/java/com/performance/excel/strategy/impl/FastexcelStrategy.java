@@ -2,6 +2,7 @@ package com.performance.excel.strategy.impl;
 
 import com.performance.excel.dto.DownloadProgress;
 import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.exception.DownloadCancelledException;
 import com.performance.excel.entity.TestData;
 import com.performance.excel.strategy.ExcelContext;
 import com.performance.excel.strategy.ExcelDownloadStrategy;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Component;
 import java.io.FileOutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * FastExcel 라이브러리 전략 (비동기)
@@ -73,67 +75,62 @@ public class FastexcelStrategy implements ExcelDownloadStrategy {
                 LIMIT ?
             """;
 
-            int currentRow = 1; // 헤더 다음부터
-            long processedCount = 0L;
-            Long lastId = 0L;
-            
-            while (true) {
-                List<TestData> excelData = context.getJdbcTemplate().query(cursorSql,
-                    (resultSet, rowNum) -> TestData.builder()
-                            .id(resultSet.getLong("id"))
-                            .name(resultSet.getString("name"))
-                            .description(resultSet.getString("description"))
-                            .value(resultSet.getBigDecimal("value"))
-                            .category(resultSet.getString("category"))
-                            .createdAt(resultSet.getTimestamp("created_at").toLocalDateTime())
-                            .build(),
-                    lastId, CHUNK_SIZE);
-
-                if (excelData.isEmpty()) break;
-
-                lastId = excelData.get(excelData.size() - 1).getId();
-
-                for (TestData rowData : excelData) {
-                    worksheet.value(currentRow, 0, rowData.getId());
-                    worksheet.value(currentRow, 1, rowData.getName());
-                    worksheet.value(currentRow, 2, rowData.getDescription());
-                    worksheet.value(currentRow, 3, rowData.getValue());
-                    worksheet.value(currentRow, 4, rowData.getCategory());
-                    worksheet.value(currentRow, 5, rowData.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-
-                    processedCount++;
-                    currentRow++;
-
-                    worksheet.flush();  // 행 단위로 즉시 디스크 쓰기
-
-                    // 진행률 업데이트 빈도 조절 (5000건마다)
-                    if (processedCount % 5000 == 0) {
-                        DownloadProgress progress = DownloadProgress.processing(
-                                request.getRequestId(), totalCount, processedCount);
-                        try {
-                            context.getProgressWebSocketHandler().sendProgress(request.getUserId(), progress);
-                        } catch (Exception e) {
-                            log.warn("진행률 전송 실패: {}", e.getMessage());
-                        }
+            AtomicLong processedCount = new AtomicLong();
+            AtomicLong fetchCursor = new AtomicLong();  // 조회 단계 커서 (조회 스레드에서만 변경)
+
+            // 조회(I/O 스레드) 와 쓰기(작업 스레드) 분리
+            context.getChunkPipeline().<TestData>run(request.getRequestId(), context.getCancellationToken(),
+                () -> {
+                    List<TestData> excelData = context.getJdbcTemplate().query(cursorSql,
+                        (resultSet, rowNum) -> TestData.builder()
+                                .id(resultSet.getLong("id"))
+                                .name(resultSet.getString("name"))
+                                .description(resultSet.getString("description"))
+                                .value(resultSet.getBigDecimal("value"))
+                                .category(resultSet.getString("category"))
+                                .createdAt(resultSet.getTimestamp("created_at").toLocalDateTime())
+                                .build(),
+                        fetchCursor.get(), CHUNK_SIZE);
+                    if (!excelData.isEmpty()) {
+                        fetchCursor.set(excelData.get(excelData.size() - 1).getId());
+                    }
+                    return excelData;
+                },
+                excelData -> {
+                    for (TestData rowData : excelData) {
+                        int currentRow = (int) processedCount.get() + 1; // 헤더 다음부터
+                        worksheet.value(currentRow, 0, rowData.getId());
+                        worksheet.value(currentRow, 1, rowData.getName());
+                        worksheet.value(currentRow, 2, rowData.getDescription());
+                        worksheet.value(currentRow, 3, rowData.getValue());
+                        worksheet.value(currentRow, 4, rowData.getCategory());
+                        worksheet.value(currentRow, 5, rowData.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+
+                        long processed = processedCount.incrementAndGet();
+
+                        worksheet.flush();  // 행 단위로 즉시 디스크 쓰기
+
+                        // 전송 빈도는 ProgressReporter 에서 시간 기준으로 제어
+                        context.getProgressReporter().reportProcessing(request, totalCount, processed);
                     }
-                }
-                
-                log.debug("FastExcel 청크 처리 완료: ID {}-{} (총 {}건)", lastId - CHUNK_SIZE, lastId, processedCount);
-            }
+
+                    Long lastId = excelData.get(excelData.size() - 1).getId();
+                    log.debug("FastExcel 청크 처리 완료: ID {}-{} (총 {}건)", lastId - CHUNK_SIZE, lastId, processedCount.get());
+                });
 
             wb.finish();    // 필수 호출
 
             // 완료 알림
+            context.registerExport(request.getFileName());
             String downloadUrl = "/api/download/file/" + request.getFileName();
             DownloadProgress completedProgress = DownloadProgress.completed(request.getRequestId(), downloadUrl);
-            try {
-                context.getProgressWebSocketHandler().sendProgress(request.getUserId(), completedProgress);
-            } catch (Exception e) {
-                log.warn("완료 알림 전송 실패: {}", e.getMessage());
-            }
+            context.getProgressReporter().report(request.getUserId(), completedProgress);
 
-            log.info("FastExcel 파일 생성 완료: {} ({}건)", filePath, processedCount);
+            context.recordWrittenRows(processedCount.get());
+            log.info("FastExcel 파일 생성 완료: {} ({}건)", filePath, processedCount.get());
 
+        } catch (DownloadCancelledException e) {
+            throw e;
         } catch (Exception e) {
             log.error("FastExcel 다운로드 실패: {}", request.getRequestId(), e);
             throw new RuntimeException("FastExcel 다운로드 실패: " + e.getMessage(), e);
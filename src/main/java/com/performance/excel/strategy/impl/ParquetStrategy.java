@@ -0,0 +1,129 @@
+package com.performance.excel.strategy.impl;
+
+import com.performance.excel.dto.DownloadProgress;
+import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.entity.TestData;
+import com.performance.excel.exception.DownloadCancelledException;
+import com.performance.excel.strategy.ExcelContext;
+import com.performance.excel.strategy.ExcelDownloadStrategy;
+import com.performance.excel.util.TestDataExcelBuilder;
+import com.performance.excel.util.TestDataParquetWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parquet 내보내기 전략 (비동기)
+ *
+ * 특징:
+ * - XLSX 가 아닌 컬럼 기반 Parquet (분석 시스템 적재용, XLSX → Parquet 변환 작업 불필요)
+ * - ID 커서 기반 페이징 (조회 경로는 CURSOR 전략과 동일)
+ * - 행을 row group 단위로 기록, category / description 은 dictionary 인코딩 (TestDataParquetWriter)
+ * - 작업당 메모리는 row group 크기로 제한
+ */
+@Component
+@Slf4j
+public class ParquetStrategy implements ExcelDownloadStrategy {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final TestDataExcelBuilder excelBuilder;
+    private final long rowGroupSize;
+    private final int pageSize;
+    private final CompressionCodecName compression;
+
+    public ParquetStrategy(TestDataExcelBuilder excelBuilder,
+                           @Value("${excel.download.parquet.row-group-size:64MB}") DataSize rowGroupSize,
+                           @Value("${excel.download.parquet.page-size:1MB}") DataSize pageSize,
+                           @Value("${excel.download.parquet.compression:SNAPPY}") CompressionCodecName compression) {
+        this.excelBuilder = excelBuilder;
+        this.rowGroupSize = rowGroupSize.toBytes();
+        this.pageSize = (int) pageSize.toBytes();
+        this.compression = compression;
+    }
+
+    @Override
+    public void process(DownloadRequest request, ExcelContext context) {
+        log.info("Parquet 방식 처리 시작: {} (row group: {}bytes, 압축: {})",
+                request.getRequestId(), rowGroupSize, compression);
+
+        long totalCount = context.getTestDataRepository().getTotalCount();
+        String filePath = excelBuilder.getDownloadPath(context.getDownloadDirectory(), request.getFileName());
+
+        try (ParquetWriter<TestData> writer = TestDataParquetWriter.open(new File(filePath), rowGroupSize, pageSize, compression)) {
+            // ID 커서 기반 쿼리
+            String cursorSql = """
+                SELECT id, name, description, value, category, created_at
+                FROM test_data
+                WHERE id > ?
+                ORDER BY id
+                LIMIT ?
+            """;
+
+            AtomicLong processedCount = new AtomicLong();
+            AtomicLong fetchCursor = new AtomicLong();  // 조회 단계 커서 (조회 스레드에서만 변경)
+
+            // 조회(I/O 스레드) 와 쓰기(작업 스레드) 분리
+            context.getChunkPipeline().<TestData>run(request.getRequestId(), context.getCancellationToken(),
+                () -> {
+                    List<TestData> chunk = context.getJdbcTemplate().query(cursorSql,
+                        (resultSet, rowNum) -> TestData.builder()
+                                .id(resultSet.getLong("id"))
+                                .name(resultSet.getString("name"))
+                                .description(resultSet.getString("description"))
+                                .value(resultSet.getBigDecimal("value"))
+                                .category(resultSet.getString("category"))
+                                .createdAt(resultSet.getTimestamp("created_at").toLocalDateTime())
+                                .build(),
+                        fetchCursor.get(), CHUNK_SIZE);
+                    if (!chunk.isEmpty()) {
+                        fetchCursor.set(chunk.get(chunk.size() - 1).getId());
+                    }
+                    return chunk;
+                },
+                chunk -> {
+                    for (TestData rowData : chunk) {
+                        writer.write(rowData);
+
+                        long processed = processedCount.incrementAndGet();
+                        // 전송 빈도는 ProgressReporter 에서 시간 기준으로 제어
+                        context.getProgressReporter().reportProcessing(request, totalCount, processed);
+                    }
+                });
+
+            writer.close();     // 마지막 row group 과 footer 기록 후 완료 처리
+
+            // 완료 알림
+            context.registerExport(request.getFileName());
+            String downloadUrl = "/api/download/file/" + request.getFileName();
+            DownloadProgress completedProgress = DownloadProgress.completed(request.getRequestId(), downloadUrl);
+            context.getProgressReporter().report(request.getUserId(), completedProgress);
+
+            context.recordWrittenRows(processedCount.get());
+            log.info("Parquet 파일 생성 완료: {} ({}건)", filePath, processedCount.get());
+
+        } catch (DownloadCancelledException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Parquet 다운로드 실패: {}", request.getRequestId(), e);
+            throw new RuntimeException("Parquet 다운로드 실패: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public DownloadRequest.DownloadType getSupportedType() {
+        return DownloadRequest.DownloadType.PARQUET;
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "parquet";
+    }
+}
@@ -2,18 +2,26 @@ package com.performance.excel.strategy.impl;
 
 import com.performance.excel.dto.DownloadProgress;
 import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.dto.ExportCheckpoint;
+import com.performance.excel.exception.DownloadCancelledException;
+import com.performance.excel.service.ExportCheckpointStore;
 import com.performance.excel.strategy.ExcelContext;
 import com.performance.excel.strategy.ExcelDownloadStrategy;
+import com.performance.excel.util.CheckpointableSXSSFWorkbook;
 import com.performance.excel.util.TestDataExcelBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * SXSSF CURSOR 페이징 전략 (비동기) - 권장
@@ -22,6 +30,7 @@ import java.util.List;
  * - SXSSFWorkbook 사용 (메모리 10행만 유지)
  * - ID 커서 기반 페이징
  * - Service 레이어에서 BlockingQueue로 비동기 처리
+ * - 체크포인트 기반 재개 (노드 장애/재배포 시 회수된 작업이 이어서 처리)
  * 
  * 성능:
  * - 메모리: ~18MB
@@ -36,6 +45,10 @@ public class SxssfCursorPagingStrategy implements ExcelDownloadStrategy {
     private final TestDataExcelBuilder excelBuilder;
     private static final int CHUNK_SIZE = 1000;
 
+    // 체크포인트 간격 (행 수). 청크 경계에서만 기록되므로 CHUNK_SIZE 단위로 반올림됨
+    @Value("${excel.download.checkpoint-interval:50000}")
+    private long checkpointInterval;
+
     @Override
     public DownloadRequest.DownloadType getSupportedType() {
         return DownloadRequest.DownloadType.SXSSF_CURSOR_PAGING;
@@ -54,17 +67,16 @@ public class SxssfCursorPagingStrategy implements ExcelDownloadStrategy {
             // ID 기반 커서 스트리밍으로 엑셀 직접 생성
             createExcelWithCursorStreaming(request, filePath, totalCount, context);
 
-            // 완료 알림 (안전한 WebSocket 전송)
+            // 완료 알림 (종료 상태는 주기와 관계없이 항상 전송)
+            context.registerExport(request.getFileName());
             String downloadUrl = "/api/download/file/" + request.getFileName();
             DownloadProgress completedProgress = DownloadProgress.completed(request.getRequestId(), downloadUrl);
-            try {
-                context.getProgressWebSocketHandler().sendProgress(request.getUserId(), completedProgress);
-            } catch (Exception e) {
-                log.warn("완료 알림 전송 실패: {}", e.getMessage());
-            }
+            context.getProgressReporter().report(request.getUserId(), completedProgress);
 
             log.info("SXSSF CURSOR 페이징 파일 생성 완료: {} ({}건)", request.getFileName(), totalCount);
 
+        } catch (DownloadCancelledException e) {
+            throw e;
         } catch (Exception e) {
             log.error("SXSSF CURSOR 페이징 다운로드 실패: {}", request.getRequestId(), e);
             throw new RuntimeException("SXSSF CURSOR 페이징 다운로드 실패: " + e.getMessage(), e);
@@ -75,77 +87,121 @@ public class SxssfCursorPagingStrategy implements ExcelDownloadStrategy {
      * ID 커서 기반 스트리밍 처리
      * - 1000건씩만 메모리에 로드
      * - 메모리 사용량을 일정하게 유지하는 핵심 로직
+     * - 일정 행마다 체크포인트를 남겨 회수된 작업은 마지막 체크포인트부터 재개
      */
     private void createExcelWithCursorStreaming(DownloadRequest request, String filePath, long totalCount, ExcelContext context) throws Exception {
+        ExportCheckpointStore checkpointStore = context.getCheckpointStore();
+        ExportCheckpoint checkpoint = checkpointStore != null ? checkpointStore.load(request.getRequestId()) : null;
+        File spoolFile = checkpointStore != null
+                ? checkpointStore.spoolFile(request.getRequestId())
+                : excelBuilder.createTempFile("sheet", ".xml");
+
         // 메모리에 10개 행만 유지 (최대 메모리 절약)
-        try (SXSSFWorkbook workbook = excelBuilder.createSXSSFWorkbook(10)) {
-            // 시트 설정 (컬럼 너비 + 헤더)
-            Sheet sheet = excelBuilder.setupSheet(workbook, "Test Data");
+        try (CheckpointableSXSSFWorkbook workbook = excelBuilder.createCheckpointableSXSSFWorkbook(
+                10, spoolFile, checkpoint != null ? checkpoint.getByteOffset() : 0)) {
+            // 시트 설정 (재개 시 헤더는 스풀 파일에 이미 기록되어 있음)
+            Sheet sheet = checkpoint != null
+                    ? excelBuilder.resumeSheet(workbook, "Test Data")
+                    : excelBuilder.setupSheet(workbook, "Test Data");
             CellStyle dataStyle = excelBuilder.createDataStyle(workbook);
 
-            int currentRow = 1; // 헤더 다음부터
-            long processedCount = 0;
+            WriteState state = new WriteState();
+            state.processedCount = checkpoint != null ? checkpoint.getRowCount() : 0;
+            state.currentRow = (int) state.processedCount + 1; // 헤더 다음부터
+            state.lastId = checkpoint != null ? checkpoint.getLastId() : 0L;
+            state.nextCheckpoint = state.processedCount + checkpointInterval;
+
+            if (checkpoint != null) {
+                log.info("체크포인트에서 재개: {} (lastId={}, {}건 완료)",
+                        request.getRequestId(), state.lastId, state.processedCount);
+            }
+
+            // ID 커서 기반 쿼리 (인덱스 활용)
+            String cursorSql = "SELECT id, name, description, value, category, created_at " +
+                              "FROM test_data WHERE id > ? ORDER BY id LIMIT ?";
+
+            // 조회 단계 커서 (조회 스레드에서만 변경, 쓰기보다 prefetch 청크만큼 앞서감)
+            AtomicLong fetchCursor = new AtomicLong(state.lastId);
 
             // 핵심: 전체 데이터를 한 번에 로드하지 않고 커서로 청크별로 처리
-            Long lastId = 0L;
-            while (true) {
-                // ID 커서 기반 쿼리 (인덱스 활용)
-                String cursorSql = "SELECT id, name, description, value, category, created_at " +
-                                  "FROM test_data WHERE id > ? ORDER BY id LIMIT ?";
-
-                // 청크별로만 메모리에 로드 (1000건씩)
-                List<Object[]> chunkData = context.getJdbcTemplate().query(cursorSql,
-                    new Object[]{lastId, CHUNK_SIZE},
-                    (rs, rowNum) -> new Object[]{
-                        rs.getLong("id"),
-                        rs.getString("name"),
-                        rs.getString("description"),
-                        rs.getBigDecimal("value"),
-                        rs.getString("category"),
-                        rs.getTimestamp("created_at")
-                    });
-
-                if (chunkData.isEmpty()) break;
-
-                lastId = (Long) chunkData.get(chunkData.size() - 1)[0]; // 마지막 ID 저장 (다음 커서 위치)
-
-                // 청크 데이터를 즉시 Excel에 쓰기
-                for (Object[] rowData : chunkData) {
-                    Object[] excelRowData = {
-                        rowData[0], // id
-                        rowData[1], // name
-                        rowData[2], // description
-                        rowData[3], // value
-                        rowData[4], // category
-                        ((java.sql.Timestamp)rowData[5]).toLocalDateTime()
-                                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) // created_at
-                    };
-
-                    excelBuilder.writeDataRow(sheet, currentRow++, excelRowData, dataStyle);
-                    processedCount++;
-
-                    // 진행률 업데이트 빈도 조절 (5000건마다 - WebSocket 부하 줄이기)
-                    if (processedCount % 5000 == 0) {
-                        DownloadProgress progress = DownloadProgress.processing(
-                                request.getRequestId(), totalCount, processedCount);
-                        try {
-                            context.getProgressWebSocketHandler().sendProgress(request.getUserId(), progress);
-                        } catch (Exception e) {
-                            log.warn("진행률 전송 실패: {}", e.getMessage());
-                        }
+            // 조회(I/O 스레드) 와 쓰기(작업 스레드) 를 분리하여 DB 대기 중에도 인코딩 진행
+            context.getChunkPipeline().<Object[]>run(request.getRequestId(), context.getCancellationToken(),
+                () -> {
+                    // 청크별로만 메모리에 로드 (1000건씩)
+                    List<Object[]> chunkData = context.getJdbcTemplate().query(cursorSql,
+                        new Object[]{fetchCursor.get(), CHUNK_SIZE},
+                        (rs, rowNum) -> new Object[]{
+                            rs.getLong("id"),
+                            rs.getString("name"),
+                            rs.getString("description"),
+                            rs.getBigDecimal("value"),
+                            rs.getString("category"),
+                            rs.getTimestamp("created_at")
+                        });
+                    if (!chunkData.isEmpty()) {
+                        fetchCursor.set((Long) chunkData.get(chunkData.size() - 1)[0]); // 다음 커서 위치
+                    }
+                    return chunkData;
+                },
+                chunkData -> {
+                    state.lastId = (Long) chunkData.get(chunkData.size() - 1)[0]; // 마지막으로 기록한 ID
+
+                    // 청크 데이터를 즉시 Excel에 쓰기
+                    for (Object[] rowData : chunkData) {
+                        Object[] excelRowData = {
+                            rowData[0], // id
+                            rowData[1], // name
+                            rowData[2], // description
+                            rowData[3], // value
+                            rowData[4], // category
+                            ((java.sql.Timestamp)rowData[5]).toLocalDateTime()
+                                    .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) // created_at
+                        };
+
+                        excelBuilder.writeDataRow(sheet, state.currentRow++, excelRowData, dataStyle);
+                        state.processedCount++;
+
+                        // 전송 빈도는 ProgressReporter 에서 시간 기준으로 제어
+                        context.getProgressReporter().reportProcessing(request, totalCount, state.processedCount);
                     }
-                }
 
-                // 중요: 청크 처리 후 메모리에서 제거
-                chunkData.clear();
+                    // 청크 경계에서 체크포인트 (스풀 파일 flush 후 위치 기록)
+                    if (checkpointStore != null && state.processedCount >= state.nextCheckpoint) {
+                        long byteOffset = workbook.checkpoint((SXSSFSheet) sheet);
+                        checkpointStore.save(request.getRequestId(), ExportCheckpoint.builder()
+                                .lastId(state.lastId)
+                                .rowCount(state.processedCount)
+                                .byteOffset(byteOffset)
+                                .spoolPath(spoolFile.getAbsolutePath())
+                                .build());
+                        state.nextCheckpoint = state.processedCount + checkpointInterval;
+                    }
 
-                log.debug("CURSOR 청크 처리 완료: ID {}-{} (총 {}건)", lastId - CHUNK_SIZE, lastId, processedCount);
-            }
+                    log.debug("CURSOR 청크 처리 완료: ID {}-{} (총 {}건)", state.lastId - CHUNK_SIZE, state.lastId, state.processedCount);
+                });
 
-            // 파일 저장
+            // 파일 저장 (스풀 파일은 dispose 로 삭제)
             excelBuilder.saveWorkbook(workbook, filePath);
+            if (checkpointStore != null) {
+                checkpointStore.delete(request.getRequestId());
+            }
 
-            log.info("SXSSF CURSOR 페이징 스트리밍 파일 생성: {} ({}건)", filePath, processedCount);
+            // 체크포인트에서 재개한 경우 이전 실행에서 기록한 행은 제외
+            context.recordWrittenRows(state.processedCount - (checkpoint != null ? checkpoint.getRowCount() : 0));
+            log.info("SXSSF CURSOR 페이징 스트리밍 파일 생성: {} ({}건)", filePath, state.processedCount);
+        } finally {
+            // 체크포인트 미사용 시 스풀 파일은 일반 임시 파일이므로 항상 삭제
+            if (checkpointStore == null) {
+                Files.deleteIfExists(spoolFile.toPath());
+            }
         }
     }
+
+    // 쓰기 단계 진행 상태 (작업 스레드에서만 변경)
+    private static class WriteState {
+        int currentRow;
+        long processedCount;
+        long lastId;
+        long nextCheckpoint;
+    }
 }
@@ -0,0 +1,245 @@
+package com.performance.excel.strategy.impl;
+
+import com.performance.excel.dto.DownloadProgress;
+import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.dto.IncrementalExportBase;
+import com.performance.excel.exception.DownloadCancelledException;
+import com.performance.excel.service.DataVersionTracker;
+import com.performance.excel.service.IncrementalExportBaseStore;
+import com.performance.excel.storage.ExportLocation;
+import com.performance.excel.strategy.ExcelContext;
+import com.performance.excel.strategy.ExcelDownloadStrategy;
+import com.performance.excel.util.CheckpointableSXSSFWorkbook;
+import com.performance.excel.util.TestDataExcelBuilder;
+import com.performance.excel.util.XlsxSheetAssembler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SXSSF 증분 내보내기 전략 (비동기)
+ *
+ * 특징:
+ * - 추가 위주 데이터용. 직전 증분 내보내기 파일을 기준으로 lastId 이후 행만 조회/인코딩
+ * - 기준 파일의 시트 데이터(lastId 까지)와 나머지 엔트리는 압축된 그대로 복사 (XlsxSheetAssembler)
+ * - 기준 파일이 없거나, 이 노드에 없거나, 데이터 변경 카운터가 달라졌으면(수정/삭제) 전체 생성
+ *
+ * 성능:
+ * - 100만 건 기준 파일에 5천 건 추가 시 조회/인코딩/압축은 5천 건분만 수행
+ * - 기준 파일 복사는 디스크 순차 I/O (압축 해제/재압축 없음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SxssfIncrementalStrategy implements ExcelDownloadStrategy {
+
+    private final TestDataExcelBuilder excelBuilder;
+    private final XlsxSheetAssembler sheetAssembler;
+    private final IncrementalExportBaseStore baseStore;
+    private final DataVersionTracker dataVersionTracker;
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String CURSOR_SQL = "SELECT id, name, description, value, category, created_at " +
+                                             "FROM test_data WHERE id > ? ORDER BY id LIMIT ?";
+
+    @Override
+    public DownloadRequest.DownloadType getSupportedType() {
+        return DownloadRequest.DownloadType.SXSSF_INCREMENTAL;
+    }
+
+    @Override
+    public void process(DownloadRequest request, ExcelContext context) {
+        log.info("SXSSF 증분 내보내기 처리 시작: {}", request.getRequestId());
+
+        String filePath = excelBuilder.getDownloadPath(context.getDownloadDirectory(), request.getFileName());
+
+        try {
+            // 생성 도중 수정/삭제되면 다음 작업에서 카운터가 달라 전체 생성되도록 시작 전에 읽음
+            Long modifications = dataVersionTracker.currentModifications();
+            IncrementalExportBase base = loadUsableBase(modifications);
+            File baseFile = base != null ? locateBaseFile(base, context) : null;
+            if (base != null && baseFile == null) {
+                base = null;
+            }
+
+            createIncrementalExcel(request, filePath, base, baseFile, modifications, context);
+
+            // 완료 알림 (종료 상태는 주기와 관계없이 항상 전송)
+            context.registerExport(request.getFileName());
+            String downloadUrl = "/api/download/file/" + request.getFileName();
+            DownloadProgress completedProgress = DownloadProgress.completed(request.getRequestId(), downloadUrl);
+            context.getProgressReporter().report(request.getUserId(), completedProgress);
+
+        } catch (DownloadCancelledException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("SXSSF 증분 내보내기 실패: {}", request.getRequestId(), e);
+            throw new RuntimeException("SXSSF 증분 내보내기 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 기준 파일 정보 조회 및 검증
+     * - 데이터 변경 카운터가 기준 파일 생성 시점과 다르면 기존 행이 수정/삭제된 것이므로 사용하지 않음
+     *   (행 수 비교는 전체 스캔이고 수정을 감지하지 못하므로 카운터로 판단)
+     * - 카운터를 읽지 못하면 변경 여부를 알 수 없으므로 전체 생성
+     */
+    private IncrementalExportBase loadUsableBase(Long modifications) {
+        if (modifications == null) {
+            return null;
+        }
+        IncrementalExportBase base = baseStore.load();
+        if (base == null) {
+            return null;
+        }
+
+        if (base.getModifications() != modifications) {
+            log.info("기준 파일 이후 기존 행이 변경되어 전체 생성: {} (기준 변경 카운터 {}, 현재 {})",
+                    base.getFileName(), base.getModifications(), modifications);
+            return null;
+        }
+        return base;
+    }
+
+    /**
+     * 이 노드에서 읽을 수 있는 기준 파일 (다른 노드에만 있거나 삭제됐으면 null)
+     */
+    private File locateBaseFile(IncrementalExportBase base, ExcelContext context) {
+        File file;
+        if (context.getExportStorage() != null) {
+            ExportLocation location = context.getExportStorage().locate(base.getFileName());
+            file = location.type() == ExportLocation.Type.LOCAL ? location.file() : null;
+        } else {
+            file = new File(excelBuilder.getDownloadPath(context.getDownloadDirectory(), base.getFileName()));
+        }
+
+        if (file == null || !file.isFile()) {
+            log.info("기준 파일을 이 노드에서 읽을 수 없어 전체 생성: {}", base.getFileName());
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * lastId 이후 행만 시트 XML 로 기록한 뒤 기준 파일에 이어붙여 저장
+     */
+    private void createIncrementalExcel(DownloadRequest request, String filePath,
+                                        IncrementalExportBase base, File baseFile, Long modifications,
+                                        ExcelContext context) throws Exception {
+        long startId = base != null ? base.getLastId() : 0L;
+        long baseRowCount = base != null ? base.getRowCount() : 0L;
+        // 추가 행 수 = 전체 - 기준 행 수 (변경 카운터가 같으면 lastId 이하 행은 기준 파일과 동일. 진행률 표시용)
+        long totalCount = Math.max(context.getTestDataRepository().getTotalCount() - baseRowCount, 0L);
+
+        log.info("SXSSF 증분 내보내기: {} (기준 {}, 기존 {}건, 추가 {}건)",
+                request.getRequestId(), base != null ? base.getFileName() : "없음", baseRowCount, totalCount);
+
+        File rowsXml = excelBuilder.createTempFile("incremental", ".xml");
+        File template = excelBuilder.createTempFile("template", ".xlsx");
+
+        // 메모리에 10개 행만 유지, 행 XML 은 rowsXml 에 기록
+        try (CheckpointableSXSSFWorkbook workbook = excelBuilder.createCheckpointableSXSSFWorkbook(10, rowsXml, 0)) {
+            // 기준 파일이 있으면 헤더는 이미 기준 파일에 있음 (스타일 인덱스는 동일하게 맞춤)
+            Sheet sheet = base != null
+                    ? excelBuilder.resumeSheet(workbook, "Test Data")
+                    : excelBuilder.setupSheet(workbook, "Test Data");
+            CellStyle dataStyle = excelBuilder.createDataStyle(workbook);
+
+            AtomicLong fetchCursor = new AtomicLong(startId);
+            WriteState state = new WriteState();
+            state.currentRow = (int) baseRowCount + 1; // 헤더 + 기존 행 다음부터
+            state.lastId = startId;
+
+            context.getChunkPipeline().<Object[]>run(request.getRequestId(), context.getCancellationToken(),
+                () -> {
+                    List<Object[]> chunkData = context.getJdbcTemplate().query(CURSOR_SQL,
+                        new Object[]{fetchCursor.get(), CHUNK_SIZE},
+                        (rs, rowNum) -> new Object[]{
+                            rs.getLong("id"),
+                            rs.getString("name"),
+                            rs.getString("description"),
+                            rs.getBigDecimal("value"),
+                            rs.getString("category"),
+                            rs.getTimestamp("created_at")
+                        });
+                    if (!chunkData.isEmpty()) {
+                        fetchCursor.set((Long) chunkData.get(chunkData.size() - 1)[0]);
+                    }
+                    return chunkData;
+                },
+                chunkData -> {
+                    state.lastId = (Long) chunkData.get(chunkData.size() - 1)[0];
+
+                    for (Object[] rowData : chunkData) {
+                        Object[] excelRowData = {
+                            rowData[0], // id
+                            rowData[1], // name
+                            rowData[2], // description
+                            rowData[3], // value
+                            rowData[4], // category
+                            ((java.sql.Timestamp) rowData[5]).toLocalDateTime()
+                                    .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) // created_at
+                        };
+
+                        excelBuilder.writeDataRow(sheet, state.currentRow++, excelRowData, dataStyle);
+                        state.processedCount++;
+
+                        context.getProgressReporter().reportProcessing(request, totalCount, state.processedCount);
+                    }
+                });
+
+            // 행 없는 템플릿 워크북 저장
+            try (FileOutputStream templateOut = new FileOutputStream(template)) {
+                workbook.getXSSFWorkbook().write(templateOut);
+            }
+            String sheetEntry = workbook.getXSSFWorkbook().getSheetAt(0)
+                    .getPackagePart().getPartName().getName().substring(1);
+
+            XlsxSheetAssembler.SheetPrefix basePrefix = base != null
+                    ? new XlsxSheetAssembler.SheetPrefix(base.getRawPrefixLength(), base.getPrefixLength(), base.getPrefixCrc())
+                    : null;
+            // 남은 행을 모두 rowsXml 에 기록한 뒤 읽기 (임시 파일 압축 설정에 맞춰 해제)
+            XlsxSheetAssembler.SheetPrefix prefix;
+            try (InputStream rows = ((SXSSFSheet) sheet).getWorksheetXMLInputStream()) {
+                prefix = sheetAssembler.assemble(template, sheetEntry, rows, baseFile, basePrefix, new File(filePath));
+            }
+
+            // 다음 증분 작업의 기준으로 등록
+            baseStore.save(IncrementalExportBase.builder()
+                    .fileName(request.getFileName())
+                    .sheetEntry(sheetEntry)
+                    .lastId(state.lastId)
+                    .rowCount(baseRowCount + state.processedCount)
+                    .rawPrefixLength(prefix.rawLength())
+                    .prefixLength(prefix.length())
+                    .prefixCrc(prefix.crc())
+                    .modifications(modifications != null ? modifications : -1L) // 카운터를 모르면 다음 작업에서 기준으로 쓰지 않음
+                    .build());
+
+            context.recordWrittenRows(state.processedCount);
+            log.info("SXSSF 증분 내보내기 파일 생성: {} (전체 {}건, 추가 {}건)",
+                    filePath, baseRowCount + state.processedCount, state.processedCount);
+        } finally {
+            Files.deleteIfExists(rowsXml.toPath());
+            Files.deleteIfExists(template.toPath());
+        }
+    }
+
+    // 쓰기 단계 진행 상태 (작업 스레드에서만 변경)
+    private static class WriteState {
+        int currentRow;
+        long processedCount;
+        long lastId;
+    }
+}
@@ -2,6 +2,7 @@ package com.performance.excel.strategy.impl;
 
 import com.performance.excel.dto.DownloadProgress;
 import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.exception.DownloadCancelledException;
 import com.performance.excel.strategy.ExcelContext;
 import com.performance.excel.strategy.ExcelDownloadStrategy;
 import com.performance.excel.util.TestDataExcelBuilder;
@@ -53,6 +54,9 @@ public class SxssfOffsetPagingStrategy implements ExcelDownloadStrategy {
             
             // ROWNUM 기반 페이징 처리
             for (long startRow = 1; startRow <= totalCount; startRow += BATCH_SIZE) {
+                // 페이지 경계에서 취소 확인
+                context.getCancellationToken().throwIfCancelled(request.getRequestId());
+
                 long endRow = Math.min(startRow + BATCH_SIZE - 1, totalCount);
                 
                 // ROWNUM(OFFSET) 쿼리로 데이터 조회
@@ -91,16 +95,8 @@ public class SxssfOffsetPagingStrategy implements ExcelDownloadStrategy {
                     excelBuilder.writeDataRow(sheet, currentRow++, excelRowData, dataStyle);
                     processedCount++;
                     
-                    // 진행률 업데이트 빈도 조절 (5000건마다)
-                    if (processedCount % 5000 == 0) {
-                        DownloadProgress progress = DownloadProgress.processing(
-                                request.getRequestId(), totalCount, processedCount);
-                        try {
-                            context.getProgressWebSocketHandler().sendProgress(request.getUserId(), progress);
-                        } catch (Exception e) {
-                            log.warn("진행률 전송 실패: {}", e.getMessage());
-                        }
-                    }
+                    // 전송 빈도는 ProgressReporter 에서 시간 기준으로 제어
+                    context.getProgressReporter().reportProcessing(request, totalCount, processedCount);
                 }
                 
                 // 페이지 처리 완료 로그
@@ -119,16 +115,16 @@ public class SxssfOffsetPagingStrategy implements ExcelDownloadStrategy {
             excelBuilder.saveWorkbook(workbook, filePath);
             
             // 완료 알림
+            context.registerExport(request.getFileName());
             String downloadUrl = "/api/download/file/" + request.getFileName();
             DownloadProgress completedProgress = DownloadProgress.completed(request.getRequestId(), downloadUrl);
-            try {
-                context.getProgressWebSocketHandler().sendProgress(request.getUserId(), completedProgress);
-            } catch (Exception e) {
-                log.warn("완료 알림 전송 실패: {}", e.getMessage());
-            }
+            context.getProgressReporter().report(request.getUserId(), completedProgress);
             
+            context.recordWrittenRows(processedCount);
             log.info("SXSSF OFFSET 페이징 파일 생성 완료: {} ({}건)", request.getFileName(), processedCount);
             
+        } catch (DownloadCancelledException e) {
+            throw e;
         } catch (Exception e) {
             log.error("SXSSF OFFSET 페이징 파일 생성 실패: {}", request.getRequestId(), e);
             throw new RuntimeException("SXSSF OFFSET 페이징 파일 생성 실패: " + e.getMessage(), e);
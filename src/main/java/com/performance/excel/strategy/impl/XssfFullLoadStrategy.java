@@ -2,6 +2,7 @@ package com.performance.excel.strategy.impl;
 
 import com.performance.excel.dto.DownloadProgress;
 import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.exception.DownloadCancelledException;
 import com.performance.excel.entity.TestData;
 import com.performance.excel.strategy.ExcelContext;
 import com.performance.excel.strategy.ExcelDownloadStrategy;
@@ -35,6 +36,7 @@ import java.util.List;
 public class XssfFullLoadStrategy implements ExcelDownloadStrategy {
     
     private final TestDataExcelBuilder excelBuilder;
+    private static final int CANCEL_CHECK_INTERVAL = 1000;
     
     @Override
     public void process(DownloadRequest request, ExcelContext context) {
@@ -45,6 +47,7 @@ public class XssfFullLoadStrategy implements ExcelDownloadStrategy {
         
         // XSSFWorkbook으로 엑셀 생성
         createExcelWithXSSF(request, allData, context);
+        context.recordWrittenRows(allData.size());
         
         log.info("XSSF 전체 로드 파일 생성 완료: {} ({}건)", request.getFileName(), allData.size());
     }
@@ -64,6 +67,11 @@ public class XssfFullLoadStrategy implements ExcelDownloadStrategy {
             
             int rowIndex = 1;
             for (TestData data : allData) {
+                // 1000행마다 취소 확인
+                if (rowIndex % CANCEL_CHECK_INTERVAL == 0) {
+                    context.getCancellationToken().throwIfCancelled(request.getRequestId());
+                }
+
                 Object[] rowData = {
                     data.getId(),
                     data.getName(),
@@ -80,10 +88,13 @@ public class XssfFullLoadStrategy implements ExcelDownloadStrategy {
             excelBuilder.saveWorkbook(workbook, filePath);
             
             // 완료 알림
+            context.registerExport(request.getFileName());
             String downloadUrl = "/api/download/file/" + request.getFileName();
             DownloadProgress completedProgress = DownloadProgress.completed(request.getRequestId(), downloadUrl);
-            context.getProgressWebSocketHandler().sendProgress(request.getRequestId(), completedProgress);
+            context.getProgressReporter().report(request.getUserId(), completedProgress);
             
+        } catch (DownloadCancelledException e) {
+            throw e;
         } catch (Exception e) {
             log.error("XSSF 전체 로드 파일 생성 실패: {}", request.getRequestId(), e);
             throw new RuntimeException("XSSF 전체 로드 파일 생성 실패: " + e.getMessage(), e);
@@ -0,0 +1,74 @@
+package com.performance.excel.util;
+
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * 체크포인트 가능한 SXSSF Workbook
+ * - 시트 XML 을 POI 임시 파일 대신 지정한 스풀 파일에 기록 (작업이 중단돼도 남아 있음)
+ * - checkpoint() 시점까지 flush 된 길이를 기록해두면, 재개 시 그 길이로 잘라낸 뒤 이어서 기록
+ * - 단일 시트 전용 (스풀 파일 1개)
+ * - 압축 여부는 TempSheetBackend 설정을 따름 (SYNC_FLUSH 로 checkpoint 길이가 항상 바이트 경계)
+ * - close() 로는 스풀 파일을 삭제하지 않음 (dispose() 또는 호출자가 삭제)
+ */
+public class CheckpointableSXSSFWorkbook extends SXSSFWorkbook {
+
+    private final TempSheetBackend backend;
+    private final File spoolFile;
+    private final long resumeOffset;
+    private boolean closing = false;
+
+    /**
+     * @param resumeOffset 재개할 스풀 파일 길이 (0 이면 새로 생성)
+     */
+    public CheckpointableSXSSFWorkbook(int rowAccessWindowSize, TempSheetBackend backend, File spoolFile, long resumeOffset) {
+        super(rowAccessWindowSize);
+        this.backend = backend;
+        this.spoolFile = spoolFile;
+        this.resumeOffset = resumeOffset;
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        // 마지막 체크포인트 이후 기록된 불완전한 내용 제거
+        try (RandomAccessFile file = new RandomAccessFile(spoolFile, "rw")) {
+            file.setLength(resumeOffset);
+        }
+
+        return TempSheetDataWriter.create(backend, spoolFile);
+    }
+
+    /**
+     * close() 는 dispose() 까지 호출하므로, 중단된 작업의 스풀 파일이 지워지지 않도록 막음
+     * - 정상 완료 시에는 saveWorkbook() 의 dispose() 로 삭제
+     * - 실패/취소 시에는 ExportCheckpointStore.discard() 로 삭제
+     */
+    @Override
+    public void close() throws IOException {
+        closing = true;
+        try {
+            super.close();
+        } finally {
+            closing = false;
+        }
+    }
+
+    @Override
+    public boolean dispose() {
+        return !closing && super.dispose();
+    }
+
+    /**
+     * 메모리의 행을 모두 스풀 파일에 기록하고 유효한 길이 반환
+     */
+    public long checkpoint(SXSSFSheet sheet) throws IOException {
+        sheet.flushRows();
+        sheet.flushBufferedData();
+        return spoolFile.length();
+    }
+}
@@ -0,0 +1,105 @@
+package com.performance.excel.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.performance.excel.dto.DownloadCost;
+import com.performance.excel.dto.DownloadRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Redis Stream 메시지 <-> DownloadRequest 변환 (평면 필드 인코딩)
+ *
+ * 이전 방식: {requestId: "...", data: "{JSON}"} → requestId 중복 저장 + 메시지마다 Jackson 직렬화
+ * 현재 방식: {id, type, user, file, cost} 필드를 그대로 저장 (cost 는 "rows,out,heap,tmp")
+ * - Stream listpack 에 필드명/값만 저장되어 메시지 크기 감소
+ * - 직렬화는 문자열 연결/파싱만 수행
+ * - 배포 중 남아있는 이전 형식(data 필드) 메시지도 읽을 수 있도록 JSON 디코딩 유지
+ */
+@Component
+public class DownloadRequestCodec {
+
+    public static final String FIELD_REQUEST_ID = "id";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_USER_ID = "user";
+    private static final String FIELD_FILE_NAME = "file";
+    private static final String FIELD_COST = "cost";
+    private static final String LEGACY_FIELD_DATA = "data";
+
+    private final ObjectMapper objectMapper;
+
+    public DownloadRequestCodec(@Qualifier("redisObjectMapper") ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public Map<String, String> encode(DownloadRequest request) {
+        Map<String, String> fields = new HashMap<>(8);
+        fields.put(FIELD_REQUEST_ID, request.getRequestId());
+        fields.put(FIELD_TYPE, request.getDownloadType().name());
+        fields.put(FIELD_FILE_NAME, request.getFileName());
+        if (request.getUserId() != null) {
+            fields.put(FIELD_USER_ID, request.getUserId());
+        }
+
+        DownloadCost cost = request.getCost();
+        if (cost != null) {
+            fields.put(FIELD_COST, cost.getRowCount() + "," + cost.getOutputBytes() + ","
+                    + cost.getHeapBytes() + "," + cost.getTempDiskBytes());
+        }
+        return fields;
+    }
+
+    /**
+     * 메시지 필드로부터 요청 복원
+     * - Spring Data Redis MapRecord(String 값) 와 Lettuce StreamMessage(byte[] 키/값) 모두 지원
+     * @return 요청 (요청 메시지가 아니면 null)
+     */
+    public DownloadRequest decode(Map<?, ?> rawFields) throws Exception {
+        Map<String, String> fields = new HashMap<>(8);
+        for (Map.Entry<?, ?> entry : rawFields.entrySet()) {
+            fields.put(asString(entry.getKey()), asString(entry.getValue()));
+        }
+
+        String legacyJson = fields.get(LEGACY_FIELD_DATA);
+        if (legacyJson != null) {
+            return objectMapper.readValue(legacyJson, DownloadRequest.class);
+        }
+
+        String requestId = fields.get(FIELD_REQUEST_ID);
+        if (requestId == null) {
+            return null;
+        }
+
+        return DownloadRequest.builder()
+                .requestId(requestId)
+                .downloadType(DownloadRequest.DownloadType.valueOf(fields.get(FIELD_TYPE)))
+                .fileName(fields.get(FIELD_FILE_NAME))
+                .userId(fields.get(FIELD_USER_ID))
+                .cost(decodeCost(fields.get(FIELD_COST)))
+                .build();
+    }
+
+    private DownloadCost decodeCost(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String[] parts = value.split(",");
+        return DownloadCost.builder()
+                .rowCount(Long.parseLong(parts[0]))
+                .outputBytes(Long.parseLong(parts[1]))
+                .heapBytes(Long.parseLong(parts[2]))
+                .tempDiskBytes(Long.parseLong(parts[3]))
+                .build();
+    }
+
+    private static String asString(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : value.toString();
+    }
+}
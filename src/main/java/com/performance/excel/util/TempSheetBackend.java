@@ -0,0 +1,135 @@
+package com.performance.excel.util;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * SXSSF 임시 시트 XML 저장 방식 (디렉토리 + 압축)
+ *
+ * 이전 방식: POI 기본값 (java.io.tmpdir/poifiles 에 비압축 XML) → 행마다 임시 파일과 ZIP 에 두 번 기록
+ * 현재 방식: 디렉토리와 압축 방식을 설정으로 선택
+ * - directory: tmpfs 등 빠른 위치 지정 가능 (비우면 POI 기본 위치)
+ * - compression: NONE / DEFLATE_FAST (레벨 1) / DEFLATE (기본 레벨)
+ *   압축은 헤더 없는 deflate + SYNC_FLUSH 이므로 flush 지점에서 바이트 경계가 맞아
+ *   체크포인트 길이로 잘라낸 뒤 이어쓰기(재개)가 그대로 동작
+ * - 임시 파일은 워크북 dispose / 작업 종료 시 삭제. 정리 스케줄러는 비정상 종료로 남은 파일만 처리
+ */
+@Slf4j
+@Component
+public class TempSheetBackend {
+
+    public enum Compression {
+        NONE,           // 비압축 (CPU 최소, 디스크 I/O 최대)
+        DEFLATE_FAST,   // deflate 레벨 1 (시트 XML 기준 약 1/9, CPU 부담 작음)
+        DEFLATE         // deflate 기본 레벨 (디스크 최소, CPU 부담 큼)
+    }
+
+    public static final String TEMP_FILE_PREFIX = "poi-sxssf-";
+    private static final String POI_TMP_DIR = "poifiles";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Getter
+    private final Compression compression;
+    @Getter
+    private final File directory;
+
+    public TempSheetBackend(@Value("${excel.download.temp-sheet.compression:NONE}") Compression compression,
+                            @Value("${excel.download.temp-sheet.directory:}") String directory) {
+        this.compression = compression;
+        this.directory = directory.isBlank()
+                ? new File(System.getProperty("java.io.tmpdir"), POI_TMP_DIR)
+                : new File(directory);
+        log.info("SXSSF temp sheet backend: {} (compression: {})", this.directory.getAbsolutePath(), compression);
+    }
+
+    /**
+     * 설정한 디렉토리에 임시 파일 생성 (poi-sxssf-{name}*{suffix})
+     */
+    public File createTempFile(String name, String suffix) throws IOException {
+        if (!directory.exists() && !directory.mkdirs() && !directory.exists()) {
+            throw new IOException("임시 디렉토리 생성 실패: " + directory.getAbsolutePath());
+        }
+        return Files.createTempFile(directory.toPath(), TEMP_FILE_PREFIX + name, suffix).toFile();
+    }
+
+    /**
+     * 임시 디렉토리의 여유 공간 (아직 생성 전이면 가장 가까운 상위 디렉토리 기준)
+     */
+    public long getUsableSpace() {
+        File dir = existingDirectory();
+        return dir != null ? dir.getUsableSpace() : 0L;
+    }
+
+    /**
+     * 임시 디렉토리가 있는 파일 시스템의 전체 용량
+     */
+    public long getTotalSpace() {
+        File dir = existingDirectory();
+        return dir != null ? dir.getTotalSpace() : 0L;
+    }
+
+    private File existingDirectory() {
+        File dir = directory.getAbsoluteFile();
+        while (dir != null && !dir.exists()) {
+            dir = dir.getParentFile();
+        }
+        return dir;
+    }
+
+    /**
+     * 임시 파일 기록 스트림 (flush 시 SYNC_FLUSH 로 기록된 길이가 곧 재개 가능한 길이)
+     */
+    public OutputStream wrapOutput(OutputStream out) {
+        return switch (compression) {
+            case NONE -> out;
+            case DEFLATE_FAST -> deflating(out, Deflater.BEST_SPEED);
+            case DEFLATE -> deflating(out, Deflater.DEFAULT_COMPRESSION);
+        };
+    }
+
+    /**
+     * 임시 파일 읽기 스트림
+     */
+    public InputStream wrapInput(InputStream in) {
+        if (compression == Compression.NONE) {
+            return in;
+        }
+        Inflater inflater = new Inflater(true);
+        return new InflaterInputStream(in, inflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    private OutputStream deflating(OutputStream out, int level) {
+        Deflater deflater = new Deflater(level, true);
+        return new DeflaterOutputStream(out, deflater, BUFFER_SIZE, true) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+}
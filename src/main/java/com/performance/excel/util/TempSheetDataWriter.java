@@ -0,0 +1,63 @@
+package com.performance.excel.util;
+
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * TempSheetBackend 의 디렉토리/압축 설정을 적용한 SheetDataWriter
+ * - spoolFile 을 지정하면 그 파일에 이어서 기록 (체크포인트 재개용), 없으면 설정한 디렉토리에 새 임시 파일 생성
+ */
+class TempSheetDataWriter extends SheetDataWriter {
+
+    // SheetDataWriter 생성자에서 createTempFile() / createWriter() 가 호출되므로 생성 중에만 설정 전달
+    private static final ThreadLocal<Settings> SETTINGS = new ThreadLocal<>();
+
+    private record Settings(TempSheetBackend backend, File spoolFile) {
+    }
+
+    private final TempSheetBackend backend;
+
+    static SheetDataWriter create(TempSheetBackend backend, File spoolFile) throws IOException {
+        SETTINGS.set(new Settings(backend, spoolFile));
+        try {
+            return new TempSheetDataWriter();
+        } finally {
+            SETTINGS.remove();
+        }
+    }
+
+    private TempSheetDataWriter() throws IOException {
+        super();
+        this.backend = SETTINGS.get().backend();
+    }
+
+    @Override
+    public File createTempFile() throws IOException {
+        Settings settings = SETTINGS.get();
+        return settings.spoolFile() != null
+                ? settings.spoolFile()
+                : settings.backend().createTempFile("sheet", ".xml");
+    }
+
+    @Override
+    public Writer createWriter(File fd) throws IOException {
+        Settings settings = SETTINGS.get();
+        // 스풀 파일은 이어쓰기 모드 (재개 시 기존 행 유지)
+        FileOutputStream fos = new FileOutputStream(fd, settings.spoolFile() != null);
+        return new BufferedWriter(new OutputStreamWriter(settings.backend().wrapOutput(fos), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected InputStream decorateInputStream(FileInputStream fis) {
+        return backend.wrapInput(fis);
+    }
+}
@@ -1,8 +1,10 @@
 package com.performance.excel.util;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Component;
 
@@ -12,13 +14,49 @@ import java.io.IOException;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class TestDataExcelBuilder {
+
+    // 임시 시트 XML 디렉토리/압축 설정
+    private final TempSheetBackend tempSheetBackend;
     
     /**
      * SXSSF Workbook 생성 (메모리 효율적)
+     * - 임시 시트 XML 은 TempSheetBackend 설정(디렉토리/압축)으로 기록
+     * - close() 시 임시 파일까지 삭제 (취소/실패로 saveWorkbook 에 도달하지 못한 경우 대비)
      */
     public SXSSFWorkbook createSXSSFWorkbook(int rowAccessWindowSize) {
-        return new SXSSFWorkbook(rowAccessWindowSize);
+        return new SXSSFWorkbook(rowAccessWindowSize) {
+            @Override
+            protected SheetDataWriter createSheetDataWriter() throws IOException {
+                return TempSheetDataWriter.create(tempSheetBackend, null);
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    dispose();
+                }
+            }
+        };
+    }
+    
+    /**
+     * 체크포인트 가능한 SXSSF Workbook 생성
+     * - resumeOffset 이 0 보다 크면 스풀 파일의 기존 행 뒤에 이어서 기록
+     */
+    public CheckpointableSXSSFWorkbook createCheckpointableSXSSFWorkbook(int rowAccessWindowSize, File spoolFile, long resumeOffset) {
+        return new CheckpointableSXSSFWorkbook(rowAccessWindowSize, tempSheetBackend, spoolFile, resumeOffset);
+    }
+    
+    /**
+     * 작업용 임시 파일 생성 (TempSheetBackend 디렉토리)
+     * - 호출한 작업이 종료 시 삭제
+     */
+    public File createTempFile(String name, String suffix) throws IOException {
+        return tempSheetBackend.createTempFile(name, suffix);
     }
     
     /**
@@ -38,6 +76,18 @@ public class TestDataExcelBuilder {
         return sheet;
     }
     
+    /**
+     * 체크포인트 재개용 시트 설정
+     * - 헤더 행은 이미 스풀 파일에 있으므로 기록하지 않음
+     * - 헤더 스타일을 먼저 만들어 데이터 스타일 인덱스를 최초 실행과 동일하게 맞춤
+     */
+    public Sheet resumeSheet(Workbook workbook, String sheetName) {
+        Sheet sheet = workbook.createSheet(sheetName);
+        setColumnWidths(sheet);
+        createHeaderStyle(workbook);
+        return sheet;
+    }
+    
     /**
      * 엑셀 컬럼 너비 설정
      */
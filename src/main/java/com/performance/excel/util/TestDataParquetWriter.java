@@ -0,0 +1,150 @@
+package com.performance.excel.util;
+
+import com.performance.excel.entity.TestData;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * test_data 행을 Parquet 으로 기록 (Parquet 내보내기용)
+ *
+ * 이전 방식: XLSX 로 내보낸 뒤 데이터팀이 다시 파싱하여 Parquet 으로 변환
+ * 현재 방식: 행을 바로 컬럼 단위 row group 으로 기록
+ * - TestData 를 RecordConsumer 에 직접 기록 (중간 Group 객체 없음)
+ * - 반복 값이 많은 category / description 만 dictionary 인코딩 (name 은 행마다 달라 사전이 커지기만 함)
+ * - 메모리는 row group 크기로 제한 (row group 이 차면 파일에 기록 후 버퍼 재사용)
+ * - 로컬 파일에 순차 기록 (Hadoop 파일시스템 미사용)
+ */
+public final class TestDataParquetWriter {
+
+    private static final int VALUE_PRECISION = 38;
+    private static final int VALUE_SCALE = 2;
+
+    public static final MessageType SCHEMA = Types.buildMessage()
+            .required(PrimitiveTypeName.INT64).named("id")
+            .required(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named("name")
+            .optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named("description")
+            .required(PrimitiveTypeName.BINARY)
+                    .as(LogicalTypeAnnotation.decimalType(VALUE_SCALE, VALUE_PRECISION)).named("value")
+            .required(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named("category")
+            .optional(PrimitiveTypeName.INT64)
+                    .as(LogicalTypeAnnotation.timestampType(false, LogicalTypeAnnotation.TimeUnit.MILLIS))
+                    .named("created_at")
+            .named("test_data");
+
+    private TestDataParquetWriter() {
+    }
+
+    /**
+     * @param rowGroupSize row group 크기 (작업당 버퍼 메모리 상한)
+     * @param pageSize     컬럼 페이지 크기
+     */
+    public static ParquetWriter<TestData> open(File target, long rowGroupSize, int pageSize,
+                                               CompressionCodecName compression) throws IOException {
+        return new Builder(new LocalOutputFile(target.toPath()))
+                .withConf(new PlainParquetConfiguration())
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                .withRowGroupSize(rowGroupSize)
+                .withPageSize(pageSize)
+                .withCompressionCodec(compression)
+                .withDictionaryEncoding(false)
+                .withDictionaryEncoding("category", true)
+                .withDictionaryEncoding("description", true)
+                .build();
+    }
+
+    private static final class Builder extends ParquetWriter.Builder<TestData, Builder> {
+
+        private Builder(LocalOutputFile file) {
+            super(file);
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        @Override
+        protected WriteSupport<TestData> getWriteSupport(Configuration conf) {
+            return new TestDataWriteSupport();
+        }
+
+        @Override
+        protected WriteSupport<TestData> getWriteSupport(ParquetConfiguration conf) {
+            return new TestDataWriteSupport();
+        }
+    }
+
+    private static final class TestDataWriteSupport extends WriteSupport<TestData> {
+
+        private RecordConsumer consumer;
+
+        @Override
+        public WriteContext init(Configuration configuration) {
+            return new WriteContext(SCHEMA, Map.of());
+        }
+
+        @Override
+        public WriteContext init(ParquetConfiguration configuration) {
+            return new WriteContext(SCHEMA, Map.of());
+        }
+
+        @Override
+        public void prepareForWrite(RecordConsumer recordConsumer) {
+            this.consumer = recordConsumer;
+        }
+
+        @Override
+        public void write(TestData row) {
+            consumer.startMessage();
+            writeLong(0, "id", row.getId());
+            writeString(1, "name", row.getName());
+            if (row.getDescription() != null) {
+                writeString(2, "description", row.getDescription());
+            }
+            writeDecimal(3, "value", row.getValue());
+            writeString(4, "category", row.getCategory());
+            if (row.getCreatedAt() != null) {
+                writeLong(5, "created_at", row.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+            }
+            consumer.endMessage();
+        }
+
+        private void writeLong(int index, String field, long value) {
+            consumer.startField(field, index);
+            consumer.addLong(value);
+            consumer.endField(field, index);
+        }
+
+        private void writeString(int index, String field, String value) {
+            consumer.startField(field, index);
+            consumer.addBinary(Binary.fromString(value));
+            consumer.endField(field, index);
+        }
+
+        private void writeDecimal(int index, String field, BigDecimal value) {
+            consumer.startField(field, index);
+            consumer.addBinary(Binary.fromConstantByteArray(
+                    value.setScale(VALUE_SCALE, RoundingMode.HALF_UP).unscaledValue().toByteArray()));
+            consumer.endField(field, index);
+        }
+    }
+}
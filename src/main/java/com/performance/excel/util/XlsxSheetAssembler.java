@@ -0,0 +1,248 @@
+package com.performance.excel.util;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Enumeration;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * 시트 행 XML 을 이어붙여 XLSX 를 조립 (증분 내보내기용)
+ *
+ * SXSSF 의 저장 방식: 템플릿 워크북 + 행 XML 전체를 다시 압축
+ * 현재 방식: 시트 엔트리를 (머리말 + 행) / (꼬리말) 두 구간으로 나눠 압축
+ * - 행 구간 끝에서 SYNC_FLUSH 하여 압축 데이터가 바이트 경계에서 끝나도록 함
+ * - 다음 증분 작업은 이전 파일의 그 구간을 압축된 그대로 복사하고, 새 행과 꼬리말만 압축해서 이어붙임
+ * - 나머지 엔트리(스타일, 워크북 등)는 템플릿에서 압축된 그대로 복사
+ * - 전체 CRC 는 구간별 CRC 를 결합하여 계산 (이전 구간을 다시 읽지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+public class XlsxSheetAssembler {
+
+    private static final byte[] EMPTY_SHEET_DATA = "<sheetData/>".getBytes(StandardCharsets.UTF_8);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TempSheetBackend tempSheetBackend;
+
+    /**
+     * 재사용 가능한 시트 압축 구간 (다음 증분 작업의 기준)
+     * @param rawLength 압축 데이터 길이
+     * @param length    압축 해제 길이
+     * @param crc       압축 해제 데이터의 CRC-32
+     */
+    public record SheetPrefix(long rawLength, long length, long crc) {
+    }
+
+    /**
+     * XLSX 조립
+     * @param template   행이 없는 템플릿 워크북 (SXSSF 의 XSSF 워크북을 그대로 저장한 파일)
+     * @param sheetEntry 시트 XML 엔트리 이름 (예: xl/worksheets/sheet1.xml)
+     * @param rowsXml    이어붙일 행 XML (SheetDataWriter 출력, 압축 해제된 스트림)
+     * @param baseFile   기준 파일 (null 이면 머리말부터 새로 생성)
+     * @param basePrefix 기준 파일의 재사용 구간 (baseFile 이 null 이면 무시)
+     * @return 생성한 파일의 재사용 구간
+     */
+    public SheetPrefix assemble(File template, String sheetEntry, InputStream rowsXml,
+                                File baseFile, SheetPrefix basePrefix, File target) throws IOException {
+        File compressedTail = tempSheetBackend.createTempFile("tail", ".deflate");
+        try (ZipFile templateZip = ZipFile.builder().setFile(template).get();
+             ZipFile baseZip = baseFile != null ? ZipFile.builder().setFile(baseFile).get() : null) {
+
+            ZipArchiveEntry templateSheet = templateZip.getEntry(sheetEntry);
+            if (templateSheet == null) {
+                throw new IOException("템플릿에 시트 엔트리가 없음: " + sheetEntry);
+            }
+            byte[][] sheetParts = splitSheetXml(templateZip, templateSheet);
+
+            // 1. 새로 압축할 구간: (머리말) + 행 → SYNC_FLUSH → 꼬리말 → FINISH
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            CRC32 rowsCrc = new CRC32();
+            CRC32 footerCrc = new CRC32();
+            long rowsLength = 0;
+            long rowsRawLength;
+            try (OutputStream fileOut = new BufferedOutputStream(new FileOutputStream(compressedTail), BUFFER_SIZE);
+                 DeflaterOutputStream deflaterOut = new DeflaterOutputStream(fileOut, deflater, BUFFER_SIZE, true)) {
+
+                if (baseFile == null) {
+                    deflaterOut.write(sheetParts[0]);
+                    rowsCrc.update(sheetParts[0]);
+                    rowsLength += sheetParts[0].length;
+                }
+
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = rowsXml.read(buffer)) != -1) {
+                    deflaterOut.write(buffer, 0, read);
+                    rowsCrc.update(buffer, 0, read);
+                    rowsLength += read;
+                }
+
+                // syncFlush 모드이므로 flush() 가 SYNC_FLUSH 수행 후 파일까지 기록
+                deflaterOut.flush();
+                rowsRawLength = compressedTail.length();
+
+                deflaterOut.write(sheetParts[1]);
+                footerCrc.update(sheetParts[1]);
+                deflaterOut.finish();
+            } finally {
+                deflater.end();
+            }
+
+            // 2. 재사용 구간 계산 (기준 구간 + 새 행)
+            SheetPrefix prefix = baseFile == null
+                    ? new SheetPrefix(rowsRawLength, rowsLength, rowsCrc.getValue())
+                    : new SheetPrefix(basePrefix.rawLength() + rowsRawLength,
+                            basePrefix.length() + rowsLength,
+                            combineCrc(basePrefix.crc(), rowsCrc.getValue(), rowsLength));
+
+            // 3. ZIP 조립 (모든 엔트리 재압축 없이 기록)
+            ZipArchiveEntry baseSheet = baseZip != null ? baseZip.getEntry(sheetEntry) : null;
+            if (baseZip != null && baseSheet == null) {
+                throw new IOException("기준 파일에 시트 엔트리가 없음: " + sheetEntry);
+            }
+
+            // 앞쪽 바이트를 되돌아가 고치지 않도록 스트림으로 기록 (생성 중 다운로드가 기록된 바이트를 바로 전송)
+            // 모든 엔트리의 크기/CRC 를 미리 알고 있으므로 로컬 헤더에 그대로 기록됨
+            try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(target), BUFFER_SIZE))) {
+                Enumeration<ZipArchiveEntry> entries = templateZip.getEntriesInPhysicalOrder();
+                while (entries.hasMoreElements()) {
+                    ZipArchiveEntry entry = entries.nextElement();
+                    if (!entry.getName().equals(sheetEntry)) {
+                        try (InputStream raw = templateZip.getRawInputStream(entry)) {
+                            out.addRawArchiveEntry(entry, raw);
+                        }
+                        continue;
+                    }
+
+                    ZipArchiveEntry sheet = new ZipArchiveEntry(sheetEntry);
+                    sheet.setMethod(ZipEntry.DEFLATED);
+                    sheet.setTime(entry.getTime());
+                    sheet.setSize(prefix.length() + sheetParts[1].length);
+                    sheet.setCompressedSize((baseSheet != null ? basePrefix.rawLength() : 0) + compressedTail.length());
+                    sheet.setCrc(combineCrc(prefix.crc(), footerCrc.getValue(), sheetParts[1].length));
+
+                    try (InputStream tail = new FileInputStream(compressedTail);
+                         InputStream data = baseSheet != null
+                                 ? new SequenceInputStream(BoundedInputStream.builder()
+                                         .setInputStream(baseZip.getRawInputStream(baseSheet))
+                                         .setMaxCount(basePrefix.rawLength())
+                                         .get(), tail)
+                                 : tail) {
+                        out.addRawArchiveEntry(sheet, data);
+                    }
+                }
+            }
+            return prefix;
+        } finally {
+            Files.deleteIfExists(compressedTail.toPath());
+        }
+    }
+
+    /**
+     * 템플릿 시트 XML 을 머리말 (~ &lt;sheetData&gt;) 과 꼬리말 (&lt;/sheetData&gt; ~) 로 분리
+     */
+    private byte[][] splitSheetXml(ZipFile templateZip, ZipArchiveEntry entry) throws IOException {
+        byte[] xml;
+        try (InputStream in = templateZip.getInputStream(entry)) {
+            xml = in.readAllBytes();
+        }
+
+        int index = indexOf(xml, EMPTY_SHEET_DATA);
+        if (index < 0) {
+            throw new IOException("템플릿 시트에 빈 sheetData 가 없음: " + entry.getName());
+        }
+        String head = new String(xml, 0, index, StandardCharsets.UTF_8) + "<sheetData>";
+        String footer = "</sheetData>" + new String(xml, index + EMPTY_SHEET_DATA.length,
+                xml.length - index - EMPTY_SHEET_DATA.length, StandardCharsets.UTF_8);
+        return new byte[][]{head.getBytes(StandardCharsets.UTF_8), footer.getBytes(StandardCharsets.UTF_8)};
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * CRC-32 결합: crc(A + B) = combine(crc(A), crc(B), len(B)) (zlib crc32_combine 과 동일)
+     */
+    static long combineCrc(long crc1, long crc2, long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+
+        long[] even = new long[32];
+        long[] odd = new long[32];
+
+        // 1비트 이동 연산자 (CRC-32 다항식)
+        odd[0] = 0xEDB88320L;
+        long row = 1;
+        for (int n = 1; n < 32; n++) {
+            odd[n] = row;
+            row <<= 1;
+        }
+        gf2MatrixSquare(even, odd);     // 2비트
+        gf2MatrixSquare(odd, even);     // 4비트
+
+        // length2 바이트만큼 0 을 덧붙인 효과를 crc1 에 적용
+        do {
+            gf2MatrixSquare(even, odd);
+            if ((length2 & 1) != 0) {
+                crc1 = gf2MatrixTimes(even, crc1);
+            }
+            length2 >>= 1;
+            if (length2 == 0) {
+                break;
+            }
+            gf2MatrixSquare(odd, even);
+            if ((length2 & 1) != 0) {
+                crc1 = gf2MatrixTimes(odd, crc1);
+            }
+            length2 >>= 1;
+        } while (length2 != 0);
+
+        return crc1 ^ crc2;
+    }
+
+    private static long gf2MatrixTimes(long[] matrix, long vector) {
+        long sum = 0;
+        for (int i = 0; vector != 0; i++, vector >>>= 1) {
+            if ((vector & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(long[] square, long[] matrix) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = gf2MatrixTimes(matrix, matrix[n]);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.performance.excel.websocket;
+
+import com.performance.excel.dto.DownloadProgress;
+import com.performance.excel.dto.DownloadRequest;
+import com.performance.excel.storage.LiveExportRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 작업별 진행률 전송 빈도 제어 (시간 기반 coalescing)
+ *
+ * 이전 방식: 전략마다 5000건마다 전송 → 빠른 전략은 초당 수십 건, 느린 전략(OFFSET)은 수 초에 1건
+ * 현재 방식: 전략은 청크(행)마다 reportProcessing 호출, 실제 전송은 작업당 interval 에 최대 1번
+ * - 직전 전송과 퍼센트가 같으면 전송하지 않음
+ * - 완료/실패/취소(종료 상태)는 항상 즉시 전송하고 작업 상태 정리
+ * - 전송 시점이 아니면 DownloadProgress 객체도 만들지 않음 (행마다 호출해도 부담 없음)
+ * - 생성 중인 파일이 디스크에 생긴 뒤부터 처리 중 알림에도 다운로드 주소 포함 (완료 전에 받기 시작 가능)
+ *   (SXSSF / EasyExcel 처럼 저장 단계에서야 파일을 만드는 방식은 그 전까지 주소를 보내지 않아 빈 응답으로 대기하지 않음)
+ */
+@Component
+@Slf4j
+public class ProgressReporter {
+
+    private final ProgressWebSocketHandler progressWebSocketHandler;
+    private final long intervalNanos;
+    private final LiveExportRegistry liveExportRegistry;
+
+    // 작업별 마지막 전송 상태
+    private final ConcurrentHashMap<String, JobProgress> jobs = new ConcurrentHashMap<>();
+
+    private static final class JobProgress {
+        private volatile long lastSentAt;
+        private volatile int lastPercentage = -1;
+    }
+
+    public ProgressReporter(ProgressWebSocketHandler progressWebSocketHandler,
+                            @Value("${excel.download.progress-interval:250}") long intervalMs,
+                            LiveExportRegistry liveExportRegistry) {
+        this.progressWebSocketHandler = progressWebSocketHandler;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        this.liveExportRegistry = liveExportRegistry;
+    }
+
+    /**
+     * 처리 중 진행률 보고 (전송 주기가 지났고 퍼센트가 바뀐 경우에만 전송)
+     */
+    public void reportProcessing(DownloadRequest request, long totalCount, long processedCount) {
+        JobProgress job = jobs.computeIfAbsent(request.getRequestId(), id -> new JobProgress());
+
+        long now = System.nanoTime();
+        if (job.lastPercentage >= 0 && now - job.lastSentAt < intervalNanos) {
+            return;
+        }
+
+        int percentage = totalCount > 0 ? (int) ((processedCount * 100) / totalCount) : 0;
+        if (percentage == job.lastPercentage) {
+            return;
+        }
+
+        // 같은 작업을 여러 스레드가 보고하는 경우에도 주기당 1번만 전송
+        synchronized (job) {
+            if (percentage == job.lastPercentage
+                    || (job.lastPercentage >= 0 && now - job.lastSentAt < intervalNanos)) {
+                return;
+            }
+            job.lastSentAt = now;
+            job.lastPercentage = percentage;
+        }
+
+        DownloadProgress progress = DownloadProgress.processing(request.getRequestId(), totalCount, processedCount);
+        if (request.getFileName() != null && isLiveFileWritten(request.getFileName())) {
+            progress.setDownloadUrl("/api/download/file/" + request.getFileName());
+        }
+        send(request.getUserId(), progress);
+    }
+
+    /**
+     * 이 노드에서 생성 중이고 파일이 이미 기록되기 시작했는지 (생성 중 다운로드 비활성화 시 항상 false)
+     */
+    private boolean isLiveFileWritten(String fileName) {
+        LiveExportRegistry.LiveExport export = liveExportRegistry.find(fileName);
+        return export != null && export.getFile().isFile();
+    }
+
+    /**
+     * 진행률 보고
+     * - 종료 상태는 항상 전송하고 작업 상태 정리
+     * - 처리 중 상태는 reportProcessing 과 같은 주기/중복 제어 적용
+     * - 대기 중 상태는 그대로 전송 (ETA 알림 주기로 이미 제한됨)
+     */
+    public void report(String userId, DownloadProgress progress) {
+        switch (progress.getStatus()) {
+            case COMPLETED, FAILED, CANCELLED -> {
+                jobs.remove(progress.getRequestId());
+                send(userId, progress);
+            }
+            case PROCESSING -> {
+                DownloadRequest request = DownloadRequest.builder()
+                        .requestId(progress.getRequestId())
+                        .userId(userId)
+                        .build();
+                reportProcessing(request, progress.getTotalCount(), progress.getProcessedCount());
+            }
+            default -> send(userId, progress);
+        }
+    }
+
+    /**
+     * 종료 상태 전송 없이 끝난 작업의 상태 정리 (종료 중 중단 등)
+     */
+    public void release(String requestId) {
+        jobs.remove(requestId);
+    }
+
+    private void send(String userId, DownloadProgress progress) {
+        try {
+            progressWebSocketHandler.sendProgress(userId, progress);
+        } catch (Exception e) {
+            log.warn("진행률 전송 실패: {} - {}", progress.getRequestId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.performance.excel.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.performance.excel.dto.DownloadProgress;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 작업별 최신 진행률 스냅샷 (Redis)
+ *
+ * pub/sub 은 전송 시점에 연결된 세션만 받으므로, 재연결하거나 다른 노드로 붙은 사용자는
+ * 다음 진행률이 올 때까지 아무것도 보지 못하고 이미 끝난 작업의 완료 메시지는 영영 받지 못함
+ * - excel:progress:latest:{userId} Hash (field = requestId, value = 최신 진행률 JSON)
+ * - 전송할 때마다 덮어쓰고 snapshot-ttl 로 만료 (Hash 전체 TTL 이므로 오래된 항목은 조회 시 정리)
+ * - 세션 연결 시 사용자 작업의 최신 상태를 바로 재전송
+ */
+@Component
+@Slf4j
+public class ProgressSnapshotStore {
+
+    private static final String SNAPSHOT_KEY_PREFIX = "excel:progress:latest:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final long snapshotTtlMs;
+
+    public ProgressSnapshotStore(RedisTemplate<String, String> redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${excel.websocket.snapshot-ttl:3600000}") long snapshotTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.snapshotTtlMs = snapshotTtlMs;
+    }
+
+    /**
+     * 최신 진행률 저장 (HSET + PEXPIRE 1회 왕복)
+     * @param progressJson updatedAt 이 채워진 진행률 JSON
+     */
+    public void save(String userId, String requestId, String progressJson) {
+        String key = SNAPSHOT_KEY_PREFIX + userId;
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    operations.opsForHash().put(key, requestId, progressJson);
+                    operations.expire(key, Duration.ofMillis(snapshotTtlMs));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("진행률 스냅샷 저장 실패: {} - {}", requestId, e.getMessage());
+        }
+    }
+
+    /**
+     * 사용자 작업의 최신 진행률 (갱신 순)
+     * - snapshot-ttl 보다 오래된 항목은 삭제하고 제외
+     */
+    public List<DownloadProgress> findAll(String userId) {
+        String key = SNAPSHOT_KEY_PREFIX + userId;
+        List<DownloadProgress> snapshots = new ArrayList<>();
+        try {
+            long expiredBefore = System.currentTimeMillis() - snapshotTtlMs;
+            for (Map.Entry<Object, Object> entry : redisTemplate.opsForHash().entries(key).entrySet()) {
+                DownloadProgress progress = objectMapper.readValue((String) entry.getValue(), DownloadProgress.class);
+                if (progress.getUpdatedAt() == null || progress.getUpdatedAt() < expiredBefore) {
+                    redisTemplate.opsForHash().delete(key, entry.getKey());
+                    continue;
+                }
+                snapshots.add(progress);
+            }
+        } catch (Exception e) {
+            log.warn("진행률 스냅샷 조회 실패: {} - {}", userId, e.getMessage());
+        }
+        snapshots.sort(Comparator.comparing(DownloadProgress::getUpdatedAt));
+        return snapshots;
+    }
+}
@@ -0,0 +1,230 @@
+package com.performance.excel.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.performance.excel.dto.DownloadProgress;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 진행률 SSE(Server-Sent Events) 핸들러
+ *
+ * WebSocket 을 유지하기 부담스러운 클라이언트(스크립트, 프록시 뒤 클라이언트)용 경량 대안
+ * - 구독 단위는 작업 1건 (GET /api/download/{requestId}/events)
+ * - WebSocket 과 같은 경로로 전달받음 (SessionRegistry 에 사용자 연결로 등록 → 노드 채널 → ProgressWebSocketHandler)
+ * - 전송은 전용 스레드풀에서 구독별로 직렬화하고, 밀린 진행률은 최신 값 하나로 합침
+ *   (느린 클라이언트가 있어도 진행률 발행 스레드는 기다리지 않음)
+ * - 구독 시 최신 스냅샷을 바로 보내고, 종료 상태(완료/실패/취소)를 보내면 스트림 종료
+ */
+@Component
+@Slf4j
+public class ProgressSseHandler {
+
+    private static final String EVENT_NAME = "progress";
+
+    private final ObjectMapper objectMapper;
+    private final SessionRegistry sessionRegistry;
+    private final ProgressSnapshotStore progressSnapshotStore;
+    private final ThreadPoolTaskExecutor sendExecutor;
+    private final long timeoutMs;
+
+    // 사용자 ID -> 이 노드의 SSE 구독 목록
+    private final ConcurrentHashMap<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    public ProgressSseHandler(ObjectMapper objectMapper,
+                              SessionRegistry sessionRegistry,
+                              ProgressSnapshotStore progressSnapshotStore,
+                              @Qualifier("progressSseExecutor") ThreadPoolTaskExecutor sendExecutor,
+                              @Value("${excel.sse.timeout:3600000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.sessionRegistry = sessionRegistry;
+        this.progressSnapshotStore = progressSnapshotStore;
+        this.sendExecutor = sendExecutor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * 작업 진행률 구독
+     */
+    public SseEmitter subscribe(String userId, String requestId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = new Subscription(userId, requestId, emitter);
+
+        // 제거(computeIfPresent)와 엇갈려 빈 Set 에 추가되지 않도록 키 단위 원자적 처리
+        subscriptions.compute(userId, (id, subs) -> {
+            if (subs == null) {
+                subs = ConcurrentHashMap.newKeySet();
+            }
+            subs.add(subscription);
+            return subs;
+        });
+        sessionRegistry.register(userId);
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscription.close());
+
+        // 이미 진행 중이거나 끝난 작업이면 최신 상태부터 전송
+        for (DownloadProgress snapshot : progressSnapshotStore.findAll(userId)) {
+            if (requestId.equals(snapshot.getRequestId())) {
+                try {
+                    subscription.offer(objectMapper.writeValueAsString(snapshot), isTerminal(snapshot));
+                } catch (Exception e) {
+                    log.warn("SSE 스냅샷 전송 실패: {} - {}", requestId, e.getMessage());
+                }
+            }
+        }
+
+        log.info("SSE subscribed - USER: {}, REQUEST: {}", userId, requestId);
+        return emitter;
+    }
+
+    /**
+     * 이 노드의 구독자에게 진행률 전달 (구독이 없는 사용자는 역직렬화 없이 바로 반환)
+     */
+    public void deliver(String userId, String message) {
+        Set<Subscription> subs = subscriptions.get(userId);
+        if (subs == null) {
+            return;
+        }
+
+        DownloadProgress progress;
+        try {
+            progress = objectMapper.readValue(message, DownloadProgress.class);
+        } catch (Exception e) {
+            log.warn("SSE 진행률 파싱 실패: userId={} - {}", userId, e.getMessage());
+            return;
+        }
+
+        boolean terminal = isTerminal(progress);
+        for (Subscription subscription : subs) {
+            if (subscription.requestId.equals(progress.getRequestId())) {
+                subscription.offer(message, terminal);
+            }
+        }
+    }
+
+    /**
+     * 연결 유지용 주석 이벤트 전송 (프록시 유휴 타임아웃 방지 + 끊긴 클라이언트 정리, 스케줄러에서 호출)
+     */
+    public void heartbeat() {
+        for (Set<Subscription> subs : subscriptions.values()) {
+            for (Subscription subscription : subs) {
+                subscription.offer(null, false);
+            }
+        }
+    }
+
+    public int getSubscriptionCount() {
+        return subscriptions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private boolean isTerminal(DownloadProgress progress) {
+        return switch (progress.getStatus()) {
+            case COMPLETED, FAILED, CANCELLED -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * 구독 1건
+     * - pending: 아직 보내지 못한 최신 메시지 (새 메시지가 오면 덮어씀)
+     * - scheduled: 전송 작업이 스레드풀에 올라가 있는지 (구독당 최대 1개)
+     */
+    private final class Subscription {
+
+        private static final Pending HEARTBEAT = new Pending(null, false);
+
+        private final String userId;
+        private final String requestId;
+        private final SseEmitter emitter;
+
+        private final AtomicReference<Pending> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean terminalQueued;
+
+        private Subscription(String userId, String requestId, SseEmitter emitter) {
+            this.userId = userId;
+            this.requestId = requestId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * 전송 요청 (message 가 null 이면 heartbeat, 보낼 진행률이 밀려 있으면 생략)
+         */
+        private void offer(String message, boolean terminal) {
+            if (closed.get() || terminalQueued) {
+                return;
+            }
+            if (message == null) {
+                pending.compareAndSet(null, HEARTBEAT);
+            } else {
+                pending.set(new Pending(message, terminal));
+                terminalQueued = terminal;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (Exception e) {
+                // 스레드풀 포화: 다음 진행률 또는 heartbeat 때 다시 시도
+                scheduled.set(false);
+                log.warn("SSE 전송 작업 등록 실패: {} - {}", requestId, e.getMessage());
+            }
+        }
+
+        private void drain() {
+            do {
+                Pending next;
+                while ((next = pending.getAndSet(null)) != null) {
+                    try {
+                        if (next.message() == null) {
+                            emitter.send(SseEmitter.event().comment("keep-alive"));
+                        } else {
+                            emitter.send(SseEmitter.event().name(EVENT_NAME).data(next.message(), MediaType.APPLICATION_JSON));
+                        }
+                    } catch (Exception e) {
+                        log.debug("SSE 전송 실패 (연결 끊김): {} - {}", requestId, e.getMessage());
+                        close();
+                        return;
+                    }
+                    if (next.terminal()) {
+                        emitter.complete();
+                        close();
+                        return;
+                    }
+                }
+                scheduled.set(false);
+            } while (pending.get() != null && scheduled.compareAndSet(false, true));
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriptions.computeIfPresent(userId, (id, subs) -> {
+                subs.remove(this);
+                return subs.isEmpty() ? null : subs;
+            });
+            sessionRegistry.unregister(userId);
+        }
+    }
+
+    private record Pending(String message, boolean terminal) {
+    }
+}
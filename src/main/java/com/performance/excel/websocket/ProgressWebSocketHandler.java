@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.performance.excel.dto.DownloadProgress;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -11,13 +12,25 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 진행률 WebSocket 핸들러
+ * - 세션마다 ConcurrentWebSocketSessionDecorator 로 감싸 세션 단위로만 전송 직렬화 (전역 락 없음)
+ *   다른 스레드가 같은 세션에 전송 중이면 버퍼에 넣고 바로 반환, 전송 중인 스레드가 버퍼를 비움
+ * - 버퍼가 buffer-size-limit 를 넘으면 가장 오래된 메시지부터 버림 (진행률은 최신 값만 의미 있음)
+ * - 한 번의 전송이 send-time-limit 를 넘는 느린 클라이언트는 세션 종료
+ * - 진행률은 사용자 세션을 가진 노드의 전용 채널로만 발행 (SessionRegistry)
+ * - 작업별 최신 진행률은 Redis 에 보관하고 세션 연결 시 바로 재전송 (ProgressSnapshotStore)
+ * - 이 노드의 SSE 구독자에게도 같은 경로로 전달 (ProgressSseHandler)
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -26,24 +39,51 @@ public class ProgressWebSocketHandler extends TextWebSocketHandler
     
     private final ObjectMapper objectMapper;
     private final RedisTemplate<String, String> stringRedisTemplate;    // excel 다운로드 진행률 저장용
-    private final ConcurrentHashMap<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final SessionRegistry sessionRegistry;
+    private final ProgressSnapshotStore progressSnapshotStore;
+    private final ProgressSseHandler progressSseHandler;
+    // 웹소켓 세션 ID -> (사용자 ID, 세션)
+    private final ConcurrentHashMap<String, LocalSession> sessions = new ConcurrentHashMap<>();
+
+    @Value("${excel.websocket.send-time-limit:10000}")
+    private int sendTimeLimit;
+
+    @Value("${excel.websocket.buffer-size-limit:65536}")
+    private int bufferSizeLimit;
     
-    // 사용자 ID -> 웹소켓 세션 ID 매핑
-    private final ConcurrentHashMap<String, String> userIdToWebSocketSessionMapping = new ConcurrentHashMap<>();
+    // 사용자 ID -> 웹소켓 세션 ID 목록 (탭/기기마다 세션이 따로 있으므로 다중 매핑)
+    private final ConcurrentHashMap<String, Set<String>> userIdToWebSocketSessionMapping = new ConcurrentHashMap<>();
+
+    private record LocalSession(String userId, WebSocketSession session) {
+    }
     
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         String webSocketSessionId = session.getId();
-        sessions.put(webSocketSessionId, session);
         
         // URL 쿼리 파라미터에서 사용자 ID 추출
         String userId = extractUserId(session);
         log.info("WebSocket connection established - WS ID: {}, USER ID: {}",
             webSocketSessionId, userId);
+
+        WebSocketSession decorated = new ConcurrentWebSocketSessionDecorator(
+                session, sendTimeLimit, bufferSizeLimit, ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP);
+        sessions.put(webSocketSessionId, new LocalSession(userId, decorated));
         
         if (userId != null) {
-            userIdToWebSocketSessionMapping.put(userId, webSocketSessionId);
+            // 제거(computeIfPresent)와 엇갈려 빈 Set 에 추가되지 않도록 키 단위 원자적 처리
+            userIdToWebSocketSessionMapping.compute(userId, (id, sessionIds) -> {
+                if (sessionIds == null) {
+                    sessionIds = ConcurrentHashMap.newKeySet();
+                }
+                sessionIds.add(webSocketSessionId);
+                return sessionIds;
+            });
+            sessionRegistry.register(userId);
             log.info("Session mapping created: USER={} -> WS={}", userId, webSocketSessionId);
+
+            // 매핑 후 재전송 (그 사이 도착한 실시간 진행률을 놓치지 않도록)
+            replaySnapshots(userId, decorated);
         } else {
             log.warn("Could not extract USER ID from URI: {}", session.getUri());
         }
@@ -51,24 +91,67 @@ public class ProgressWebSocketHandler extends TextWebSocketHandler
     
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        String webSocketSessionId = session.getId();
-        sessions.remove(webSocketSessionId);
-        
-        // 역방향 매핑도 제거
-        userIdToWebSocketSessionMapping.entrySet().removeIf(entry ->
-            entry.getValue().equals(webSocketSessionId));
-        
-        log.info("WebSocket connection closed: {}", webSocketSessionId);
+        removeSession(session.getId());
+        log.info("WebSocket connection closed: {}", session.getId());
+    }
+
+    /**
+     * 연결 직후 사용자 작업의 최신 진행률 재전송 (재연결 / 다른 노드로 붙은 경우 / 이미 완료된 작업)
+     */
+    private void replaySnapshots(String userId, WebSocketSession session) {
+        for (DownloadProgress snapshot : progressSnapshotStore.findAll(userId)) {
+            try {
+                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(snapshot)));
+            } catch (Exception e) {
+                log.warn("진행률 스냅샷 재전송 실패: userId={} - {}", userId, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 세션 제거 (O(1): 세션에 보관한 사용자 ID 로 역방향 매핑 바로 제거)
+     * 레지스트리는 이 노드에 사용자의 남은 연결(세션 / SSE 구독)이 없을 때 제거됨
+     */
+    private void removeSession(String webSocketSessionId) {
+        LocalSession removed = sessions.remove(webSocketSessionId);
+        if (removed == null || removed.userId() == null) {
+            return;
+        }
+
+        userIdToWebSocketSessionMapping.computeIfPresent(removed.userId(), (id, sessionIds) -> {
+            sessionIds.remove(webSocketSessionId);
+            return sessionIds.isEmpty() ? null : sessionIds;
+        });
+        sessionRegistry.unregister(removed.userId());
     }
     
     /**
      * 특정 세션에 진행률 전송 - 사용자 ID 기반
-     * WebSocket 동시성 문제 해결을 위한 동기화 처리
+     * (세션 전송은 pub/sub 수신 측에서 세션 단위로 직렬화되므로 여기서는 락 없음)
+     * - 세션이 이 노드에 있으면 pub/sub 을 거치지 않고 바로 전송
+     * - 다른 노드에 있으면 해당 노드 채널로만 발행. 어느 노드에도 없으면 발행하지 않음
      */
-    public synchronized void sendProgress(String userId, DownloadProgress progress) {
+    public void sendProgress(String userId, DownloadProgress progress) {
         try {
+            // 세션이 없어도 스냅샷은 저장 (나중에 연결하면 재전송)
+            progress.setUpdatedAt(System.currentTimeMillis());
             String message = objectMapper.writeValueAsString(progress);
-            stringRedisTemplate.convertAndSend("excel:progress", userId + ":" + message);
+            progressSnapshotStore.save(userId, progress.getRequestId(), message);
+
+            Set<String> nodes = sessionRegistry.findNodes(userId);
+            if (nodes.isEmpty()) {
+                log.debug("연결된 세션 없음: userId={}", userId);
+                return;
+            }
+
+            for (String nodeId : nodes) {
+                if (nodeId.equals(sessionRegistry.getNodeId())) {
+                    sendToLocalSession(userId, message);
+                } else {
+                    stringRedisTemplate.convertAndSend(sessionRegistry.channelOf(nodeId), userId + ":" + message);
+                }
+            }
 
             log.debug("Progress sent to session {}: {}%", userId, progress.getProgressPercentage());
         } catch (IOException e) {
@@ -93,27 +176,34 @@ public class ProgressWebSocketHandler extends TextWebSocketHandler
         }
     }
 
-    private synchronized void sendToLocalSession(String userId, String message) {
-        String wsId = userIdToWebSocketSessionMapping.get(userId);
-        if (wsId != null) {
-            WebSocketSession session = sessions.get(wsId);
-            if (session != null && session.isOpen()) {
-                try {
-                    synchronized (session) {
-                        session.sendMessage(new TextMessage(message));
-                    }
-                    log.debug("진행률 전송 성공: userId={}", userId);
-                } catch (Exception e) {
-                    log.error("Send failed", e);
-                    // 세션 정리
-                    sessions.remove(wsId);
-                    userIdToWebSocketSessionMapping.remove(userId);
-                }
-            } else {
-                log.warn("WebSocket 세션 닫힘: userId={}", userId);
-            }
-        } else {
+    /**
+     * 이 노드에 연결된 사용자의 모든 세션과 SSE 구독에 전송 (메시지 객체는 한 번만 생성)
+     */
+    private void sendToLocalSession(String userId, String message) {
+        progressSseHandler.deliver(userId, message);
+
+        Set<String> sessionIds = userIdToWebSocketSessionMapping.get(userId);
+        if (sessionIds == null) {
             log.debug("해당 서버에 userId={} 세션 없음 (다른 서버에 있음)", userId);
+            return;
+        }
+
+        TextMessage textMessage = new TextMessage(message);
+        for (String wsId : sessionIds) {
+            LocalSession localSession = sessions.get(wsId);
+            if (localSession == null || !localSession.session().isOpen()) {
+                log.warn("WebSocket 세션 닫힘: userId={}, WS={}", userId, wsId);
+                continue;
+            }
+
+            try {
+                localSession.session().sendMessage(textMessage);
+                log.debug("진행률 전송 성공: userId={}, WS={}", userId, wsId);
+            } catch (Exception e) {
+                log.error("Send failed", e);
+                // 세션 정리
+                removeSession(wsId);
+            }
         }
     }
     
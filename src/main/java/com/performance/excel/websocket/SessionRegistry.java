@@ -0,0 +1,188 @@
+package com.performance.excel.websocket;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자 → WebSocket 세션 보유 노드 레지스트리 (Redis)
+ *
+ * 이전 방식: 모든 진행률을 excel:progress 채널 하나로 발행 → 모든 노드가 모든 메시지를 받아 역직렬화 후 대부분 버림
+ * 현재 방식: 세션을 가진 노드만 골라 노드 전용 채널(excel:progress:{nodeId})로 발행
+ * - excel:ws:user:{userId} ZSET (member = nodeId, score = 마지막 갱신 시각)
+ * - 노드는 연결된 사용자를 주기적으로 다시 등록하고, 갱신이 끊긴 노드(장애)는 조회 시 제외
+ * - 노드가 늘어도 메시지 1건당 발행/수신 비용은 세션을 가진 노드 수만큼만 발생
+ * - WebSocket 세션과 SSE 구독을 함께 세어, 사용자의 마지막 연결이 끊길 때만 레지스트리에서 제거
+ */
+@Component
+@Slf4j
+public class SessionRegistry {
+
+    private static final String USER_NODES_KEY_PREFIX = "excel:ws:user:";
+    private static final String NODE_CHANNEL_PREFIX = "excel:progress:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long registryTtlMs;
+
+    // 사용자 ID -> 이 노드의 연결 수 (WebSocket 세션 + SSE 구독)
+    private final ConcurrentHashMap<String, LocalConnections> localConnections = new ConcurrentHashMap<>();
+
+    // 사용자의 첫 연결마다 증가 (연결이 모두 끊겼다가 다시 연결된 경우 구분)
+    private final AtomicLong generation = new AtomicLong();
+
+    // 같은 호스트에서 여러 인스턴스를 띄워도 겹치지 않도록 프로세스마다 고유 ID
+    @Getter
+    private final String nodeId;
+
+    public SessionRegistry(RedisTemplate<String, String> redisTemplate,
+                           @Value("${excel.websocket.registry-ttl:30000}") long registryTtlMs) {
+        this.redisTemplate = redisTemplate;
+        this.registryTtlMs = registryTtlMs;
+
+        String hostname = System.getenv("HOSTNAME");
+        this.nodeId = (hostname != null ? hostname : "local") + "-" + UUID.randomUUID().toString().substring(0, 8);
+        log.info("WebSocket node initialized: {}", nodeId);
+    }
+
+    /**
+     * 이 노드가 구독하는 진행률 채널
+     */
+    public String getNodeChannel() {
+        return channelOf(nodeId);
+    }
+
+    public String channelOf(String targetNodeId) {
+        return NODE_CHANNEL_PREFIX + targetNodeId;
+    }
+
+    /**
+     * 사용자 연결(WebSocket 세션 / SSE 구독)이 이 노드에 추가됨
+     * - 첫 연결일 때만 Redis 에 등록 (Redis 호출은 맵 잠금 밖에서 수행)
+     */
+    public void register(String userId) {
+        boolean[] first = {false};
+        localConnections.compute(userId, (id, current) -> {
+            if (current == null) {
+                first[0] = true;
+                return new LocalConnections(1, generation.incrementAndGet());
+            }
+            return new LocalConnections(current.count() + 1, current.generation());
+        });
+        if (first[0]) {
+            syncNode(userId);
+        }
+    }
+
+    /**
+     * 사용자 연결이 이 노드에서 끊김
+     * - 마지막 연결일 때만 Redis 에서 제거 (더 이상 이 노드로 발행되지 않도록)
+     */
+    public void unregister(String userId) {
+        boolean[] last = {false};
+        localConnections.computeIfPresent(userId, (id, current) -> {
+            if (current.count() > 1) {
+                return new LocalConnections(current.count() - 1, current.generation());
+            }
+            last[0] = true;
+            return null;
+        });
+        if (last[0]) {
+            syncNode(userId);
+        }
+    }
+
+    /**
+     * 현재 로컬 연결 상태를 Redis 에 반영
+     * - 등록/해제가 동시에 일어나 Redis 호출 순서가 뒤바뀔 수 있으므로, 기록 후 상태(세대)가 바뀌었으면 다시 기록
+     * - 마지막으로 상태를 바꾼 스레드의 기록이 항상 마지막에 적용됨
+     */
+    private void syncNode(String userId) {
+        while (true) {
+            LocalConnections before = localConnections.get(userId);
+            if (before != null) {
+                addNode(userId);
+            } else {
+                removeNode(userId);
+            }
+
+            LocalConnections after = localConnections.get(userId);
+            if (before == null ? after == null : after != null && after.generation() == before.generation()) {
+                return;
+            }
+        }
+    }
+
+    private void addNode(String userId) {
+        try {
+            String key = USER_NODES_KEY_PREFIX + userId;
+            redisTemplate.opsForZSet().add(key, nodeId, System.currentTimeMillis());
+            redisTemplate.expire(key, Duration.ofMillis(registryTtlMs));
+        } catch (Exception e) {
+            log.warn("세션 레지스트리 등록 실패: {} - {}", userId, e.getMessage());
+        }
+    }
+
+    private void removeNode(String userId) {
+        try {
+            redisTemplate.opsForZSet().remove(USER_NODES_KEY_PREFIX + userId, nodeId);
+        } catch (Exception e) {
+            log.warn("세션 레지스트리 해제 실패: {} - {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 이 노드에 연결된 사용자 일괄 재등록 (파이프라인 1회 왕복)
+     * - 만료된 다른 노드 항목도 함께 정리
+     */
+    public void refresh() {
+        Set<String> userIds = localConnections.keySet();
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    for (String userId : userIds) {
+                        String key = USER_NODES_KEY_PREFIX + userId;
+                        operations.opsForZSet().add(key, nodeId, now);
+                        operations.opsForZSet().removeRangeByScore(key, 0, now - registryTtlMs);
+                        operations.expire(key, Duration.ofMillis(registryTtlMs));
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("세션 레지스트리 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 사용자 세션을 가진 노드 목록 (registry-ttl 이내에 갱신된 노드만)
+     */
+    public Set<String> findNodes(String userId) {
+        Set<String> nodes = redisTemplate.opsForZSet().rangeByScore(
+                USER_NODES_KEY_PREFIX + userId, System.currentTimeMillis() - registryTtlMs, Double.MAX_VALUE);
+        return nodes != null ? nodes : Collections.emptySet();
+    }
+
+    /**
+     * 사용자별 로컬 연결 수와 첫 연결 시점의 세대
+     */
+    private record LocalConnections(int count, long generation) {
+    }
+}
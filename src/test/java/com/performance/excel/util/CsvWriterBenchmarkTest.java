@@ -0,0 +1,112 @@
+package com.performance.excel.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSV 기록 벤치마크 (DB 없이 같은 행을 SXSSF 와 CSV 로 기록하여 비교)
+ * - 50만 행 기준 소요 시간 / 파일 크기 비교 (benchmark 태그, 소요 시간은 로그로만 확인)
+ * - RFC 4180 따옴표 처리와 gzip 출력 확인
+ */
+@Slf4j
+class CsvWriterBenchmarkTest {
+
+    private static final int BENCHMARK_ROWS = 500_000;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @Tag("benchmark")
+    void SXSSF_대비_소요_시간과_파일_크기_측정() throws Exception {
+        writeSxssf(SampleRows.WARMUP_ROWS);     // JIT 워밍업
+        writeCsv(SampleRows.WARMUP_ROWS, false);
+        writeCsv(SampleRows.WARMUP_ROWS, true);
+
+        File xlsx = tempDir.resolve("bench.xlsx").toFile();
+        File csv = tempDir.resolve("bench.csv").toFile();
+        File gzip = tempDir.resolve("bench.csv.gz").toFile();
+        long sxssfMillis = SampleRows.millis(() -> writeSxssf(BENCHMARK_ROWS));
+        long csvMillis = SampleRows.millis(() -> writeCsv(BENCHMARK_ROWS, false));
+        long gzipMillis = SampleRows.millis(() -> writeCsv(BENCHMARK_ROWS, true));
+
+        log.info("{}건 SXSSF - {}KB, {}ms", BENCHMARK_ROWS, xlsx.length() / 1024, sxssfMillis);
+        log.info("{}건 CSV - {}KB, {}ms", BENCHMARK_ROWS, csv.length() / 1024, csvMillis);
+        log.info("{}건 CSV(gzip) - {}KB, {}ms", BENCHMARK_ROWS, gzip.length() / 1024, gzipMillis);
+
+        assertThat(Files.readAllLines(csv.toPath(), StandardCharsets.UTF_8)).hasSize(BENCHMARK_ROWS + 1);
+        assertThat(gzip.length()).isLessThan(xlsx.length());
+    }
+
+    @Test
+    void RFC_4180_따옴표_처리() throws Exception {
+        File file = tempDir.resolve("quote.csv").toFile();
+        try (CsvWriter writer = CsvWriter.open(file, 16, false)) {
+            writer.field(1L).field("쉼표, 포함").field("따옴표 \"포함\"").field("줄\n바꿈").field((String) null)
+                    .field(new BigDecimal("1.50"));
+            writer.endRow();
+            writer.field(2L).field("일반").field("").field("한글 데이터").field("x").field(BigDecimal.TEN);
+            writer.endRow();
+        }
+
+        String csv = Files.readString(file.toPath(), StandardCharsets.UTF_8);
+        assertThat(csv).isEqualTo(
+                "1,\"쉼표, 포함\",\"따옴표 \"\"포함\"\"\",\"줄\n바꿈\",,1.50\r\n"
+                        + "2,일반,,한글 데이터,x,10\r\n");
+    }
+
+    @Test
+    void gzip_출력은_압축_해제시_같은_내용() throws Exception {
+        File plain = tempDir.resolve("plain.csv").toFile();
+        File gzip = tempDir.resolve("plain.csv.gz").toFile();
+        writeRows(plain, 10_000, false);
+        writeRows(gzip, 10_000, true);
+
+        try (InputStream in = new GZIPInputStream(new FileInputStream(gzip))) {
+            assertThat(in.readAllBytes()).isEqualTo(Files.readAllBytes(plain.toPath()));
+        }
+    }
+
+    private File writeSxssf(int rows) throws Exception {
+        TempSheetBackend backend = new TempSheetBackend(TempSheetBackend.Compression.NONE, tempDir.resolve("sxssf").toString());
+        TestDataExcelBuilder excelBuilder = new TestDataExcelBuilder(backend);
+        File output = tempDir.resolve("bench.xlsx").toFile();
+
+        try (SXSSFWorkbook workbook = excelBuilder.createSXSSFWorkbook(100)) {
+            Sheet sheet = excelBuilder.setupSheet(workbook, "Test Data");
+            CellStyle dataStyle = excelBuilder.createDataStyle(workbook);
+            SampleRows.writeExcelRows(excelBuilder, sheet, dataStyle, 1, rows);
+            excelBuilder.saveWorkbook(workbook, output.getPath());
+        }
+        return output;
+    }
+
+    private File writeCsv(int rows, boolean gzip) throws Exception {
+        File output = tempDir.resolve(gzip ? "bench.csv.gz" : "bench.csv").toFile();
+        writeRows(output, rows, gzip);
+        return output;
+    }
+
+    private void writeRows(File output, int rows, boolean gzip) throws Exception {
+        try (CsvWriter writer = CsvWriter.open(output, BUFFER_SIZE, gzip)) {
+            SampleRows.writeCsvRows(writer, rows);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.performance.excel.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.performance.excel.dto.DownloadCost;
+import com.performance.excel.dto.DownloadRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 큐 메시지 인코딩 비교 (평면 필드 vs 기존 JSON)
+ * - Redis 없이 메시지 크기 비교
+ * - 직렬화 비용 측정 (benchmark 태그, 로그로만 확인)
+ */
+@Slf4j
+class DownloadRequestCodecTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DownloadRequestCodec codec = new DownloadRequestCodec(objectMapper);
+
+    @Test
+    void 평면_필드_인코딩_왕복() throws Exception {
+        DownloadRequest request = sampleRequest();
+
+        DownloadRequest decoded = codec.decode(codec.encode(request));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(request);
+    }
+
+    @Test
+    void Lettuce_byte_배열_메시지_디코딩() throws Exception {
+        DownloadRequest request = sampleRequest();
+        Map<byte[], byte[]> raw = new HashMap<>();
+        codec.encode(request).forEach((k, v) ->
+                raw.put(k.getBytes(StandardCharsets.UTF_8), v.getBytes(StandardCharsets.UTF_8)));
+
+        DownloadRequest decoded = codec.decode(raw);
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(request);
+    }
+
+    @Test
+    void 이전_JSON_형식_메시지_디코딩() throws Exception {
+        DownloadRequest request = sampleRequest();
+
+        DownloadRequest decoded = codec.decode(legacyMessage(request));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(request);
+    }
+
+    @Test
+    void 요청이_아닌_메시지는_null() throws Exception {
+        assertThat(codec.decode(Map.of("init", "true"))).isNull();
+    }
+
+    @Test
+    void 평면_필드_메시지가_JSON_보다_작음() throws Exception {
+        DownloadRequest request = sampleRequest();
+
+        int jsonBytes = messageBytes(legacyMessage(request));
+        int flatBytes = messageBytes(codec.encode(request));
+        log.info("메시지 크기 - JSON: {} bytes, 평면 필드: {} bytes", jsonBytes, flatBytes);
+        assertThat(flatBytes).isLessThan(jsonBytes);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void 직렬화_비용_측정() throws Exception {
+        DownloadRequest request = sampleRequest();
+
+        for (int i = 0; i < WARMUP; i++) {
+            objectMapper.readValue(legacyMessage(request).get("data"), DownloadRequest.class);
+            codec.decode(codec.encode(request));
+        }
+
+        long jsonStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            objectMapper.readValue(legacyMessage(request).get("data"), DownloadRequest.class);
+        }
+        long jsonNanos = System.nanoTime() - jsonStart;
+
+        long flatStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            codec.decode(codec.encode(request));
+        }
+        long flatNanos = System.nanoTime() - flatStart;
+
+        log.info("enqueue+dequeue 직렬화 {}회 - JSON: {}ms ({} ns/op), 평면 필드: {}ms ({} ns/op)",
+                ITERATIONS,
+                jsonNanos / 1_000_000, jsonNanos / ITERATIONS,
+                flatNanos / 1_000_000, flatNanos / ITERATIONS);
+    }
+
+    private Map<String, String> legacyMessage(DownloadRequest request) throws Exception {
+        Map<String, String> message = new HashMap<>();
+        message.put("requestId", request.getRequestId());
+        message.put("data", objectMapper.writeValueAsString(request));
+        return message;
+    }
+
+    private int messageBytes(Map<String, String> message) {
+        return message.entrySet().stream()
+                .mapToInt(e -> e.getKey().getBytes(StandardCharsets.UTF_8).length
+                        + e.getValue().getBytes(StandardCharsets.UTF_8).length)
+                .sum();
+    }
+
+    private DownloadRequest sampleRequest() {
+        return DownloadRequest.builder()
+                .requestId(UUID.randomUUID().toString())
+                .fileName("test_data_20250101_120000.xlsx")
+                .downloadType(DownloadRequest.DownloadType.SXSSF_CURSOR_PAGING)
+                .userId("user-1")
+                .cost(DownloadCost.builder()
+                        .rowCount(1_000_000L)
+                        .outputBytes(85_000_000L)
+                        .heapBytes(32_000_000L)
+                        .tempDiskBytes(220_000_000L)
+                        .build())
+                .build();
+    }
+}
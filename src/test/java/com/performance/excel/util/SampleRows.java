@@ -0,0 +1,99 @@
+package com.performance.excel.util;
+
+import com.performance.excel.entity.TestData;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 기록기 테스트 공용 샘플 행 (DB 없이 test_data 와 같은 형태로 생성)
+ * - 같은 id 는 XLSX / CSV / Parquet 어디에 기록해도 같은 값
+ * - description / category 는 반복 값 (Parquet dictionary 인코딩 확인용)
+ */
+final class SampleRows {
+
+    static final int WARMUP_ROWS = 20_000;
+    static final String[] HEADERS = {"ID", "이름", "설명", "값", "카테고리", "생성일시"};
+    static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final String CREATED_AT_TEXT = "2024-01-01 12:00:00";
+
+    private SampleRows() {
+    }
+
+    static TestData testData(long id) {
+        return TestData.builder()
+                .id(id)
+                .name(name(id))
+                .description(description(id))
+                .value(value(id))
+                .category(category(id))
+                .createdAt(CREATED_AT)
+                .build();
+    }
+
+    /**
+     * TestDataExcelBuilder.writeDataRow 입력 (생성일시는 전략과 같이 문자열)
+     */
+    static Object[] excelRow(long id) {
+        return new Object[]{id, name(id), description(id), value(id), category(id), CREATED_AT_TEXT};
+    }
+
+    static void writeExcelRows(TestDataExcelBuilder excelBuilder, Sheet sheet, CellStyle dataStyle,
+                               int fromId, int toId) {
+        for (int id = fromId; id <= toId; id++) {
+            excelBuilder.writeDataRow(sheet, id, excelRow(id), dataStyle);
+        }
+    }
+
+    /**
+     * 헤더 + 1 ~ rows 행 기록
+     */
+    static void writeCsvRows(CsvWriter writer, int rows) throws IOException {
+        for (String header : HEADERS) {
+            writer.field(header);
+        }
+        writer.endRow();
+        for (long id = 1; id <= rows; id++) {
+            writer.field(id)
+                    .field(name(id))
+                    .field(description(id))
+                    .field(value(id))
+                    .field(category(id))
+                    .field(CREATED_AT_TEXT);
+            writer.endRow();
+        }
+    }
+
+    /**
+     * 소요 시간 측정 (ms, 벤치마크 로그용)
+     */
+    static long millis(Task task) throws Exception {
+        long started = System.nanoTime();
+        task.run();
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+
+    @FunctionalInterface
+    interface Task {
+        void run() throws Exception;
+    }
+
+    private static String name(long id) {
+        return "테스트데이터_" + id;
+    }
+
+    private static String description(long id) {
+        return "성능 테스트용 설명 데이터입니다. 분류: " + (id % 100);
+    }
+
+    private static BigDecimal value(long id) {
+        return BigDecimal.valueOf(id * 1.5);
+    }
+
+    private static String category(long id) {
+        return "CATEGORY_" + (id % 10);
+    }
+}
@@ -0,0 +1,120 @@
+package com.performance.excel.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SXSSF 임시 시트 저장 방식 벤치마크 (DB 없이 시트 기록 + 저장만 측정)
+ * - 압축 방식별 임시 파일 크기(= 기록 후 저장 시 다시 읽는 양) 비교
+ * - 압축 방식별 소요 시간 측정 (benchmark 태그, 로그로만 확인)
+ * - 압축 스풀도 체크포인트 길이로 잘라낸 뒤 이어쓰기가 가능한지 확인
+ */
+@Slf4j
+class TempSheetBackendBenchmarkTest {
+
+    private static final int BENCHMARK_ROWS = 200_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void 압축_방식별_임시_파일_크기_비교() throws Exception {
+        Map<TempSheetBackend.Compression, Long> spoolBytes = new EnumMap<>(TempSheetBackend.Compression.class);
+        for (TempSheetBackend.Compression compression : TempSheetBackend.Compression.values()) {
+            spoolBytes.put(compression, export(compression, SampleRows.WARMUP_ROWS));
+        }
+
+        long plain = spoolBytes.get(TempSheetBackend.Compression.NONE);
+        assertThat(spoolBytes.get(TempSheetBackend.Compression.DEFLATE_FAST)).isLessThan(plain / 4);
+        assertThat(spoolBytes.get(TempSheetBackend.Compression.DEFLATE))
+                .isLessThanOrEqualTo(spoolBytes.get(TempSheetBackend.Compression.DEFLATE_FAST));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void 압축_방식별_소요_시간_측정() throws Exception {
+        for (TempSheetBackend.Compression compression : TempSheetBackend.Compression.values()) {
+            export(compression, SampleRows.WARMUP_ROWS);   // JIT 워밍업
+        }
+        for (TempSheetBackend.Compression compression : TempSheetBackend.Compression.values()) {
+            long[] bytes = new long[1];
+            long elapsedMillis = SampleRows.millis(() -> bytes[0] = export(compression, BENCHMARK_ROWS));
+            log.info("{}건 {} - 임시 파일 {}MB (기록 + 저장 시 읽기 {}MB), {}ms",
+                    BENCHMARK_ROWS, compression, toMb(bytes[0]), toMb(bytes[0] * 2), elapsedMillis);
+        }
+    }
+
+    @Test
+    void 압축_스풀도_체크포인트에서_이어쓰기() throws Exception {
+        TempSheetBackend backend = new TempSheetBackend(TempSheetBackend.Compression.DEFLATE_FAST, tempDir.toString());
+        TestDataExcelBuilder excelBuilder = new TestDataExcelBuilder(backend);
+        File spool = backend.createTempFile("resume", ".xml");
+        File output = tempDir.resolve("resumed.xlsx").toFile();
+
+        // 1차 실행: 1,000건 후 체크포인트, 이후 500건은 기록 도중 중단된 것으로 가정
+        long offset;
+        try (CheckpointableSXSSFWorkbook workbook = excelBuilder.createCheckpointableSXSSFWorkbook(10, spool, 0)) {
+            Sheet sheet = excelBuilder.setupSheet(workbook, "Test Data");
+            CellStyle dataStyle = excelBuilder.createDataStyle(workbook);
+            SampleRows.writeExcelRows(excelBuilder, sheet, dataStyle, 1, 1_000);
+            offset = workbook.checkpoint((SXSSFSheet) sheet);
+            SampleRows.writeExcelRows(excelBuilder, sheet, dataStyle, 1_001, 1_500);
+            ((SXSSFSheet) sheet).flushBufferedData();
+        }
+
+        // 재개: 체크포인트 길이로 잘라낸 뒤 1,001 번째 행부터 다시 기록
+        try (CheckpointableSXSSFWorkbook workbook = excelBuilder.createCheckpointableSXSSFWorkbook(10, spool, offset)) {
+            Sheet sheet = excelBuilder.resumeSheet(workbook, "Test Data");
+            CellStyle dataStyle = excelBuilder.createDataStyle(workbook);
+            SampleRows.writeExcelRows(excelBuilder, sheet, dataStyle, 1_001, 2_000);
+            excelBuilder.saveWorkbook(workbook, output.getPath());
+        }
+
+        try (XSSFWorkbook result = new XSSFWorkbook(output)) {
+            Sheet sheet = result.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(2_000);
+            assertThat(sheet.getRow(1_000).getCell(0).getNumericCellValue()).isEqualTo(1_000);
+            assertThat(sheet.getRow(1_001).getCell(0).getNumericCellValue()).isEqualTo(1_001);
+            assertThat(sheet.getRow(2_000).getCell(0).getNumericCellValue()).isEqualTo(2_000);
+        }
+        assertThat(spool).doesNotExist();
+    }
+
+    /**
+     * rows 건 기록 후 저장, 임시 시트 파일 크기 반환
+     */
+    private long export(TempSheetBackend.Compression compression, int rows) throws Exception {
+        TempSheetBackend backend = new TempSheetBackend(compression, tempDir.resolve(compression.name()).toString());
+        TestDataExcelBuilder excelBuilder = new TestDataExcelBuilder(backend);
+        File spool = backend.createTempFile("sheet", ".xml");
+        File output = tempDir.resolve(compression.name() + ".xlsx").toFile();
+
+        long bytes;
+        try (CheckpointableSXSSFWorkbook workbook = excelBuilder.createCheckpointableSXSSFWorkbook(10, spool, 0)) {
+            Sheet sheet = excelBuilder.setupSheet(workbook, "Test Data");
+            CellStyle dataStyle = excelBuilder.createDataStyle(workbook);
+            SampleRows.writeExcelRows(excelBuilder, sheet, dataStyle, 1, rows);
+            bytes = workbook.checkpoint((SXSSFSheet) sheet);
+            excelBuilder.saveWorkbook(workbook, output.getPath());
+        }
+        assertThat(output.length()).isPositive();
+        return bytes;
+    }
+
+    private static long toMb(long bytes) {
+        return bytes / (1024L * 1024L);
+    }
+}
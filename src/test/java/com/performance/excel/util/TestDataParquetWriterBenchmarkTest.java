@@ -0,0 +1,117 @@
+package com.performance.excel.util;
+
+import com.performance.excel.entity.TestData;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DataPageV1;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.LocalInputFile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parquet 기록 벤치마크 (DB 없이 기록)
+ * - row group 분할과 category / description 컬럼의 dictionary 인코딩 확인
+ * - 설정 가능한 모든 압축 코덱이 현재 클래스패스에서 동작하는지 확인
+ * - 50만 행 기준 소요 시간 / 파일 크기 측정 (benchmark 태그, 로그로만 확인)
+ */
+@Slf4j
+class TestDataParquetWriterBenchmarkTest {
+
+    private static final int BENCHMARK_ROWS = 500_000;
+    private static final int ROWS = 100_000;
+    private static final long ROW_GROUP_SIZE = 2L * 1024 * 1024;
+    private static final long SMALL_ROW_GROUP_SIZE = 512L * 1024;
+    private static final int PAGE_SIZE = 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void row_group_단위로_기록하고_사전_인코딩_적용() throws Exception {
+        File output = tempDir.resolve("rows.parquet").toFile();
+        write(output, ROWS, SMALL_ROW_GROUP_SIZE);
+
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(output.toPath()))) {
+            assertThat(reader.getRecordCount()).isEqualTo(ROWS);
+            assertThat(reader.getRowGroups()).hasSizeGreaterThan(1);
+
+            BlockMetaData firstGroup = reader.getRowGroups().get(0);
+            assertThat(encodings(firstGroup, "category")).anyMatch(Encoding::usesDictionary);
+            assertThat(encodings(firstGroup, "description")).anyMatch(Encoding::usesDictionary);
+            assertThat(encodings(firstGroup, "name")).noneMatch(Encoding::usesDictionary);
+        }
+    }
+
+    @Test
+    void 설정_가능한_압축_코덱으로_기록() throws Exception {
+        CompressionCodecName[] codecs = {CompressionCodecName.UNCOMPRESSED, CompressionCodecName.SNAPPY,
+                CompressionCodecName.GZIP, CompressionCodecName.ZSTD, CompressionCodecName.LZ4_RAW};
+
+        for (CompressionCodecName codec : codecs) {
+            File output = tempDir.resolve(codec.name() + ".parquet").toFile();
+            write(output, 5_000, ROW_GROUP_SIZE, codec);
+
+            try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(output.toPath()))) {
+                assertThat(reader.getRecordCount()).as(codec.name()).isEqualTo(5_000);
+                assertThat(reader.getRowGroups().get(0).getColumns())
+                        .allSatisfy(chunk -> assertThat(chunk.getCodec()).isEqualTo(codec));
+
+                // 컬럼마다 첫 페이지를 압축 해제하여 원래 크기로 복원되는지 확인
+                PageReadStore rowGroup = reader.readNextRowGroup();
+                for (ColumnDescriptor column : TestDataParquetWriter.SCHEMA.getColumns()) {
+                    DataPageV1 page = (DataPageV1) rowGroup.getPageReader(column).readPage();
+                    assertThat(page.getBytes().toByteArray()).hasSize(page.getUncompressedSize());
+                }
+            }
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void 소요_시간과_파일_크기_측정() throws Exception {
+        write(tempDir.resolve("warmup.parquet").toFile(), SampleRows.WARMUP_ROWS, ROW_GROUP_SIZE);   // JIT 워밍업
+
+        File output = tempDir.resolve("bench.parquet").toFile();
+        long elapsedMillis = SampleRows.millis(() -> write(output, BENCHMARK_ROWS, ROW_GROUP_SIZE));
+
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(output.toPath()))) {
+            log.info("{}건 Parquet - {}KB, {}ms, row group {}개",
+                    BENCHMARK_ROWS, output.length() / 1024, elapsedMillis, reader.getRowGroups().size());
+            assertThat(reader.getRecordCount()).isEqualTo(BENCHMARK_ROWS);
+        }
+    }
+
+    private void write(File output, int rows, long rowGroupSize) throws Exception {
+        write(output, rows, rowGroupSize, CompressionCodecName.SNAPPY);
+    }
+
+    private void write(File output, int rows, long rowGroupSize, CompressionCodecName codec) throws Exception {
+        try (ParquetWriter<TestData> writer = TestDataParquetWriter.open(output, rowGroupSize, PAGE_SIZE, codec)) {
+            for (long id = 1; id <= rows; id++) {
+                writer.write(SampleRows.testData(id));
+            }
+        }
+    }
+
+    private static Set<Encoding> encodings(BlockMetaData rowGroup, String column) {
+        return rowGroup.getColumns().stream()
+                .filter(chunk -> chunk.getPath().toDotString().equals(column))
+                .findFirst()
+                .map(ColumnChunkMetaData::getEncodings)
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,169 @@
+package com.performance.excel.util;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 증분 XLSX 조립 검증
+ * - 구간별 CRC 결합이 이어붙인 데이터의 CRC 와 같은지 (0 바이트, 4GB 초과 길이 포함)
+ * - 전체 생성 → 증분 → 증분 결과가 처음부터 전체 생성한 파일과 같은 시트 데이터인지
+ */
+class XlsxSheetAssemblerTest {
+
+    private static final String SHEET_NAME = "Test Data";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void CRC_결합은_이어붙인_데이터의_CRC_와_같음() {
+        Random random = new Random(42);
+        byte[] first = new byte[1000];
+        random.nextBytes(first);
+
+        for (int length : new int[]{0, 1, 7, 1000, 64 * 1024 + 13}) {
+            byte[] second = new byte[length];
+            random.nextBytes(second);
+
+            CRC32 joined = new CRC32();
+            joined.update(first);
+            joined.update(second);
+
+            assertThat(XlsxSheetAssembler.combineCrc(crc(first), crc(second), length))
+                    .as("길이 %d", length)
+                    .isEqualTo(joined.getValue());
+        }
+    }
+
+    @Test
+    void CRC_결합은_4GB_초과_길이도_처리() {
+        byte[] first = "<sheetData>".getBytes();
+        long length = (1L << 32) + 5;     // int 범위를 넘는 압축 해제 길이
+
+        // 두 번째 구간 = 0 바이트 length 개 (버퍼 재사용으로 메모리 없이 계산)
+        byte[] zeros = new byte[1024 * 1024];
+        CRC32 second = new CRC32();
+        CRC32 joined = new CRC32();
+        joined.update(first);
+        for (long remaining = length; remaining > 0; remaining -= zeros.length) {
+            int chunk = (int) Math.min(zeros.length, remaining);
+            second.update(zeros, 0, chunk);
+            joined.update(zeros, 0, chunk);
+        }
+
+        assertThat(XlsxSheetAssembler.combineCrc(crc(first), second.getValue(), length))
+                .isEqualTo(joined.getValue());
+    }
+
+    @Test
+    void 증분_두_번_조립_결과는_전체_생성과_같은_시트() throws Exception {
+        TempSheetBackend backend = new TempSheetBackend(TempSheetBackend.Compression.NONE, tempDir.resolve("tmp").toString());
+        TestDataExcelBuilder excelBuilder = new TestDataExcelBuilder(backend);
+        XlsxSheetAssembler assembler = new XlsxSheetAssembler(backend);
+
+        File full = tempDir.resolve("full.xlsx").toFile();
+        File firstIncrement = tempDir.resolve("increment1.xlsx").toFile();
+        File secondIncrement = tempDir.resolve("increment2.xlsx").toFile();
+        File scratch = tempDir.resolve("scratch.xlsx").toFile();
+
+        XlsxSheetAssembler.SheetPrefix prefix = export(excelBuilder, assembler, null, null, 1, 1_000, full);
+        prefix = export(excelBuilder, assembler, full, prefix, 1_001, 1_500, firstIncrement);
+        prefix = export(excelBuilder, assembler, firstIncrement, prefix, 1_501, 1_800, secondIncrement);
+        export(excelBuilder, assembler, null, null, 1, 1_800, scratch);
+
+        try (XSSFWorkbook result = new XSSFWorkbook(secondIncrement)) {
+            Sheet sheet = result.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(1_800);
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("ID");
+            assertThat(sheet.getRow(1).getCell(0).getNumericCellValue()).isEqualTo(1);
+            assertThat(sheet.getRow(1_001).getCell(0).getNumericCellValue()).isEqualTo(1_001);
+            assertThat(sheet.getRow(1_800).getCell(0).getNumericCellValue()).isEqualTo(1_800);
+        }
+
+        // ZIP 헤더의 CRC 는 압축 해제한 실제 데이터와 같고, 처음부터 생성한 파일의 시트와도 같아야 함
+        String sheetEntry = "xl/worksheets/sheet1.xml";
+        SheetEntry assembled = readSheet(secondIncrement, sheetEntry);
+        SheetEntry expected = readSheet(scratch, sheetEntry);
+        assertThat(assembled.declaredCrc()).isEqualTo(assembled.actualCrc());
+        assertThat(assembled.declaredCrc()).isEqualTo(expected.declaredCrc());
+        assertThat(assembled.size()).isEqualTo(expected.size());
+        assertThat(prefix.length()).isLessThan(assembled.size());
+    }
+
+    /**
+     * SxssfIncrementalStrategy 와 같은 순서로 fromId ~ toId 행만 기록한 뒤 기준 파일에 이어붙여 조립
+     */
+    private XlsxSheetAssembler.SheetPrefix export(TestDataExcelBuilder excelBuilder, XlsxSheetAssembler assembler,
+                                                  File baseFile, XlsxSheetAssembler.SheetPrefix basePrefix,
+                                                  int fromId, int toId, File target) throws Exception {
+        File rowsXml = excelBuilder.createTempFile("incremental", ".xml");
+        File template = excelBuilder.createTempFile("template", ".xlsx");
+
+        try (CheckpointableSXSSFWorkbook workbook = excelBuilder.createCheckpointableSXSSFWorkbook(10, rowsXml, 0)) {
+            Sheet sheet = baseFile != null
+                    ? excelBuilder.resumeSheet(workbook, SHEET_NAME)
+                    : excelBuilder.setupSheet(workbook, SHEET_NAME);
+            CellStyle dataStyle = excelBuilder.createDataStyle(workbook);
+            SampleRows.writeExcelRows(excelBuilder, sheet, dataStyle, fromId, toId);
+
+            try (FileOutputStream templateOut = new FileOutputStream(template)) {
+                workbook.getXSSFWorkbook().write(templateOut);
+            }
+            String sheetEntry = workbook.getXSSFWorkbook().getSheetAt(0)
+                    .getPackagePart().getPartName().getName().substring(1);
+
+            try (InputStream rows = ((SXSSFSheet) sheet).getWorksheetXMLInputStream()) {
+                return assembler.assemble(template, sheetEntry, rows, baseFile, basePrefix, target);
+            }
+        }
+    }
+
+    /**
+     * 시트 엔트리의 헤더 CRC / 압축 해제 데이터의 CRC / 크기
+     */
+    private static SheetEntry readSheet(File xlsx, String sheetEntry) throws Exception {
+        try (ZipInputStream zip = new ZipInputStream(new FileInputStream(xlsx))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (!entry.getName().equals(sheetEntry)) {
+                    continue;
+                }
+                CRC32 crc = new CRC32();
+                long size = 0;
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = zip.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                    size += read;
+                }
+                return new SheetEntry(entry.getCrc(), crc.getValue(), size);
+            }
+        }
+        throw new AssertionError("시트 엔트리 없음: " + sheetEntry);
+    }
+
+    private static long crc(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+
+    private record SheetEntry(long declaredCrc, long actualCrc, long size) {
+    }
+}
@@ -0,0 +1,387 @@
+package com.performance.excel.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 진행률 WebSocket 핸들러 벤치마크 (Redis 없이 pub/sub 수신 경로만 측정)
+ * - 1,000 세션 동시 전송: 느린 세션 1개가 섞여 있을 때 전역 락(이전 방식)과 세션 단위 직렬화(현재 방식) 비교
+ *   (benchmark 태그, 소요 시간은 로그로만 확인)
+ * - 느린 세션 차단 여부는 시간 대신 전송을 멈춰 둔 세션으로 확인 (막히면 시간 제한으로 실패)
+ * - 10,000 세션 연결/해제 churn: 사용자별 다중 세션 매핑(현재 방식)과 removeIf 전체 순회(이전 방식) 비교
+ */
+@Slf4j
+class ProgressWebSocketHandlerBenchmarkTest {
+
+    private static final int SESSION_COUNT = 1_000;
+    private static final int PUBLISHER_THREADS = 16;   // pub/sub 수신 스레드 수
+    private static final int MESSAGES_PER_SESSION = 20;
+    private static final long SLOW_SEND_MILLIS = 50;
+    private static final Duration BLOCKED_LIMIT = Duration.ofSeconds(30);   // 전송이 막혔는지 판단하는 시간 (측정용 아님)
+
+    private static final int CHURN_SESSIONS = 10_000;
+    private static final int CHURN_USERS = 2_500;      // 사용자당 탭 4개
+
+    @Test
+    @Tag("benchmark")
+    void 세션_1000개_동시_전송_경합_측정() throws Exception {
+        long globalLockMillis = run(true);
+        long perSessionMillis = run(false);
+
+        log.info("1,000 세션 x {}건, 느린 세션 1개 - 나머지 세션 수신 완료까지 전역 락: {}ms, 세션 단위: {}ms",
+                MESSAGES_PER_SESSION, globalLockMillis, perSessionMillis);
+    }
+
+    @Test
+    void 느린_세션이_다른_세션_전송을_막지_않음() throws Exception {
+        ProgressWebSocketHandler handler = newHandler();
+        List<StubSession> sessions = connect(handler);
+        StubSession slow = sessions.get(0);
+
+        // 느린 세션의 전송이 끝나지 않은 상태에서도 다른 세션은 모두 전송
+        Thread slowSender = startBlockedSend(handler, slow);
+        assertTimeoutPreemptively(BLOCKED_LIMIT, () -> {
+            for (int i = 1; i < SESSION_COUNT; i++) {
+                handler.onMessage(message(sessions.get(i).userId), null);
+            }
+        });
+
+        for (int i = 1; i < SESSION_COUNT; i++) {
+            assertThat(sessions.get(i).received.get()).isEqualTo(1);
+        }
+        assertThat(slow.received.get()).isZero();
+
+        slow.releaseSends();
+        slowSender.join();
+        assertThat(slow.received.get()).isEqualTo(1);
+    }
+
+    @Test
+    void 버퍼_초과_시_오래된_메시지부터_버림() throws Exception {
+        ProgressWebSocketHandler handler = newHandler();
+        ReflectionTestUtils.setField(handler, "bufferSizeLimit", 1024);
+        StubSession slow = connect(handler).get(0);
+
+        // 전송 중 쌓인 메시지는 버퍼 한도까지만 유지되고 호출 스레드는 대기하지 않음
+        Thread slowSender = startBlockedSend(handler, slow);
+        assertTimeoutPreemptively(BLOCKED_LIMIT, () -> {
+            for (int i = 0; i < 200; i++) {
+                handler.onMessage(message(slow.userId), null);
+            }
+        });
+        assertThat(slow.isOpen()).isTrue();
+
+        // 전송이 풀리면 버퍼에 남은 메시지만 전송 (한도를 넘은 메시지는 버려짐)
+        slow.releaseSends();
+        slowSender.join();
+        assertThat(slow.received.get()).isBetween(2, 200);
+        assertThat(slow.isOpen()).isTrue();
+    }
+
+    @Test
+    void 한_사용자의_모든_세션에_전송() throws Exception {
+        ProgressWebSocketHandler handler = newHandler();
+        List<StubSession> tabs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            StubSession tab = new StubSession("user-multi", 0, new CountDownLatch(0));
+            handler.afterConnectionEstablished(tab);
+            tabs.add(tab);
+        }
+
+        handler.onMessage(message("user-multi"), null);
+        assertThat(tabs).allSatisfy(tab -> assertThat(tab.received.get()).isEqualTo(1));
+
+        // 한 탭을 닫아도 나머지 탭은 계속 수신
+        handler.afterConnectionClosed(tabs.get(0), CloseStatus.NORMAL);
+        handler.onMessage(message("user-multi"), null);
+        assertThat(tabs.get(0).received.get()).isEqualTo(1);
+        assertThat(tabs.get(1).received.get()).isEqualTo(2);
+        assertThat(tabs.get(2).received.get()).isEqualTo(2);
+    }
+
+    @Test
+    void 세션_10000개_연결_해제_churn() throws Exception {
+        ProgressWebSocketHandler handler = newHandler();
+        List<StubSession> sessions = new ArrayList<>();
+        for (int i = 0; i < CHURN_SESSIONS; i++) {
+            sessions.add(new StubSession("user-" + (i % CHURN_USERS), 0, new CountDownLatch(0)));
+        }
+
+        long connectMillis = parallel(sessions, handler::afterConnectionEstablished);
+        handler.onMessage(message("user-0"), null);
+        long fanOut = sessions.stream().filter(session -> session.received.get() > 0).count();
+        long closeMillis = parallel(sessions, session -> handler.afterConnectionClosed(session, CloseStatus.NORMAL));
+
+        // 이전 방식: 사용자당 세션 1개 매핑 + 해제 시 전체 매핑 removeIf
+        Map<String, String> legacyMapping = new ConcurrentHashMap<>();
+        sessions.forEach(session -> legacyMapping.put(session.userId + "#" + session.getId(), session.getId()));
+        long legacyCloseMillis = parallel(sessions, session ->
+                legacyMapping.entrySet().removeIf(entry -> entry.getValue().equals(session.getId())));
+
+        log.info("세션 {}개 churn - 연결: {}ms, 해제: {}ms (이전 방식 removeIf 해제: {}ms)",
+                CHURN_SESSIONS, connectMillis, closeMillis, legacyCloseMillis);
+
+        assertThat(fanOut).isEqualTo(CHURN_SESSIONS / CHURN_USERS);
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(handler, "sessions")).isEmpty();
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(handler, "userIdToWebSocketSessionMapping")).isEmpty();
+    }
+
+    /**
+     * 세션 전송을 멈춰 둔 채 별도 스레드에서 메시지 1건 전송 시작 (전송 진입까지 대기)
+     */
+    private Thread startBlockedSend(ProgressWebSocketHandler handler, StubSession session) throws Exception {
+        session.blockSends();
+        Thread sender = new Thread(() -> handler.onMessage(message(session.userId), null));
+        sender.start();
+        assertThat(session.sending.await(BLOCKED_LIMIT.toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+        return sender;
+    }
+
+    @FunctionalInterface
+    private interface SessionAction {
+        void apply(StubSession session) throws Exception;
+    }
+
+    private long parallel(List<StubSession> sessions, SessionAction action) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(PUBLISHER_THREADS);
+        long start = System.nanoTime();
+        for (StubSession session : sessions) {
+            pool.execute(() -> {
+                try {
+                    action.apply(session);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * pub/sub 수신처럼 메시지마다 스레드풀에서 처리하고, 느린 세션을 제외한 모든 세션이 수신을 마칠 때까지 시간 측정
+     */
+    private long run(boolean globalLock) throws Exception {
+        ProgressWebSocketHandler handler = newHandler();
+        CountDownLatch fastDelivered = new CountDownLatch((SESSION_COUNT - 1) * MESSAGES_PER_SESSION);
+        List<StubSession> sessions = connect(handler, fastDelivered);
+        Object lock = new Object();
+
+        ExecutorService listenerPool = Executors.newFixedThreadPool(PUBLISHER_THREADS);
+        long start = System.nanoTime();
+        for (int m = 0; m < MESSAGES_PER_SESSION; m++) {
+            for (StubSession session : sessions) {
+                DefaultMessage message = message(session.userId);
+                listenerPool.execute(() -> {
+                    if (globalLock) {
+                        synchronized (lock) {
+                            handler.onMessage(message, null);
+                        }
+                    } else {
+                        handler.onMessage(message, null);
+                    }
+                });
+            }
+        }
+
+        assertThat(fastDelivered.await(2, TimeUnit.MINUTES)).isTrue();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        listenerPool.shutdown();
+        listenerPool.awaitTermination(1, TimeUnit.MINUTES);
+
+        // 느린 세션을 제외한 모든 세션은 빠짐없이 수신
+        for (int i = 1; i < SESSION_COUNT; i++) {
+            assertThat(sessions.get(i).received.get()).isEqualTo(MESSAGES_PER_SESSION);
+        }
+        return elapsedMillis;
+    }
+
+    private ProgressWebSocketHandler newHandler() {
+        ProgressWebSocketHandler handler =
+                new ProgressWebSocketHandler(new ObjectMapper(), null,
+                        mock(SessionRegistry.class), mock(ProgressSnapshotStore.class),
+                        mock(ProgressSseHandler.class));
+        ReflectionTestUtils.setField(handler, "sendTimeLimit", 10_000);
+        ReflectionTestUtils.setField(handler, "bufferSizeLimit", 64 * 1024);
+        return handler;
+    }
+
+    private List<StubSession> connect(ProgressWebSocketHandler handler) throws Exception {
+        return connect(handler, new CountDownLatch(0));
+    }
+
+    private List<StubSession> connect(ProgressWebSocketHandler handler, CountDownLatch fastDelivered) throws Exception {
+        List<StubSession> sessions = new ArrayList<>();
+        for (int i = 0; i < SESSION_COUNT; i++) {
+            // 첫 번째 세션만 느린 클라이언트
+            StubSession session = new StubSession("user-" + i, i == 0 ? SLOW_SEND_MILLIS : 0, fastDelivered);
+            handler.afterConnectionEstablished(session);
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    private DefaultMessage message(String userId) {
+        String body = userId + ":{\"status\":\"PROCESSING\",\"progressPercentage\":42}";
+        return new DefaultMessage("excel:progress".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class StubSession implements WebSocketSession {
+
+        private static final AtomicInteger ID_SEQUENCE = new AtomicInteger();
+
+        private final String id = String.valueOf(ID_SEQUENCE.incrementAndGet());
+        private final String userId;
+        private final long sendMillis;
+        private final AtomicInteger received = new AtomicInteger();
+        private final CountDownLatch fastDelivered;
+        private volatile boolean open = true;
+        private volatile CountDownLatch release;    // null 이 아니면 풀릴 때까지 전송 대기
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        StubSession(String userId, long sendMillis, CountDownLatch fastDelivered) {
+            this.userId = userId;
+            this.sendMillis = sendMillis;
+            this.fastDelivered = fastDelivered;
+        }
+
+        void blockSends() {
+            release = new CountDownLatch(1);
+        }
+
+        void releaseSends() {
+            release.countDown();
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            CountDownLatch blocked = release;
+            if (blocked != null) {
+                sending.countDown();
+                try {
+                    blocked.await(BLOCKED_LIMIT.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else if (sendMillis > 0) {
+                try {
+                    Thread.sleep(sendMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                fastDelivered.countDown();
+            }
+            received.incrementAndGet();
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public URI getUri() {
+            return URI.create("ws://localhost/ws/download-progress?userId=" + userId);
+        }
+
+        @Override
+        public HttpHeaders getHandshakeHeaders() {
+            return new HttpHeaders();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public String getAcceptedProtocol() {
+            return null;
+        }
+
+        @Override
+        public void setTextMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getTextMessageSizeLimit() {
+            return 0;
+        }
+
+        @Override
+        public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getBinaryMessageSizeLimit() {
+            return 0;
+        }
+
+        @Override
+        public List<WebSocketExtension> getExtensions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        @Override
+        public void close(CloseStatus status) {
+            open = false;
+        }
+    }
+}